@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Benchmarks jar entry point, accepts the same arguments as org.openjdk.jmh.Main (-h to list them)
+ * but adds the GC profiler (unless already requested) so the allocation rate (gc.alloc.rate.norm) is reported together with throughput and latency
+ * @author afarre
+ */
+public final class Benchmarks {
+
+    private static final String GC_ALIAS="gc";
+
+    private Benchmarks(){}
+
+    public static void main(final String... _args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions commandLine=new CommandLineOptions(_args);
+        if(commandLine.shouldHelp()||commandLine.shouldList()||commandLine.shouldListWithParams()||commandLine.shouldListProfilers()||commandLine.shouldListResultFormats()){
+            Main.main(_args);
+            return;
+        }
+        final boolean profiled=commandLine.getProfilers()
+                                            .stream()
+                                                .map(ProfilerConfig::getKlass)
+                                                .anyMatch(profiler -> GC_ALIAS.equals(profiler)||GCProfiler.class.getName().equals(profiler));
+        final OptionsBuilder options=new OptionsBuilder();
+        options.parent(commandLine);
+        if(!profiled)
+            options.addProfiler(GCProfiler.class);
+        new Runner(options.build())
+                .run();
+    }
+}
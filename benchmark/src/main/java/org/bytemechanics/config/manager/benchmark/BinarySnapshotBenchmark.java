@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.bytemechanics.config.manager.internal.BinaryReader;
+import org.bytemechanics.config.manager.internal.BinaryWriter;
+import org.bytemechanics.config.manager.internal.ConfigParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares loading a compiled binary snapshot against parsing the same configuration as .properties text
+ * @author afarre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinarySnapshotBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private String text;
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws IOException {
+        final StringBuilder builder=new StringBuilder(entries*48);
+        for(int ic1=0;ic1<entries;ic1++){
+            builder.append("feature.flags.group").append(ic1%37).append(".flag").append(ic1)
+                    .append('=')
+                    .append((ic1%2==0)? "true" : "value\\u00e9 with some text")
+                    .append('\n');
+        }
+        this.text=builder.toString();
+        final ByteArrayOutputStream output=new ByteArrayOutputStream();
+        new BinaryWriter(output)
+                .write(ConfigParserFactory.PROPERTIES.read(new StringReader(this.text)));
+        this.binary=output.toByteArray();
+    }
+
+    @Benchmark
+    public void propertiesText(final Blackhole _blackhole) {
+        ConfigParserFactory.PROPERTIES.read(new StringReader(this.text))
+                                        .forEach(_blackhole::consume);
+    }
+
+    @Benchmark
+    public void binarySnapshot(final Blackhole _blackhole) {
+        new BinaryReader(ByteBuffer.wrap(this.binary))
+                .stream()
+                    .forEach(_blackhole::consume);
+    }
+
+    @Benchmark
+    public Object binarySnapshotLookup() {
+        return new BinaryReader(ByteBuffer.wrap(this.binary))
+                        .get("feature.flags.group"+((entries/2)%37)+".flag"+(entries/2));
+    }
+}
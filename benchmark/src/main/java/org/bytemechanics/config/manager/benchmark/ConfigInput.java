@@ -0,0 +1,162 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.internal.ConfigParserFactory;
+
+/**
+ * Generated benchmark inputs with the same keys in every format, so the results only differ by the format cost.
+ * Keys spread over 37 groups (shallow) or over 8 nested segments with fan out 6 (deep), values alternate booleans, numbers and text
+ * @author afarre
+ */
+public enum ConfigInput {
+
+    PROPERTIES(ConfigParserFactory.PROPERTIES,".properties"){
+        @Override
+        public String key(final int _index) {
+            return SHALLOW_YAML.key(_index);
+        }
+    },
+    SHALLOW_YAML(ConfigParserFactory.YAML,".yml"){
+        @Override
+        public String key(final int _index) {
+            return "feature.group"+(_index%37)+".flag"+_index;
+        }
+    },
+    DEEP_YAML(ConfigParserFactory.YAML,".yml"){
+        @Override
+        public String key(final int _index) {
+            final StringBuilder builder=new StringBuilder(96).append("app");
+            int remaining=_index;
+            for(int ic1=0;ic1<DEEP_LEVELS;ic1++){
+                builder.append(".level").append(ic1).append('-').append(remaining%DEEP_FAN_OUT);
+                remaining/=DEEP_FAN_OUT;
+            }
+            return builder.append(".key").append(_index).toString();
+        }
+    },
+    ;
+
+    private static final int DEEP_LEVELS=8;
+    private static final int DEEP_FAN_OUT=6;
+
+    private final ConfigParserFactory parser;
+    private final String suffix;
+
+    ConfigInput(final ConfigParserFactory _parser,final String _suffix){
+        this.parser=_parser;
+        this.suffix=_suffix;
+    }
+
+    /**
+     * @param _index entry index
+     * @return key of the given entry
+     */
+    public abstract String key(int _index);
+    /**
+     * @param _index entry index
+     * @param _variant value variant (as the location number) to generate different values for the same key
+     * @return value of the given entry
+     */
+    public String value(final int _index,final int _variant){
+        switch(_index%3){
+            case 0:
+                return String.valueOf((_index+_variant)%2==0);
+            case 1:
+                return String.valueOf(_index*31+_variant);
+            default:
+                return "text value "+_index+" from location "+_variant;
+        }
+    }
+    /**
+     * @return parser of this input format
+     */
+    public ConfigParserFactory getParser() {
+        return parser;
+    }
+    /**
+     * @return file suffix of this input format
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * @param _from first entry index (included)
+     * @param _to last entry index (excluded)
+     * @param _variant value variant
+     * @return generated entries
+     */
+    public Stream<Config> configs(final int _from,final int _to,final int _variant){
+        return IntStream.range(_from, _to)
+                            .mapToObj(index -> Config.of(key(index),value(index,_variant)));
+    }
+    /**
+     * Write the generated entries with the format parser
+     * @param _writer writer where write (not closed)
+     * @param _from first entry index (included)
+     * @param _to last entry index (excluded)
+     * @param _variant value variant
+     */
+    public void write(final Writer _writer,final int _from,final int _to,final int _variant){
+        this.parser.write(_writer, configs(_from, _to, _variant));
+    }
+    /**
+     * @param _entries number of entries
+     * @return generated content with the given number of entries
+     */
+    public String content(final int _entries){
+        final StringWriter writer=new StringWriter(_entries*64);
+        write(writer, 0, _entries, 0);
+        return writer.toString();
+    }
+    /**
+     * Write the generated entries to a file (only if it does not exist yet, so forks reuse it)
+     * @param _folder folder where write
+     * @param _name file name without suffix
+     * @param _from first entry index (included)
+     * @param _to last entry index (excluded)
+     * @param _variant value variant
+     * @return written file
+     * @throws UncheckedIOException if the file can not be written
+     */
+    public Path file(final Path _folder,final String _name,final int _from,final int _to,final int _variant){
+        final Path reply=_folder.resolve(_name+"-"+name().toLowerCase()+"-"+_from+"-"+_to+"-"+_variant+this.suffix);
+        if(Files.exists(reply))
+            return reply;
+        try{
+            Files.createDirectories(_folder);
+            final Path temporal=Files.createTempFile(_folder, _name, this.suffix);
+            try(Writer writer=Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)){
+                write(writer, _from, _to, _variant);
+            }
+            Files.move(temporal, reply);
+            return reply;
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.ConfigIndex;
+import org.bytemechanics.config.manager.ConfigManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of merging and publishing several locations through ConfigManagerImpl.
+ * Each location overrides half of the keys of the previous one and adds the same number of new keys,
+ * so the merge always resolves overrides. Compares:
+ * <ul>
+ * <li>reload: reading, parsing and merging all locations</li>
+ * <li>update: stream() when nothing changed (only fingerprints are checked)</li>
+ * <li>merge: merging the already parsed locations into a ConfigIndex</li>
+ * <li>load: publishing the merged configuration into System properties when nothing changed</li>
+ * <li>loadChanged: publishing when the last location changed, so it is read, parsed, merged and its changed values populated.
+ * The change swaps the last location with its other content through three file renames (microseconds against milliseconds of load)</li>
+ * </ul>
+ * @author afarre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConfigManagerBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int locations;
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    @Param({"PROPERTIES", "DEEP_YAML"})
+    public ConfigInput input;
+
+    private ConfigManagerImpl manager;
+    private List<List<Config>> parsed;
+    private Path changing;
+    private Path stash;
+    private Path swap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Path folder=Paths.get("target","benchmark-inputs");
+        final List<URI> uris=new ArrayList<>(this.locations);
+        this.parsed=new ArrayList<>(this.locations);
+        for(int ic1=0;ic1<this.locations-1;ic1++){
+            final int from=ic1*this.entries/2;
+            uris.add(URI.create("file://target/benchmark-inputs/"+this.input.file(folder, "manager", from, from+this.entries, ic1).getFileName()));
+            this.parsed.add(this.input.configs(from, from+this.entries, ic1).collect(Collectors.toList()));
+        }
+        final int last=this.locations-1;
+        final int from=last*this.entries/2;
+        final String name="manager-changing-"+this.input.name().toLowerCase()+"-"+this.locations+"-"+this.entries;
+        this.changing=folder.resolve(name+this.input.getSuffix());
+        this.stash=folder.resolve(name+"-stash"+this.input.getSuffix());
+        this.swap=folder.resolve(name+"-swap"+this.input.getSuffix());
+        try{
+            Files.copy(this.input.file(folder, "manager", from, from+this.entries, last), this.changing, StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(this.input.file(folder, "manager", from, from+this.entries, last+1), this.stash, StandardCopyOption.REPLACE_EXISTING);
+            //Same size contents must differ in modification time to be detected as changed
+            final FileTime modified=Files.getLastModifiedTime(this.changing);
+            Files.setLastModifiedTime(this.stash, FileTime.fromMillis(modified.toMillis()+1000));
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+        uris.add(URI.create("file://target/benchmark-inputs/"+this.changing.getFileName()));
+        this.parsed.add(this.input.configs(from, from+this.entries, last).collect(Collectors.toList()));
+        this.manager=new ConfigManagerImpl(uris, StandardCharsets.UTF_8);
+        this.manager.load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.manager.stream()
+                    .map(Config::getKey)
+                    .forEach(System::clearProperty);
+    }
+
+    @Benchmark
+    public void reload(final Blackhole _blackhole) {
+        _blackhole.consume(this.manager.reload());
+    }
+
+    @Benchmark
+    public void update(final Blackhole _blackhole) {
+        this.manager.stream()
+                        .forEach(_blackhole::consume);
+    }
+
+    @Benchmark
+    public void merge(final Blackhole _blackhole) {
+        _blackhole.consume(ConfigIndex.of(this.parsed.stream()
+                                                        .flatMap(List::stream)));
+    }
+
+    @Benchmark
+    public void load() {
+        this.manager.load();
+    }
+
+    @Benchmark
+    public void loadChanged() throws IOException {
+        Files.move(this.changing, this.swap, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(this.stash, this.changing);
+        Files.move(this.swap, this.stash);
+        this.manager.load();
+    }
+}
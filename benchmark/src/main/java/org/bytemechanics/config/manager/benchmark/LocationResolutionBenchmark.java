@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.bytemechanics.config.manager.internal.ConfigParserFactory;
+import org.bytemechanics.config.manager.internal.ConfigProviderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parser and provider resolution of locations, run with -prof gc to check the allocation rate
+ * @author afarre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationResolutionBenchmark {
+
+    private URI[] locations;
+
+    @Setup
+    public void setup() {
+        this.locations=new URI[]{
+            URI.create("file://config/application.properties"),
+            URI.create("classpath://org/bytemechanics/application.yaml"),
+            URI.create("FILE://config/override.YML"),
+            URI.create("classpath://application.cfgbin")
+        };
+        for(URI location:this.locations){
+            //Warm URI lazy decoded fields
+            location.getPath();
+            location.getHost();
+        }
+    }
+
+    @Benchmark
+    public void parser(final Blackhole _blackhole) {
+        for(URI location:this.locations){
+            _blackhole.consume(ConfigParserFactory.valueOf(location));
+        }
+    }
+
+    @Benchmark
+    public void provider(final Blackhole _blackhole) {
+        for(URI location:this.locations){
+            _blackhole.consume(ConfigProviderFactory.valueOf(location));
+        }
+    }
+}
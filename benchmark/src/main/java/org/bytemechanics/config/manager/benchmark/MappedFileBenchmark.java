@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.bytemechanics.config.manager.internal.ConfigParserFactory;
+import org.bytemechanics.config.manager.internal.ConfigProviderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the FILE provider stream path against the memory mapped path reading .properties files of distinct sizes
+ * @author afarre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappedFileBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entries;
+
+    @Param({"UTF-8", "ISO-8859-1"})
+    public String charset;
+
+    private Path file;
+    private URI streamLocation;
+    private URI mappedLocation;
+    private Charset decoder;
+
+    @Setup
+    public void setup() throws IOException {
+        this.decoder=Charset.forName(this.charset);
+        this.file=Paths.get("target","mapped-"+entries+"-"+charset+".properties");
+        Files.createDirectories(this.file.getParent());
+        try(Writer writer=Files.newBufferedWriter(this.file, this.decoder)){
+            for(int ic1=0;ic1<entries;ic1++){
+                writer.append("feature.flags.group").append(String.valueOf(ic1%37)).append(".flag").append(String.valueOf(ic1))
+                        .append('=')
+                        .append((ic1%2==0)? "true" : "value\u00e9 with some text")
+                        .append('\n');
+            }
+        }
+        this.streamLocation=URI.create("file://target/"+this.file.getFileName());
+        this.mappedLocation=URI.create(this.streamLocation+"?mapped=true");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    private void read(final URI _location,final Blackhole _blackhole) throws IOException {
+        try(Reader reader=ConfigProviderFactory.openInputStream(_location, this.decoder).get()){
+            ConfigParserFactory.PROPERTIES.read(reader)
+                                            .forEach(_blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void stream(final Blackhole _blackhole) throws IOException {
+        read(this.streamLocation,_blackhole);
+    }
+
+    @Benchmark
+    public void mapped(final Blackhole _blackhole) throws IOException {
+        read(this.mappedLocation,_blackhole);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.bytemechanics.config.manager.ConfigManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares sequential against parallel loading of several locations
+ * @author afarre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelLoadingBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int locations;
+
+    @Param({"10000"})
+    public int entries;
+
+    private ExecutorService pool;
+    private ConfigManagerImpl sequential;
+    private ConfigManagerImpl parallel;
+
+    @Setup
+    public void setup() throws IOException {
+        final List<URI> uris=new ArrayList<>(locations);
+        for(int ic1=0;ic1<locations;ic1++){
+            final Path path=Paths.get("target","parallel-"+ic1+"-"+entries+".properties");
+            Files.createDirectories(path.getParent());
+            try(Writer writer=Files.newBufferedWriter(path, StandardCharsets.UTF_8)){
+                for(int ic2=0;ic2<entries;ic2++){
+                    writer.append("feature.flags.group").append(String.valueOf(ic2%37)).append(".flag").append(String.valueOf(ic2))
+                            .append("=location ").append(String.valueOf(ic1))
+                            .append('\n');
+                }
+            }
+            uris.add(URI.create("file://target/"+path.getFileName()));
+        }
+        this.pool=Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.sequential=new ConfigManagerImpl(uris, StandardCharsets.UTF_8);
+        this.parallel=new ConfigManagerImpl(uris, StandardCharsets.UTF_8)
+                                .withExecutor(this.pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void sequential(final Blackhole _blackhole) {
+        this.sequential.stream()
+                        .forEach(_blackhole::consume);
+    }
+
+    @Benchmark
+    public void parallel(final Blackhole _blackhole) {
+        this.parallel.stream()
+                        .forEach(_blackhole::consume);
+    }
+}
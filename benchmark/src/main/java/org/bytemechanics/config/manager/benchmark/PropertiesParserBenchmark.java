@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.internal.ConfigParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the streaming .properties parser against the former java.util.Properties based path
+ * @author afarre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertiesParserBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private String content;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder=new StringBuilder(entries*48);
+        for(int ic1=0;ic1<entries;ic1++){
+            if(ic1%100==0)
+                builder.append("# feature flags block ").append(ic1/100).append('\n');
+            builder.append("feature.flags.group").append(ic1%37).append(".flag").append(ic1)
+                    .append('=')
+                    .append((ic1%2==0)? "true" : "value\\u00e9 with \\\n    continuation")
+                    .append('\n');
+        }
+        this.content=builder.toString();
+    }
+
+    /**
+     * Former implementation: load all into a Properties hashtable and re-stream its entries
+     * @param _blackhole sink
+     * @throws IOException never with a StringReader
+     */
+    @Benchmark
+    public void javaUtilProperties(final Blackhole _blackhole) throws IOException {
+        final Properties properties=new Properties();
+        properties.load(new StringReader(this.content));
+        properties.entrySet()
+                    .stream()
+                        .map(entry -> Config.of((String)entry.getKey(),(String)entry.getValue()))
+                        .forEach(_blackhole::consume);
+    }
+
+    @Benchmark
+    public void streamingReader(final Blackhole _blackhole) {
+        ConfigParserFactory.PROPERTIES.read(new StringReader(this.content))
+                                        .forEach(_blackhole::consume);
+    }
+}
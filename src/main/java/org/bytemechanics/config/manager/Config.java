@@ -15,17 +15,33 @@
  */
 package org.bytemechanics.config.manager;
 
+import java.time.Duration;
 import java.util.Objects;
+import org.bytemechanics.config.manager.exceptions.MalformedConfigValue;
+import org.bytemechanics.config.manager.internal.ConfigValues;
 
 /**
  * Configuration bean
+ * Typed accessors parse the value the first time they are called and keep the result in primitive fields,
+ * so repeated reads of the same instance neither parse again nor box.
  * @see Comparable
+ * @see ConfigValues
  * @author afarre
  */
 public class Config implements Comparable<Config>{
     
+    private static final int LONG=1;
+    private static final int BOOLEAN=2;
+    private static final int BYTES=4;
+    
     private final String key;
     private final String value;
+    private long longValue;
+    private boolean booleanValue;
+    private long bytesValue;
+    private Duration durationValue;
+    /** Bit mask of the cached typed values, written after the value so its read publishes the cached value */
+    private volatile int parsed;
 
     /**
      * Builds configuraiton from the given key/value pairs
@@ -54,7 +70,89 @@ public class Config implements Comparable<Config>{
     public String getValue() {
         return value;
     }
-
+    
+    private MalformedConfigValue malformed(final Class<?> _type,final RuntimeException _cause){
+        return new MalformedConfigValue(this.key, this.value, _type, _cause);
+    }
+    private long parseLong(final Class<?> _type){
+        if((this.parsed&LONG)==0){
+            try{
+                this.longValue=ConfigValues.parseLong(this.value);
+            }catch(IllegalArgumentException e){
+                throw malformed(_type, e);
+            }
+            this.parsed|=LONG;
+        }
+        return this.longValue;
+    }
+    /**
+     * Retrieve value as int
+     * @return configuration value as int
+     * @throws MalformedConfigValue if the value is not an integer in the int range
+     */
+    public int getInt() {
+        final long reply=parseLong(int.class);
+        if((reply<Integer.MIN_VALUE)||(reply>Integer.MAX_VALUE))
+            throw malformed(int.class, new ArithmeticException("int overflow"));
+        return (int)reply;
+    }
+    /**
+     * Retrieve value as long
+     * @return configuration value as long
+     * @throws MalformedConfigValue if the value is not an integer in the long range
+     */
+    public long getLong() {
+        return parseLong(long.class);
+    }
+    /**
+     * Retrieve value as boolean (true/false, yes/no or on/off ignoring case)
+     * @return configuration value as boolean
+     * @throws MalformedConfigValue if the value is not a boolean
+     */
+    public boolean getBoolean() {
+        if((this.parsed&BOOLEAN)==0){
+            try{
+                this.booleanValue=ConfigValues.parseBoolean(this.value);
+            }catch(IllegalArgumentException e){
+                throw malformed(boolean.class, e);
+            }
+            this.parsed|=BOOLEAN;
+        }
+        return this.booleanValue;
+    }
+    /**
+     * Retrieve value as duration (ISO-8601 or amount with unit ns, us, ms, s, m, h or d, milliseconds without unit)
+     * @return configuration value as duration
+     * @throws MalformedConfigValue if the value is not a duration
+     */
+    public Duration getDuration() {
+        Duration reply=this.durationValue;
+        if(reply==null){
+            try{
+                reply=ConfigValues.parseDuration(this.value);
+            }catch(IllegalArgumentException e){
+                throw malformed(Duration.class, e);
+            }
+            this.durationValue=reply;
+        }
+        return reply;
+    }
+    /**
+     * Retrieve value as size in bytes (amount with binary unit b, k, m, g or t optionally followed by b or ib, bytes without unit)
+     * @return configuration value as number of bytes
+     * @throws MalformedConfigValue if the value is not a size
+     */
+    public long getBytes() {
+        if((this.parsed&BYTES)==0){
+            try{
+                this.bytesValue=ConfigValues.parseBytes(this.value);
+            }catch(IllegalArgumentException e){
+                throw malformed(long.class, e);
+            }
+            this.parsed|=BYTES;
+        }
+        return this.bytesValue;
+    }
     
     /** @see Object#hashCode() */
     @Override
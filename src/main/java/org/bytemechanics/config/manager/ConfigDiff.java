@@ -0,0 +1,221 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.internal.ConfigKey;
+
+/**
+ * Compact change set between two snapshots, only the added, changed and removed keys with its old and new values.
+ * It is computed with a single sorted merge of both snapshots (they stream in key segment order) without building any map.
+ * @see ConfigSnapshot
+ * @author afarre
+ */
+public final class ConfigDiff {
+
+    /**
+     * Kind of change
+     */
+    public enum Type{
+        /** Key not existent in the previous snapshot */
+        ADDED,
+        /** Key existent in both snapshots with distinct values */
+        CHANGED,
+        /** Key not existent in the new snapshot */
+        REMOVED
+    }
+
+    /**
+     * Single key change
+     */
+    public static final class Change{
+
+        private final Type type;
+        private final String key;
+        private final String oldValue;
+        private final String newValue;
+
+        Change(final Type _type,final String _key,final String _oldValue,final String _newValue){
+            this.type=_type;
+            this.key=_key;
+            this.oldValue=_oldValue;
+            this.newValue=_newValue;
+        }
+
+        public Type getType() {
+            return type;
+        }
+        public String getKey() {
+            return key;
+        }
+        /**
+         * @return value in the previous snapshot, null if added
+         */
+        public String getOldValue() {
+            return oldValue;
+        }
+        /**
+         * @return value in the new snapshot, null if removed
+         */
+        public String getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type,key,oldValue,newValue);
+        }
+        @Override
+        public boolean equals(final Object _other) {
+            if (this == _other) {
+                return true;
+            }
+            if ((_other == null)||(getClass() != _other.getClass())) {
+                return false;
+            }
+            final Change other = (Change) _other;
+            return (this.type==other.type)
+                    &&(Objects.equals(this.key, other.key))
+                    &&(Objects.equals(this.oldValue, other.oldValue))
+                    &&(Objects.equals(this.newValue, other.newValue));
+        }
+        @Override
+        public String toString() {
+            return "Change{" + "type=" + type + ", key=" + key + ", oldValue=" + oldValue + ", newValue=" + newValue + '}';
+        }
+    }
+
+    private final long fromVersion;
+    private final long toVersion;
+    private final List<Change> changes;
+
+
+    private ConfigDiff(final long _fromVersion,final long _toVersion,final List<Change> _changes){
+        this.fromVersion=_fromVersion;
+        this.toVersion=_toVersion;
+        this.changes=Collections.unmodifiableList(_changes);
+    }
+
+    private static ConfigKey next(final Iterator<Config> _configs){
+        return (_configs.hasNext())? new ConfigKey(_configs.next()) : null;
+    }
+
+    /**
+     * Compute the changes from the previous snapshot to the current one
+     * @param _previous previous snapshot
+     * @param _current current snapshot
+     * @return change set in key segment order, empty if both snapshots hold the same configuration
+     * @throws NullPointerException if any of the snapshots is null
+     */
+    public static ConfigDiff between(final ConfigSnapshot _previous,final ConfigSnapshot _current){
+
+        Objects.requireNonNull(_previous,"Mandatory parameter _previous");
+        Objects.requireNonNull(_current,"Mandatory parameter _current");
+        final List<Change> changes=new ArrayList<>();
+        if(_previous!=_current){
+            final Iterator<Config> previousConfigs=_previous.stream().iterator();
+            final Iterator<Config> currentConfigs=_current.stream().iterator();
+            ConfigKey previous=next(previousConfigs);
+            ConfigKey current=next(currentConfigs);
+            while((previous!=null)||(current!=null)){
+                final int comparison=(previous==null)? 1 : (current==null)? -1 : previous.compareTo(current);
+                if(comparison<0){
+                    changes.add(new Change(Type.REMOVED, previous.getKey(), previous.getValue(), null));
+                    previous=next(previousConfigs);
+                }else if(comparison>0){
+                    changes.add(new Change(Type.ADDED, current.getKey(), null, current.getValue()));
+                    current=next(currentConfigs);
+                }else{
+                    if(!Objects.equals(previous.getValue(), current.getValue()))
+                        changes.add(new Change(Type.CHANGED, current.getKey(), previous.getValue(), current.getValue()));
+                    previous=next(previousConfigs);
+                    current=next(currentConfigs);
+                }
+            }
+        }
+        return new ConfigDiff(_previous.getVersion(), _current.getVersion(), changes);
+    }
+
+
+    /**
+     * @return version of the previous snapshot
+     */
+    public long getFromVersion() {
+        return fromVersion;
+    }
+    /**
+     * @return version of the current snapshot
+     */
+    public long getToVersion() {
+        return toVersion;
+    }
+    /**
+     * @return unmodifiable list of changes in key segment order
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+    /**
+     * @return number of changed keys
+     */
+    public int size() {
+        return changes.size();
+    }
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+    /**
+     * @return Stream of changes in key segment order
+     */
+    public Stream<Change> stream(){
+        return changes.stream();
+    }
+    /**
+     * @param _type kind of change
+     * @return Stream of changes of the given kind in key segment order
+     */
+    public Stream<Change> stream(final Type _type){
+        return changes.stream()
+                        .filter(change -> change.type==_type);
+    }
+
+    /**
+     * Changes under the given key prefix, the prefix must match whole segments, db.pool matches db.pool.size and db.pool[0] but not db.poolSize
+     * @param _prefix key prefix (empty for all the changes)
+     * @return change set with the same versions restricted to the prefix
+     * @throws NullPointerException if the prefix is null
+     */
+    public ConfigDiff subtree(final String _prefix){
+        if(_prefix.isEmpty())
+            return this;
+        final int length=_prefix.length();
+        return new ConfigDiff(this.fromVersion, this.toVersion, this.changes.stream()
+                                                                            .filter(change -> change.key.startsWith(_prefix))
+                                                                            .filter(change -> (change.key.length()==length)||(change.key.charAt(length)=='.')||(change.key.charAt(length)=='['))
+                                                                            .collect(Collectors.toList()));
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDiff{" + "fromVersion=" + fromVersion + ", toVersion=" + toVersion + ", changes=" + changes.size() + '}';
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bytemechanics.config.manager.internal.ConfigKey;
+import org.bytemechanics.config.manager.internal.ConfigSorter;
+
+/**
+ * Immutable trie index over configuration keys split by segments (data.person[1].name is data, person, [1], name).
+ * Lookups walk the key once without allocating, binary searching each segment between the children names,
+ * and subtrees are views over the same nodes, so querying everything under a prefix never scans nor copies the other entries.
+ * Repeated keys keep the last value, as ConfigManager does merging locations.
+ * @author afarre
+ */
+public final class ConfigIndex {
+
+    private static final Node EMPTY=new Node(null, new String[0], new Node[0], new Node[0], 0);
+
+    /**
+     * Trie node
+     */
+    private static final class Node{
+
+        private final Config config;
+        private final String[] names;
+        private final Node[] children;
+        private final Node[] ordered;
+        private final int size;
+
+        Node(final Config _config,final String[] _names,final Node[] _children,final Node[] _ordered,final int _size){
+            this.config=_config;
+            this.names=_names;
+            this.children=_children;
+            this.ordered=_ordered;
+            this.size=_size;
+        }
+
+        private static int compare(final String _name,final String _key,final int _from,final int _to){
+            final int limit=Math.min(_name.length(), _to-_from);
+            for(int ic1=0;ic1<limit;ic1++){
+                final int reply=Character.compare(_name.charAt(ic1), _key.charAt(_from+ic1));
+                if(reply!=0)
+                    return reply;
+            }
+            return Integer.compare(_name.length(), _to-_from);
+        }
+        Node child(final String _key,final int _from,final int _to){
+            int low=0;
+            int high=this.names.length-1;
+            while(low<=high){
+                final int middle=(low+high)>>>1;
+                final int comparison=compare(this.names[middle], _key, _from, _to);
+                if(comparison<0){
+                    low=middle+1;
+                }else if(comparison>0){
+                    high=middle-1;
+                }else{
+                    return this.children[middle];
+                }
+            }
+            return null;
+        }
+        /**
+         * Stream the node configurations depth first through an explicit stack of pending nodes
+         */
+        Stream<Config> stream(){
+            final Deque<Node> pending=new ArrayDeque<>();
+            pending.push(this);
+            return StreamSupport.stream(new Spliterators.AbstractSpliterator<Config>(this.size,Spliterator.ORDERED|Spliterator.NONNULL|Spliterator.SIZED){
+                                                @Override
+                                                public boolean tryAdvance(final Consumer<? super Config> _action) {
+                                                    while(!pending.isEmpty()){
+                                                        final Node node=pending.pop();
+                                                        for(int ic1=node.ordered.length-1;ic1>=0;ic1--){
+                                                            pending.push(node.ordered[ic1]);
+                                                        }
+                                                        if(node.config!=null){
+                                                            _action.accept(node.config);
+                                                            return true;
+                                                        }
+                                                    }
+                                                    return false;
+                                                }
+                                            },false);
+        }
+    }
+
+    private final String prefix;
+    private final Node root;
+
+
+    private ConfigIndex(final String _prefix,final Node _root){
+        this.prefix=_prefix;
+        this.root=_root;
+    }
+
+    /**
+     * Build the node for the sorted keys in [_from,_to) that share their first _depth segments
+     */
+    private static Node build(final List<ConfigKey> _keys,final int _from,final int _to,final int _depth){
+
+        int current=_from;
+        Config config=null;
+        if(_keys.get(current).size()==_depth)
+            config=_keys.get(current++).getConfig();
+        final List<String> names=new ArrayList<>();
+        final List<Node> ordered=new ArrayList<>();
+        int size=(config==null)? 0 : 1;
+        while(current<_to){
+            final ConfigKey first=_keys.get(current);
+            int last=current+1;
+            while((last<_to)&&(first.commonSegments(_keys.get(last))>_depth))
+                last++;
+            final Node child=build(_keys, current, last, _depth+1);
+            names.add(first.getKey().substring(first.start(_depth), first.end(_depth)));
+            ordered.add(child);
+            size+=child.size;
+            current=last;
+        }
+        final Integer[] byName=new Integer[names.size()];
+        for(int ic1=0;ic1<byName.length;ic1++){
+            byName[ic1]=ic1;
+        }
+        Arrays.sort(byName, Comparator.comparing(names::get));
+        final String[] sortedNames=new String[byName.length];
+        final Node[] children=new Node[byName.length];
+        for(int ic1=0;ic1<byName.length;ic1++){
+            sortedNames[ic1]=names.get(byName[ic1]);
+            children[ic1]=ordered.get(byName[ic1]);
+        }
+        return new Node(config, sortedNames, children, ordered.toArray(new Node[ordered.size()]), size);
+    }
+
+    /**
+     * Build an index from the given configurations
+     * @param _config configurations to index
+     * @return immutable index
+     */
+    public static ConfigIndex of(final Stream<Config> _config){
+
+        final List<ConfigKey> keys=new ArrayList<>();
+        try(Stream<ConfigKey> sorted=new ConfigSorter(Integer.MAX_VALUE).sort(_config)){
+            sorted.forEach(keys::add);
+        }
+        return new ConfigIndex("", (keys.isEmpty())? EMPTY : build(keys, 0, keys.size(), 0));
+    }
+
+    private Node find(final String _key){
+        Node reply=this.root;
+        int from=ConfigKey.segmentStart(_key, 0);
+        while((reply!=null)&&(from<_key.length())){
+            final int to=ConfigKey.segmentEnd(_key, from);
+            reply=reply.child(_key, from, to);
+            from=ConfigKey.segmentStart(_key, to);
+        }
+        return reply;
+    }
+
+    /**
+     * @return full key prefix of this view, empty for the root index
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+    /**
+     * @return number of configurations in this view
+     */
+    public int size() {
+        return root.size;
+    }
+    public boolean isEmpty() {
+        return root.size==0;
+    }
+    /**
+     * Retrieve the configuration for the given key relative to this view prefix
+     * @param _key key relative to the view prefix (empty for the configuration at the prefix itself)
+     * @return configuration with its full key, empty if it does not exist
+     * @throws NullPointerException if the key is null
+     */
+    public Optional<Config> get(final String _key){
+        return Optional.ofNullable(find(_key))
+                        .map(node -> node.config);
+    }
+    /**
+     * View of the configurations under the given key prefix (relative to this view prefix) sharing the nodes with this index.
+     * The prefix must match whole segments, db.pool matches db.pool.size and db.pool[0] but not db.poolSize
+     * @param _prefix key prefix relative to the view prefix
+     * @return subtree view, empty if nothing exists under the prefix
+     * @throws NullPointerException if the prefix is null
+     */
+    public ConfigIndex subtree(final String _prefix){
+        if(_prefix.isEmpty())
+            return this;
+        final String fullPrefix=(this.prefix.isEmpty())? _prefix : (_prefix.charAt(0)=='[')? this.prefix+_prefix : this.prefix+'.'+_prefix;
+        return new ConfigIndex(fullPrefix, Optional.ofNullable(find(_prefix)).orElse(EMPTY));
+    }
+    /**
+     * Stream the configurations of this view with its full keys, parents before children and list items by numeric index
+     * @return Stream of configurations
+     */
+    public Stream<Config> stream(){
+        return root.stream();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigIndex{" + "prefix=" + prefix + ", size=" + root.size + '}';
+    }
+}
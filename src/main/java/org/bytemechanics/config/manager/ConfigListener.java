@@ -0,0 +1,32 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+/**
+ * Listener of configuration changes, receives the change set of each new published snapshot restricted to the subscribed key prefix
+ * @see ObservableConfigManager#addListener(java.lang.String, org.bytemechanics.config.manager.ConfigListener)
+ * @author afarre
+ */
+@FunctionalInterface
+public interface ConfigListener {
+
+    /**
+     * Called (outside of the reload thread) when any key under the subscribed prefix was added, changed or removed.
+     * Calls to the same listener never overlap and arrive in version order
+     * @param _diff changes under the subscribed prefix, never empty
+     */
+    public void onChange(final ConfigDiff _diff);
+}
@@ -55,4 +55,25 @@ public interface ConfigManager {
      * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
      */
     public void load();
+    /**
+     * Reads all configured locations and index them by key segments to query single keys or whole subtrees
+     * @return immutable index of the merged configuration
+     * @throws UnreadableConfigLocation if the location can not be readed
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
+     * @see ConfigIndex
+     */
+    public default ConfigIndex index(){
+        return ConfigIndex.of(stream());
+    }
+    /**
+     * Instrument the location reads with the given metrics (open and parse time, content size, entries, overridden keys and failures),
+     * implementations that do not report metrics ignore them
+     * @param _metrics metrics to report to, ConfigMetrics.NOOP to stop reporting
+     * @return this instance
+     * @see ConfigMetrics
+     */
+    public default ConfigManager withMetrics(final ConfigMetrics _metrics){
+        return this;
+    }
 }
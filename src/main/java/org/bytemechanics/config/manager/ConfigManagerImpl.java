@@ -6,29 +6,130 @@
 package org.bytemechanics.config.manager;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.bytemechanics.config.manager.exceptions.UnreadableConfigLocation;
+import org.bytemechanics.config.manager.exceptions.UnresolvableConfigValue;
 import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationFormat;
+import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationScheme;
 import org.bytemechanics.config.manager.exceptions.UnwritableConfigLocation;
+import org.bytemechanics.config.manager.internal.ConfigInterpolator;
 import org.bytemechanics.config.manager.internal.ConfigParserFactory;
-import org.bytemechanics.config.manager.internal.ConfigProviderFactory;
+import org.bytemechanics.config.manager.internal.ConfigTemplate;
+import org.bytemechanics.config.manager.internal.LocationFingerprint;
+import org.bytemechanics.config.manager.internal.LocationWatcher;
+import org.bytemechanics.config.manager.internal.PopulatedProperties;
+import org.bytemechanics.config.manager.internal.ResolvedLocation;
 
 /**
  * Config manager service implementation
  * @author afarre
  */
-public class ConfigManagerImpl implements ConfigManager{
+public class ConfigManagerImpl implements ObservableConfigManager,AutoCloseable{
+
+    /**
+     * Last parsed content of a location with the fingerprint it had before reading it and its values with placeholders compiled
+     */
+    protected static final class LocationContent{
+
+        private final LocationFingerprint fingerprint;
+        private final List<Config> configs;
+        private final boolean templates;
+
+        LocationContent(final LocationFingerprint _fingerprint,final List<Config> _configs){
+            this.fingerprint=_fingerprint;
+            this.configs=ConfigTemplate.compileAll(_configs);
+            this.templates=this.configs.stream()
+                                        .anyMatch(config -> config instanceof ConfigTemplate);
+        }
+
+        public LocationFingerprint getFingerprint() {
+            return fingerprint;
+        }
+        public List<Config> getConfigs() {
+            return configs;
+        }
+    }
+
+    /**
+     * Listener subscribed to a key prefix, notifications are chained so they never overlap and keep the version order.
+     * Each notification runs after the previous one completes even if it failed (listener error or rejected by the executor)
+     */
+    private static final class Subscription{
+
+        private final String prefix;
+        private final ConfigListener listener;
+        private CompletableFuture<Void> last;
+
+        Subscription(final String _prefix,final ConfigListener _listener){
+            this.prefix=_prefix;
+            this.listener=_listener;
+            this.last=CompletableFuture.completedFuture(null);
+        }
+
+        void notify(final ConfigDiff _diff,final Executor _executor){
+            final ConfigDiff changes=_diff.subtree(this.prefix);
+            if(!changes.isEmpty())
+                this.last=this.last.handle((result,failure) -> (Void)null)
+                                    .thenRunAsync(() -> {
+                                                    try{
+                                                        this.listener.onChange(changes);
+                                                    }catch(RuntimeException e){
+                                                        LOGGER.log(Level.WARNING, "Config listener "+this.listener+" failed processing "+changes, e);
+                                                    }
+                                                }, _executor)
+                                    .whenComplete((result,failure) -> {
+                                                    if(failure!=null)
+                                                        LOGGER.log(Level.SEVERE, "Config listener "+this.listener+" not notified of "+changes, failure);
+                                                });
+        }
+    }
+
+    private static final Logger LOGGER=Logger.getLogger(ConfigManagerImpl.class.getName());
 
     private final Charset charset;
     private final List<URI> locations;
+    private final List<ResolvedLocation> resolvedLocations;
+    private final AtomicReference<ConfigSnapshot> snapshot;
+    private final List<LocationContent> contents;
+    private volatile Executor executor;
+    private volatile boolean systemProperties;
+    private ConfigSnapshot published;
+    private final PopulatedProperties populated;
+    private final List<Subscription> subscriptions;
+    private volatile Executor listenerExecutor;
+    private LocationWatcher watcher;
+    private volatile ConfigMetrics metrics;
 
     /**
      * Config manager constructor
@@ -36,8 +137,20 @@ public class ConfigManagerImpl implements ConfigManager{
      * @param _charset charset to use to load the configurations
      */
     public ConfigManagerImpl(final List<URI> _locations,final Charset _charset) {
-        this.locations=Objects.requireNonNull(_locations,"Mandatory parameter _locations");
+        this.locations=Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(_locations,"Mandatory parameter _locations")));
         this.charset=Objects.requireNonNull(_charset,"Mandatory parameter _charset");
+        this.populated=new PopulatedProperties();
+        this.resolvedLocations=Collections.unmodifiableList(this.locations.stream()
+                                                                        .map(location -> new ResolvedLocation(location,_charset).ignoring(this.populated))
+                                                                        .collect(Collectors.toList()));
+        this.snapshot=new AtomicReference<>(ConfigSnapshot.EMPTY);
+        this.contents=new ArrayList<>(Collections.nCopies(this.resolvedLocations.size(), (LocationContent)null));
+        this.systemProperties=false;
+        this.published=ConfigSnapshot.EMPTY;
+        this.subscriptions=new CopyOnWriteArrayList<>();
+        this.listenerExecutor=ForkJoinPool.commonPool();
+        this.watcher=null;
+        this.metrics=ConfigMetrics.NOOP;
     }
     /**
      * Config manager constructor
@@ -89,19 +202,111 @@ public class ConfigManagerImpl implements ConfigManager{
     }
     /** 
      * Retrieve the list of locations from where to load configurations
-     * @return locations to load configurations
+     * @return unmodifiable copy of the locations to load configurations
      */
     public List<URI> getLocations() {
         return locations;
     }
+    /** 
+     * Retrieve the locations resolved on construction (provider, parser, path and charset)
+     * @return resolved locations in the same order as getLocations()
+     */
+    public List<ResolvedLocation> getResolvedLocations() {
+        return resolvedLocations;
+    }
+    /** 
+     * Retrieve the executor used to read locations concurrently
+     * @return executor or empty if locations are read sequentially
+     */
+    public Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+    
+    /**
+     * Enable parallel loading, stream() and load() will open and parse all locations concurrently using the given executor.
+     * The merge keeps the sequential override order (later locations win) so the result is the same as the sequential path
+     * @param _executor executor where read each location or null to read them sequentially (default)
+     * @return this instance
+     */
+    public ConfigManagerImpl withExecutor(final Executor _executor) {
+        this.executor=_executor;
+        return this;
+    }
+    /**
+     * Define the executor where change listeners are notified, by default the common fork join pool
+     * @param _executor executor to notify the listeners
+     * @return this instance
+     * @throws NullPointerException if the executor is null
+     * @see ConfigManagerImpl#addListener(java.lang.String, org.bytemechanics.config.manager.ConfigListener)
+     */
+    public ConfigManagerImpl withListenerExecutor(final Executor _executor) {
+        this.listenerExecutor=Objects.requireNonNull(_executor,"Mandatory parameter _executor");
+        return this;
+    }
+    /**
+     * Report the reads of each location (open and parse time, content size and entries), the keys overridden by the following
+     * locations on each merge and the failures to the given metrics. By default ConfigMetrics.NOOP, that skips any measure
+     * @param _metrics metrics to report to
+     * @return this instance
+     * @throws NullPointerException if the metrics is null
+     * @see ConfigManager#withMetrics(org.bytemechanics.config.manager.ConfigMetrics)
+     */
+    @Override
+    public ConfigManagerImpl withMetrics(final ConfigMetrics _metrics) {
+        this.metrics=Objects.requireNonNull(_metrics,"Mandatory parameter _metrics");
+        return this;
+    }
+    /**
+     * Enable (or disable) hot reload of file:// locations driven by file system events.
+     * Events are coalesced until the debounce window passes without new ones and only the locations whose file really changed
+     * are read again (the rest are reused from the last reload), then a new snapshot is published as reload(Collection) does
+     * and, if load() was called before, populated into System properties.
+     * Watched files read memory mapped (mapped parameter) must be replaced atomically, a mapped file truncated while it is read crashes the reader.
+     * @param _debounce quiet window to wait after the last event before reloading or null to stop watching
+     * @return this instance
+     * @throws UncheckedIOException if the file system can not be watched
+     * @see ConfigManagerImpl#reload(java.util.Collection) 
+     */
+    public synchronized ConfigManagerImpl withWatch(final Duration _debounce) {
+        try{
+            if(this.watcher!=null){
+                this.watcher.close();
+                this.watcher=null;
+            }
+            if(_debounce!=null)
+                this.watcher=new LocationWatcher(this.resolvedLocations, _debounce, this::onChange);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+    /** 
+     * Retrieve if file locations are being watched
+     * @return true if hot reload is enabled
+     */
+    public synchronized boolean isWatching() {
+        return this.watcher!=null;
+    }
+    /**
+     * Stop watching the locations and release the resources kept open for them (as the shared archive handles of zip:// locations,
+     * that are opened again if any other manager reads them). The last snapshot is still available and the manager can be used again
+     * @throws UncheckedIOException if the file system watch can not be closed
+     */
+    @Override
+    public synchronized void close() {
+        withWatch(null);
+        this.resolvedLocations.forEach(ResolvedLocation::release);
+    }
     
     
     /**
      * Read configuration from the given _reader population as stream
      * @param _location configuration location to discern reader the format
      * @param _reader reader from where configuration must be readed
-     * @return stream of read configurations
+     * @return stream of read configurations, raising UnreadableConfigLocation if the reader fails while it is consumed
+     * @throws UnreadableConfigLocation if the location can not be readed
      * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedOperationException if the location format is binary (.cfgbin), that can not be read from a character stream
      * @throws NullPointerException if any of parameters are null
      */
     protected Stream<Config> read(final URI _location,Reader _reader){
@@ -109,7 +314,7 @@ public class ConfigManagerImpl implements ConfigManager{
         Objects.requireNonNull(_location,"Mandatory parameter _location");
         Objects.requireNonNull(_reader,"Mandatory parameter _reader");
         try{
-            return ConfigParserFactory.read(_reader, _location);
+            return unreadable(_location, ConfigParserFactory.read(_reader, _location));
         } catch (UncheckedIOException ex) {
             throw new UnreadableConfigLocation(_location, ex);
         }
@@ -137,35 +342,344 @@ public class ConfigManagerImpl implements ConfigManager{
     }
 
     
-    /** @see ConfigManager#read(java.net.URI) */
+    /** 
+     * The returned stream is lazy and keeps the location open until it is closed, 
+     * failures reading the location while it is consumed are raised as UnreadableConfigLocation too,
+     * stream() closes each location as soon as it has been consumed
+     * @see ConfigManager#read(java.net.URI) 
+     */
     @Override
     public Stream<Config> read(final URI _location){
-        return ConfigProviderFactory.openInputStream(_location, this.charset)
-                                    .map(reader -> this.read(_location,reader))
-                                    .orElse(Stream.empty());
+        return Optional.ofNullable(_location)
+                        .map(location -> read(new ResolvedLocation(location,this.charset)))
+                        .orElse(Stream.empty());
     }
     /** @see ConfigManager#write(java.net.URI, java.util.stream.Stream) */
     @Override
     public void write(final URI _location, Stream<Config> _config){
-        ConfigProviderFactory.openOutputStream(_location, this.charset)
-                                .ifPresent(writer -> this.write(_location,writer,_config));
+        Optional.ofNullable(_location)
+                .map(location -> new ResolvedLocation(location,this.charset))
+                .ifPresent(location -> location.openOutputStream()
+                                                .ifPresent(outputStream -> {
+                                                    try(OutputStream output=outputStream){
+                                                        location.getParser().write(location,output,_config);
+                                                    } catch (IOException|UncheckedIOException ex) {
+                                                        throw new UnwritableConfigLocation(_location, ex);
+                                                    }
+                                                }));
     }
 
     
-    /** @see ConfigManager#stream() */
+    /**
+     * Read the given resolved location without any resolution work
+     * @param _location resolved location to read
+     * @return stream of read configurations (that closes the location when closed) or an empty stream, 
+     * raising UnreadableConfigLocation if the location fails while it is consumed or closed
+     * @throws UnreadableConfigLocation if the location can not be readed
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
+     */
+    protected Stream<Config> read(final ResolvedLocation _location){
+        try{
+            return unreadable(_location.getUri(), _location.read());
+        } catch (UncheckedIOException ex) {
+            throw new UnreadableConfigLocation(_location.getUri(), ex);
+        }
+    }
+    /**
+     * Wrap the given lazy stream to raise UnreadableConfigLocation instead of the UncheckedIOException thrown 
+     * by the parsers while it is consumed or closed
+     * @param _location location being read
+     * @param _configs lazy stream of the location configurations
+     * @return stream of the same configurations
+     */
+    private static Stream<Config> unreadable(final URI _location,final Stream<Config> _configs){
+        final Spliterator<Config> spliterator=_configs.spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<Config>(spliterator.estimateSize(),spliterator.characteristics()){
+                                            @Override
+                                            public boolean tryAdvance(final Consumer<? super Config> _action) {
+                                                try{
+                                                    return spliterator.tryAdvance(_action);
+                                                } catch (UncheckedIOException ex) {
+                                                    throw new UnreadableConfigLocation(_location, ex);
+                                                }
+                                            }
+                                        },false)
+                                .onClose(() -> {
+                                    try{
+                                        _configs.close();
+                                    } catch (UncheckedIOException ex) {
+                                        throw new UnreadableConfigLocation(_location, ex);
+                                    }
+                                });
+    }
+    /**
+     * Read the full location content closing it before return
+     * @param _location location to read
+     * @return list of read configurations
+     * @throws UnreadableConfigLocation if the location can not be readed
+     */
+    protected List<Config> readAll(final ResolvedLocation _location){
+        if(this.metrics==ConfigMetrics.NOOP){
+            try(Stream<Config> configs=read(_location)){
+                return configs.collect(Collectors.toList());
+            } catch (UncheckedIOException ex) {
+                throw new UnreadableConfigLocation(_location.getUri(), ex);
+            }
+        }
+        final LongAdder bytes=new LongAdder();
+        final long start=System.nanoTime();
+        try(Stream<Config> configs=read(_location.counting(bytes))){
+            final long opened=System.nanoTime();
+            final List<Config> reply=configs.collect(Collectors.toList());
+            final LocationMetrics measures=new LocationMetrics(_location.getUri(), opened-start, bytes.sum(), System.nanoTime()-opened, reply.size());
+            measure(metrics -> metrics.onRead(measures));
+            return reply;
+        } catch (UncheckedIOException ex) {
+            throw new UnreadableConfigLocation(_location.getUri(), ex);
+        }
+    }
+    /**
+     * Report to the metrics (if any) ignoring its failures
+     * @param _measure report to do
+     */
+    private void measure(final Consumer<ConfigMetrics> _measure){
+        final ConfigMetrics current=this.metrics;
+        if(current==ConfigMetrics.NOOP)
+            return;
+        try{
+            _measure.accept(current);
+        }catch(RuntimeException e){
+            LOGGER.log(Level.WARNING, "Config metrics "+current+" failed", e);
+        }
+    }
+    /**
+     * Report the distinct keys of each location overridden by the following ones
+     * @param _contents merged contents in override order
+     */
+    private void measureOverrides(final List<LocationContent> _contents){
+        final Set<String> following=new HashSet<>();
+        for(int ic1=_contents.size()-1;ic1>=0;ic1--){
+            final Set<String> keys=_contents.get(ic1).configs
+                                                        .stream()
+                                                            .map(Config::getKey)
+                                                            .collect(Collectors.toSet());
+            final int overridden=(int)keys.stream()
+                                            .filter(following::contains)
+                                            .count();
+            final URI location=this.resolvedLocations.get(ic1).getUri();
+            measure(metrics -> metrics.onMerge(location, overridden));
+            following.addAll(keys);
+        }
+    }
+    /** 
+     * Returns the current configuration updating it before as update() does, so repeated calls only read again the changed locations.
+     * When an executor is configured the locations are checked and read concurrently
+     * @see ConfigManager#stream() 
+     * @see ConfigManagerImpl#update()
+     * @see ConfigManagerImpl#withExecutor(java.util.concurrent.Executor) 
+     */
     @Override
     public Stream<Config> stream(){
-        return this.locations.stream()
-                                .sequential()
-                                .flatMap(this::read)
-                                .collect(Collectors.toMap(Config::getKey,config -> config,(configA,configB) -> configB))
-                                    .values()
-                                       .stream();
-    }
-    /** @see ConfigManager#load()  */
+        return update().stream();
+    }
+    /**
+     * Retrieve the last published snapshot, wait-free (a single volatile read)
+     * @return current snapshot, ConfigSnapshot.EMPTY until the first reload(), update(), stream() or load()
+     */
+    public ConfigSnapshot snapshot(){
+        return this.snapshot.get();
+    }
+    /**
+     * Read all configured locations into a new immutable snapshot and publish it with a single atomic swap,
+     * readers see either the previous version or the new one complete.
+     * Placeholders (${other.key}, ${env:VAR:default}...) are resolved against the merged configuration of the snapshot
+     * @return published snapshot with the version following the previous one
+     * @throws UnreadableConfigLocation if the location can not be readed
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
+     * @throws UnresolvableConfigValue if a placeholder references a missing key without default or the references are circular
+     * @see ConfigTemplate
+     */
+    public ConfigSnapshot reload(){
+        return update(location -> true,true);
+    }
+    /**
+     * Read again the given locations and the rest only if its fingerprint changed since the last read,
+     * then publish the merged result as a new immutable snapshot with a single atomic swap
+     * @param _changed locations to read again
+     * @return published snapshot with the version following the previous one
+     * @throws UnreadableConfigLocation if the location can not be readed
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
+     */
+    public ConfigSnapshot reload(final Collection<ResolvedLocation> _changed){
+        return update(_changed::contains,true);
+    }
+    /**
+     * Incremental reload, read again only the locations whose fingerprint changed since the last read (file size, modification time
+     * and real path for files, content digest for the rest) reusing the last parsed content of the others.
+     * A new snapshot is published only if any location changed, otherwise the current one is returned without merging anything
+     * @return current snapshot, new if any location changed
+     * @throws UnreadableConfigLocation if the location can not be readed
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
+     */
+    public ConfigSnapshot update(){
+        return update(location -> false,false);
+    }
+
+    /**
+     * Fingerprint the location and read it if forced or its fingerprint changed
+     * @param _location location to refresh
+     * @param _current last read content or null if never read
+     * @param _force read even if the fingerprint did not change
+     * @return the current content if not changed or the new read content
+     */
+    protected LocationContent refresh(final ResolvedLocation _location,final LocationContent _current,final boolean _force){
+        try{
+            final LocationFingerprint fingerprint;
+            try{
+                fingerprint=_location.fingerprint();
+            } catch (UncheckedIOException ex) {
+                throw new UnreadableConfigLocation(_location.getUri(), ex);
+            }
+            if((!_force)&&(_current!=null)&&(_current.fingerprint.equals(fingerprint)))
+                return _current;
+            return new LocationContent(fingerprint, readAll(_location));
+        }catch(RuntimeException e){
+            measure(metrics -> metrics.onFailure(_location.getUri(), e));
+            throw e;
+        }
+    }
+    /**
+     * Refresh all locations (concurrently if there is an executor) and publish a new snapshot if any changed or if forced.
+     * Updates are serialized so versions follow the order in which the contents were merged
+     */
+    private synchronized ConfigSnapshot update(final Predicate<ResolvedLocation> _force,final boolean _publish){
+
+        final List<LocationContent> refreshed=new ArrayList<>(this.resolvedLocations.size());
+        final Executor currentExecutor=this.executor;
+        if(currentExecutor!=null){
+            final List<CompletableFuture<LocationContent>> reads=new ArrayList<>(this.resolvedLocations.size());
+            for(int ic1=0;ic1<this.resolvedLocations.size();ic1++){
+                final ResolvedLocation location=this.resolvedLocations.get(ic1);
+                final LocationContent current=this.contents.get(ic1);
+                reads.add(CompletableFuture.supplyAsync(() -> refresh(location,current,_force.test(location)),currentExecutor));
+            }
+            try{
+                for(CompletableFuture<LocationContent> read:reads){
+                    refreshed.add(read.join());
+                }
+            }catch(CompletionException ex){
+                reads.forEach(read -> read.cancel(true));
+                if(ex.getCause() instanceof RuntimeException)
+                    throw (RuntimeException)ex.getCause();
+                throw ex;
+            }
+        }else{
+            for(int ic1=0;ic1<this.resolvedLocations.size();ic1++){
+                final ResolvedLocation location=this.resolvedLocations.get(ic1);
+                refreshed.add(refresh(location,this.contents.get(ic1),_force.test(location)));
+            }
+        }
+        boolean changed=_publish||(this.snapshot.get()==ConfigSnapshot.EMPTY);
+        for(int ic1=0;ic1<refreshed.size();ic1++){
+            changed|=(refreshed.get(ic1)!=this.contents.get(ic1));
+        }
+        if(!changed)
+            return this.snapshot.get();
+        final ConfigIndex merged=ConfigIndex.of(refreshed.stream()
+                                                            .flatMap(content -> content.configs.stream()));
+        final ConfigIndex index=(refreshed.stream().anyMatch(content -> content.templates))? ConfigInterpolator.interpolate(merged, System::getenv) : merged;
+        if(this.metrics!=ConfigMetrics.NOOP)
+            measureOverrides(refreshed);
+        for(int ic1=0;ic1<refreshed.size();ic1++){
+            this.contents.set(ic1, refreshed.get(ic1));
+        }
+        final ConfigSnapshot previous=this.snapshot.get();
+        final ConfigSnapshot reply=previous.next(index);
+        this.snapshot.set(reply);
+        if(!this.subscriptions.isEmpty())
+            notify(ConfigDiff.between(previous, reply));
+        return reply;
+    }
+    /**
+     * Dispatch the diff to the subscriptions, called from update() so the notifications are chained in version order
+     */
+    private void notify(final ConfigDiff _diff){
+        if(!_diff.isEmpty()){
+            final Executor executor=this.listenerExecutor;
+            for(Subscription subscription:this.subscriptions){
+                subscription.notify(_diff, executor);
+            }
+        }
+    }
+    /** 
+     * Listeners are notified on the listener executor with the changes of each published snapshot (by reload(), update(), stream(), load() 
+     * or file watching) under its prefix, the first published snapshot notifies all its keys as added
+     * @see ObservableConfigManager#addListener(java.lang.String, org.bytemechanics.config.manager.ConfigListener) 
+     * @see ConfigManagerImpl#withListenerExecutor(java.util.concurrent.Executor) 
+     */
+    @Override
+    public ConfigManagerImpl addListener(final String _prefix,final ConfigListener _listener){
+        Objects.requireNonNull(_prefix,"Mandatory parameter _prefix");
+        Objects.requireNonNull(_listener,"Mandatory parameter _listener");
+        this.subscriptions.add(new Subscription(_prefix, _listener));
+        return this;
+    }
+    /** @see ObservableConfigManager#removeListener(org.bytemechanics.config.manager.ConfigListener) */
+    @Override
+    public boolean removeListener(final ConfigListener _listener){
+        return this.subscriptions.removeIf(subscription -> subscription.listener==_listener);
+    }
+
+    private void onChange(final Collection<ResolvedLocation> _changed){
+        final ConfigSnapshot reloaded=reload(_changed);
+        if(this.systemProperties)
+            populate(reloaded);
+    }
+    /**
+     * Apply the changes from the last populated snapshot to System properties in a single batch holding the properties monitor once.
+     * Removed keys are only cleared (or restored to their value before being populated) if they still hold the value populated by this manager
+     * and older snapshots than the last populated are ignored. The system:// locations of this manager ignore the populated values
+     * @see PopulatedProperties
+     */
+    private synchronized ConfigDiff populate(final ConfigSnapshot _snapshot){
+        if(_snapshot.getVersion()<=this.published.getVersion())
+            return ConfigDiff.between(_snapshot, _snapshot);
+        final ConfigDiff reply=ConfigDiff.between(this.published, _snapshot);
+        if(!reply.isEmpty()){
+            final Properties properties=System.getProperties();
+            synchronized(properties){
+                for(ConfigDiff.Change change:reply.getChanges()){
+                    this.populated.populate(properties, change.getKey(), change.getNewValue());
+                }
+            }
+        }
+        this.published=_snapshot;
+        return reply;
+    }
+    /**
+     * Updates the snapshot (reading only the changed locations) and applies to System properties only its differences with the last
+     * populated snapshot: added and changed keys are set and removed keys cleared (if nobody else changed them), all in one batch
+     * @return changes applied to System properties, empty if nothing changed since the last populated snapshot
+     * @throws UnreadableConfigLocation if the location can not be readed
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported (location type)
+     * @see ConfigManagerImpl#update()
+     */
+    public ConfigDiff publish(){
+        this.systemProperties=true;
+        return populate(update());
+    }
+    /** 
+     * Updates the snapshot (reading only the changed locations) and populates its changes into System properties
+     * @see ConfigManager#load()
+     * @see ConfigManagerImpl#publish()
+     */
     @Override
     public void load(){
-        stream()
-           .forEach(config -> System.setProperty(config.getKey(),config.getValue()));
+        publish();
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.net.URI;
+
+/**
+ * Instrumentation of the location reads of a config manager, to know which location makes a load slow.
+ * All the callbacks are no-op by default, so implementations only override what they need, and are called from the thread
+ * that reads (or merges) the locations, failures of the callbacks are logged and ignored
+ * @see ConfigManager#withMetrics(org.bytemechanics.config.manager.ConfigMetrics)
+ * @author afarre
+ */
+public interface ConfigMetrics {
+
+    /** Default metrics that does nothing, the config manager skips any measure with it */
+    public static final ConfigMetrics NOOP=new ConfigMetrics(){
+                                                    @Override
+                                                    public String toString() {
+                                                        return "ConfigMetrics.NOOP";
+                                                    }
+                                                };
+
+    /**
+     * Called each time a location is read (not when its fingerprint did not change and its last content is reused)
+     * @param _metrics timings, content size and entries of the read
+     */
+    public default void onRead(final LocationMetrics _metrics){}
+    /**
+     * Called for each location each time the locations are merged into a new configuration
+     * @param _location merged location
+     * @param _overridden number of distinct keys of the location overridden by the following locations
+     */
+    public default void onMerge(final URI _location,final int _overridden){}
+    /**
+     * Called when a location can not be fingerprinted or read, before the failure is raised
+     * @param _location failed location
+     * @param _failure raised failure
+     */
+    public default void onFailure(final URI _location,final RuntimeException _failure){}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Immutable version of the merged configuration.
+ * Each reload builds a complete new snapshot and publishes it with a single reference swap, so readers holding a snapshot
+ * always see all the values of the same version and never a mix of old and new ones.
+ * @see ConfigManagerImpl#snapshot()
+ * @see ConfigManagerImpl#reload()
+ * @author afarre
+ */
+public final class ConfigSnapshot {
+
+    /** Initial snapshot without configurations (version 0) */
+    public static final ConfigSnapshot EMPTY=new ConfigSnapshot(0, ConfigIndex.of(Stream.empty()));
+
+    private final long version;
+    private final ConfigIndex index;
+
+
+    /**
+     * Snapshot constructor
+     * @param _version snapshot version
+     * @param _index indexed configuration
+     * @throws NullPointerException if the index is null
+     */
+    ConfigSnapshot(final long _version,final ConfigIndex _index) {
+        this.version=_version;
+        this.index=Objects.requireNonNull(_index,"Mandatory parameter _index");
+    }
+
+    /**
+     * Build the following snapshot version with the given configuration
+     * @param _index indexed configuration
+     * @return new snapshot with this version plus one
+     */
+    ConfigSnapshot next(final ConfigIndex _index){
+        return new ConfigSnapshot(this.version+1, _index);
+    }
+
+
+    /**
+     * @return snapshot version, increased by one on each reload
+     */
+    public long getVersion() {
+        return version;
+    }
+    /**
+     * @return configuration index of this snapshot
+     */
+    public ConfigIndex getIndex() {
+        return index;
+    }
+    /**
+     * @return number of configurations
+     */
+    public int size() {
+        return index.size();
+    }
+    /**
+     * Retrieve the configuration for the given key
+     * @param _key configuration key
+     * @return configuration or empty if it does not exist in this snapshot
+     * @see ConfigIndex#get(java.lang.String)
+     */
+    public Optional<Config> get(final String _key){
+        return index.get(_key);
+    }
+    /**
+     * View of the configurations under the given key prefix
+     * @param _prefix key prefix
+     * @return subtree view of this snapshot
+     * @see ConfigIndex#subtree(java.lang.String)
+     */
+    public ConfigIndex subtree(final String _prefix){
+        return index.subtree(_prefix);
+    }
+    /**
+     * @return Stream of the snapshot configurations
+     */
+    public Stream<Config> stream(){
+        return index.stream();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot{" + "version=" + version + ", size=" + index.size() + '}';
+    }
+}
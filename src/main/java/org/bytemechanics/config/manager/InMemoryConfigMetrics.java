@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Metrics collector that keeps in memory every read, the last override count of each location and every failure, meant for tests and diagnostics
+ * @author afarre
+ */
+public class InMemoryConfigMetrics implements ConfigMetrics{
+
+    private final List<LocationMetrics> reads;
+    private final Map<URI,Integer> overridden;
+    private final Map<URI,List<RuntimeException>> failures;
+
+
+    /**
+     * Empty collector
+     */
+    public InMemoryConfigMetrics(){
+        this.reads=new CopyOnWriteArrayList<>();
+        this.overridden=new ConcurrentHashMap<>();
+        this.failures=new ConcurrentHashMap<>();
+    }
+
+    /** @see ConfigMetrics#onRead(org.bytemechanics.config.manager.LocationMetrics) */
+    @Override
+    public void onRead(final LocationMetrics _metrics) {
+        this.reads.add(_metrics);
+    }
+    /** @see ConfigMetrics#onMerge(java.net.URI, int) */
+    @Override
+    public void onMerge(final URI _location,final int _overridden) {
+        this.overridden.put(_location, _overridden);
+    }
+    /** @see ConfigMetrics#onFailure(java.net.URI, java.lang.RuntimeException) */
+    @Override
+    public void onFailure(final URI _location,final RuntimeException _failure) {
+        this.failures.computeIfAbsent(_location, location -> new CopyOnWriteArrayList<>())
+                        .add(_failure);
+    }
+
+    /**
+     * @return all collected reads in the order they were reported
+     */
+    public List<LocationMetrics> getReads() {
+        return Collections.unmodifiableList(new ArrayList<>(this.reads));
+    }
+    /**
+     * @param _location location to retrieve
+     * @return last read of the location or empty if never read
+     */
+    public Optional<LocationMetrics> getLastRead(final URI _location) {
+        LocationMetrics reply=null;
+        for(LocationMetrics read:this.reads){
+            if(read.getLocation().equals(_location))
+                reply=read;
+        }
+        return Optional.ofNullable(reply);
+    }
+    /**
+     * @param _location location to retrieve
+     * @return keys of the location overridden by the following locations in the last merge or empty if never merged
+     */
+    public Optional<Integer> getOverridden(final URI _location) {
+        return Optional.ofNullable(this.overridden.get(_location));
+    }
+    /**
+     * @param _location location to retrieve
+     * @return failures of the location in the order they were reported
+     */
+    public List<RuntimeException> getFailures(final URI _location) {
+        return Collections.unmodifiableList(new ArrayList<>(this.failures.getOrDefault(_location, Collections.emptyList())));
+    }
+    /**
+     * Forget everything collected
+     */
+    public void clear() {
+        this.reads.clear();
+        this.overridden.clear();
+        this.failures.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryConfigMetrics{" + "reads=" + reads.size() + ", overridden=" + overridden + ", failures=" + failures.size() + '}';
+    }
+}
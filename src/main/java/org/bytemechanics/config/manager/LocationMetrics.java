@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures of a single location read
+ * @see ConfigMetrics#onRead(org.bytemechanics.config.manager.LocationMetrics)
+ * @author afarre
+ */
+public final class LocationMetrics {
+
+    private final URI location;
+    private final long openNanos;
+    private final long bytes;
+    private final long parseNanos;
+    private final int entries;
+
+
+    /**
+     * Location read measures
+     * @param _location read location
+     * @param _openNanos nanoseconds to open the location (and start its parser)
+     * @param _bytes bytes of content consumed by the parser
+     * @param _parseNanos nanoseconds to parse the whole location
+     * @param _entries number of configurations read
+     * @throws NullPointerException if the location is null
+     */
+    public LocationMetrics(final URI _location,final long _openNanos,final long _bytes,final long _parseNanos,final int _entries) {
+        this.location=Objects.requireNonNull(_location,"Mandatory parameter _location");
+        this.openNanos=_openNanos;
+        this.bytes=_bytes;
+        this.parseNanos=_parseNanos;
+        this.entries=_entries;
+    }
+
+    /**
+     * @return read location
+     */
+    public URI getLocation() {
+        return location;
+    }
+    /**
+     * @return nanoseconds to open the location (and start its parser)
+     */
+    public long getOpenNanos() {
+        return openNanos;
+    }
+    /**
+     * @return bytes of content consumed by the parser before decoding (added for all the files of globs and resources of classpath-all://),
+     * or the UTF-8 size of the keys and values for the locations without content (env://, system://)
+     */
+    public long getBytes() {
+        return bytes;
+    }
+    /**
+     * @return nanoseconds to parse the whole location
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+    /**
+     * @return number of configurations read
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(location, openNanos, bytes, parseNanos, entries);
+    }
+    @Override
+    public boolean equals(final Object _other) {
+        if (this == _other) {
+            return true;
+        }
+        if ((_other == null)||(getClass() != _other.getClass())) {
+            return false;
+        }
+        final LocationMetrics other = (LocationMetrics) _other;
+        return (this.openNanos==other.openNanos)
+                &&(this.bytes==other.bytes)
+                &&(this.parseNanos==other.parseNanos)
+                &&(this.entries==other.entries)
+                &&(this.location.equals(other.location));
+    }
+    @Override
+    public String toString() {
+        return "LocationMetrics{" + "location=" + location + ", open=" + TimeUnit.NANOSECONDS.toMicros(openNanos) + "us, bytes=" + bytes + ", parse=" + TimeUnit.NANOSECONDS.toMicros(parseNanos) + "us, entries=" + entries + '}';
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+/**
+ * Config manager that publishes the changes of its configuration to subscribed listeners
+ * @see ConfigListener
+ * @author afarre
+ */
+public interface ObservableConfigManager extends ConfigManager {
+
+    /**
+     * Subscribe the listener to the changes of the keys under the given prefix, each new published configuration
+     * with changes under the prefix is notified without blocking the thread that loaded it
+     * @param _prefix key prefix matching whole segments (empty to listen all the keys)
+     * @param _listener listener to notify
+     * @return this instance
+     * @throws NullPointerException if any of parameters are null
+     */
+    public ObservableConfigManager addListener(final String _prefix,final ConfigListener _listener);
+    /**
+     * Unsubscribe the listener from all its prefixes
+     * @param _listener listener to remove
+     * @return true if the listener was subscribed
+     */
+    public boolean removeListener(final ConfigListener _listener);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.exceptions;
+
+import org.bytemechanics.config.manager.internal.commons.string.SimpleFormat;
+
+/**
+ * Raised when a configuration value can not be converted to the requested type
+ * @author afarre
+ */
+public class MalformedConfigValue extends RuntimeException{
+
+    protected static final String MESSAGE="Malformed config {} value {} can not be converted to {}";
+
+    private final String key;
+    private final String value;
+    private final Class<?> type;
+
+    /**
+     * Constructor to build the exception
+     * @param _key configuration key
+     * @param _value configuration value
+     * @param _type requested type
+     * @param _cause underlaying exception
+     */
+    public MalformedConfigValue(final String _key,final String _value,final Class<?> _type,final Throwable _cause) {
+        super(SimpleFormat.format(MESSAGE,_key,_value,(_type==null)? null : _type.getSimpleName()),_cause);
+        this.key=_key;
+        this.value=_value;
+        this.type=_type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+    public String getValue() {
+        return value;
+    }
+    public Class<?> getType() {
+        return type;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.exceptions;
+
+import org.bytemechanics.config.manager.internal.commons.string.SimpleFormat;
+
+/**
+ * Raised when the placeholders of a configuration value can not be resolved, because a reference without default does not exist
+ * or because the references are circular
+ * @author afarre
+ */
+public class UnresolvableConfigValue extends RuntimeException{
+
+    protected static final String MESSAGE="Config {} value {} can not be resolved: {}";
+
+    private final String key;
+    private final String value;
+
+    /**
+     * Constructor to build the exception
+     * @param _key configuration key
+     * @param _value configuration value with placeholders
+     * @param _reason reason why it can not be resolved
+     */
+    public UnresolvableConfigValue(final String _key,final String _value,final String _reason) {
+        super(SimpleFormat.format(MESSAGE,_key,_value,_reason));
+        this.key=_key;
+        this.value=_value;
+    }
+
+    public String getKey() {
+        return key;
+    }
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.bytemechanics.config.manager.exceptions.UnreadableConfigLocation;
+
+/**
+ * Shared open handles of zip/jar archives for archive locations (conf.zip!/prod/app.yml).
+ * Each archive is opened once and its central directory read once for all the entries referenced from any location,
+ * the handle is reused while the archive file fingerprint (size, modification time and real path) does not change
+ * and reopened when it does. Handles are reference counted, so a replaced archive is closed only once its last reader closes.
+ * Archives are opened outside of the map locks, when two threads open the same archive concurrently only one handle is kept
+ * @author afarre
+ */
+public final class ArchiveFiles {
+
+    /** Separator between the archive path and the entry name */
+    public static final String ENTRY_SEPARATOR="!/";
+
+    private static final Logger LOGGER=Logger.getLogger(ArchiveFiles.class.getName());
+
+    private static final class Holder{
+        private static final ArchiveFiles DEFAULT=new ArchiveFiles();
+    }
+
+    /**
+     * Open archive with the fingerprint of its file when it was opened, closed when it is no longer shared
+     * and all the acquired references have been released
+     */
+    public static final class Archive implements Closeable{
+
+        private final LocationFingerprint fingerprint;
+        private final ZipFile zip;
+        private final AtomicInteger references;
+
+        Archive(final LocationFingerprint _fingerprint,final ZipFile _zip){
+            this.fingerprint=_fingerprint;
+            this.zip=_zip;
+            this.references=new AtomicInteger(1);
+        }
+
+        /**
+         * Acquire a new reference if the archive is not closed yet
+         * @return true if acquired
+         */
+        private boolean tryAcquire(){
+            int current;
+            do{
+                current=this.references.get();
+                if(current==0)
+                    return false;
+            }while(!this.references.compareAndSet(current, current+1));
+            return true;
+        }
+        /**
+         * @return open zip file, valid until this reference is closed
+         */
+        public ZipFile getZip(){
+            return this.zip;
+        }
+        /**
+         * Release this reference (must be called once per acquired reference),
+         * the zip file is closed when the archive is no longer shared and nobody else uses it
+         */
+        @Override
+        public void close(){
+            if(this.references.decrementAndGet()==0){
+                try{
+                    this.zip.close();
+                }catch(IOException e){
+                    LOGGER.log(Level.WARNING, "Unable to close archive "+this.zip.getName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entry content that releases its archive reference when closed
+     */
+    private static final class EntryInputStream extends FilterInputStream{
+
+        private final Archive archive;
+        private final AtomicBoolean closed;
+
+        EntryInputStream(final InputStream _input,final Archive _archive){
+            super(_input);
+            this.archive=_archive;
+            this.closed=new AtomicBoolean(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if(this.closed.compareAndSet(false, true)){
+                try{
+                    super.close();
+                }finally{
+                    this.archive.close();
+                }
+            }
+        }
+    }
+
+    private final ConcurrentMap<Path,Archive> archives;
+
+
+    /**
+     * Constructor without any open archive
+     */
+    public ArchiveFiles(){
+        this.archives=new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return shared archives of the JVM
+     */
+    public static ArchiveFiles get(){
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Archive path of the location path
+     * @param _path location host and path (conf.zip!/prod/app.yml)
+     * @return archive path (conf.zip)
+     * @throws UnreadableConfigLocation if the path has no entry separator
+     */
+    public static Path archive(final String _path){
+        final int separator=_path.indexOf(ENTRY_SEPARATOR);
+        if(separator<0)
+            throw new UnreadableConfigLocation("Archive location "+_path+" has no "+ENTRY_SEPARATOR+" entry separator",null);
+        return Paths.get(_path.substring(0, separator));
+    }
+    /**
+     * Entry name of the location path
+     * @param _path location host and path (conf.zip!/prod/app.yml)
+     * @return entry name (prod/app.yml)
+     * @throws UnreadableConfigLocation if the path has no entry separator
+     */
+    public static String entry(final String _path){
+        final int separator=_path.indexOf(ENTRY_SEPARATOR);
+        if(separator<0)
+            throw new UnreadableConfigLocation("Archive location "+_path+" has no "+ENTRY_SEPARATOR+" entry separator",null);
+        return _path.substring(separator+ENTRY_SEPARATOR.length());
+    }
+
+    private boolean install(final Path _key,final Archive _current,final Archive _opened){
+        if(_current==null)
+            return this.archives.putIfAbsent(_key, _opened)==null;
+        if(!this.archives.replace(_key, _current, _opened))
+            return false;
+        _current.close();
+        return true;
+    }
+    /**
+     * Acquire a reference to the shared handle of the archive, opened again only if its file changed.
+     * The archive is opened without holding any lock and then shared unless another thread shared it first
+     * (in that case the new handle is closed and the shared one is used)
+     * @param _archive archive path
+     * @return open archive reference (to close once used) or empty if it does not exist
+     * @throws UncheckedIOException if the archive can not be opened
+     */
+    public Optional<Archive> open(final Path _archive){
+        final Path key=_archive.toAbsolutePath().normalize();
+        final LocationFingerprint fingerprint=LocationFingerprint.ofFile(key);
+        while(true){
+            final Archive current=this.archives.get(key);
+            if((current!=null)&&(current.fingerprint.equals(fingerprint))){
+                if(current.tryAcquire())
+                    return Optional.of(current);
+                this.archives.remove(key, current);
+            }else if(LocationFingerprint.MISSING.equals(fingerprint)){
+                if((current!=null)&&(this.archives.remove(key, current)))
+                    current.close();
+                return Optional.empty();
+            }else{
+                final Archive opened;
+                try{
+                    opened=new Archive(fingerprint, new ZipFile(key.toFile()));
+                }catch(IOException e){
+                    throw new UncheckedIOException(e);
+                }
+                opened.tryAcquire();
+                if(install(key, current, opened))
+                    return Optional.of(opened);
+                opened.close();
+                opened.close();
+            }
+        }
+    }
+    private Optional<InputStream> openInputStream(final Archive _archive,final String _name){
+        Optional<InputStream> reply=Optional.empty();
+        try{
+            final ZipEntry entry=_archive.zip.getEntry(_name);
+            if(entry!=null)
+                reply=Optional.of(new EntryInputStream(_archive.zip.getInputStream(entry), _archive));
+            return reply;
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }finally{
+            if(!reply.isPresent())
+                _archive.close();
+        }
+    }
+    /**
+     * Open the entry of the archive location
+     * @param _path location host and path (conf.zip!/prod/app.yml)
+     * @return entry content or empty if the archive or the entry do not exist
+     * @throws UnreadableConfigLocation if the path has no entry separator
+     * @throws UncheckedIOException if the archive can not be read
+     */
+    public Optional<InputStream> openInputStream(final String _path){
+        final String name=entry(_path);
+        return open(archive(_path))
+                    .flatMap(archive -> openInputStream(archive, name));
+    }
+    /**
+     * Fingerprint the entry of the archive location from the archive central directory without reading it
+     * @param _path location host and path (conf.zip!/prod/app.yml)
+     * @return entry fingerprint or LocationFingerprint.MISSING if the archive or the entry do not exist
+     * @throws UnreadableConfigLocation if the path has no entry separator
+     * @throws UncheckedIOException if the archive can not be read
+     */
+    public LocationFingerprint fingerprint(final String _path){
+        final String name=entry(_path);
+        return open(archive(_path))
+                    .map(archive -> {
+                        try(Archive reference=archive){
+                            return Optional.ofNullable(reference.zip.getEntry(name))
+                                                .map(LocationFingerprint::ofEntry)
+                                                .orElse(LocationFingerprint.MISSING);
+                        }
+                    })
+                    .orElse(LocationFingerprint.MISSING);
+    }
+    /**
+     * @return number of open archives
+     */
+    public int size(){
+        return this.archives.size();
+    }
+    /**
+     * Stop sharing the archive, it is closed once its readers close their references and opened again by the next reader
+     * @param _archive archive path
+     */
+    public void close(final Path _archive){
+        Optional.ofNullable(this.archives.remove(_archive.toAbsolutePath().normalize()))
+                    .ifPresent(Archive::close);
+    }
+    /**
+     * Stop sharing all the open archives, each one is closed once its readers close their references
+     */
+    public void close(){
+        this.archives.keySet()
+                        .forEach(path -> Optional.ofNullable(this.archives.remove(path))
+                                                    .ifPresent(Archive::close));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.internal.commons.string.SimpleFormat;
+
+/**
+ * Reader for the compiled binary snapshot format written by BinaryWriter.
+ * Works directly over the given buffer (heap or memory mapped) without copying it, the header and checksum are validated on construction
+ * and entries are decoded only when requested, either streaming them or looking up a single key through the sorted index.
+ * @author afarre
+ * @see BinaryWriter
+ */
+public class BinaryReader {
+
+    protected static final String CORRUPTED="Corrupted binary configuration: {}";
+
+    private final ByteBuffer buffer;
+    private final int entries;
+    private final int dataStart;
+
+
+    /**
+     * Validates the given buffer header and checksum
+     * @param _buffer buffer with the full binary snapshot from its current position
+     * @throws UncheckedIOException if the buffer is not a valid binary snapshot
+     */
+    public BinaryReader(final ByteBuffer _buffer) {
+        this.buffer=_buffer.slice();
+        if(this.buffer.remaining()<BinaryWriter.HEADER_LENGTH)
+            throw corrupted("truncated header");
+        if(this.buffer.getInt(0)!=BinaryWriter.MAGIC)
+            throw corrupted("unknown magic number");
+        if(this.buffer.getInt(4)!=BinaryWriter.VERSION)
+            throw corrupted("unsupported version "+this.buffer.getInt(4));
+        this.entries=this.buffer.getInt(8);
+        final int dataLength=this.buffer.getInt(12);
+        final long expected=this.buffer.getLong(16);
+        if((this.entries<0)||(dataLength<0)||((long)this.entries*4+dataLength!=this.buffer.remaining()-BinaryWriter.HEADER_LENGTH))
+            throw corrupted("unexpected length");
+        this.dataStart=BinaryWriter.HEADER_LENGTH+this.entries*4;
+        final ByteBuffer body=this.buffer.duplicate();
+        body.position(BinaryWriter.HEADER_LENGTH);
+        final CRC32 checksum=new CRC32();
+        checksum.update(body);
+        if(checksum.getValue()!=expected)
+            throw corrupted("checksum mismatch");
+    }
+
+    private static UncheckedIOException corrupted(final String _reason){
+        return new UncheckedIOException(new IOException(SimpleFormat.format(CORRUPTED, _reason)));
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size(){
+        return this.entries;
+    }
+
+    private int entryOffset(final int _index){
+        return this.dataStart+this.buffer.getInt(BinaryWriter.HEADER_LENGTH+_index*4);
+    }
+    private String readString(final int _offset){
+        final int length=this.buffer.getInt(_offset);
+        if(length==BinaryWriter.NULL_LENGTH)
+            return null;
+        if(this.buffer.hasArray())
+            return new String(this.buffer.array(), this.buffer.arrayOffset()+_offset+4, length, StandardCharsets.UTF_8);
+        final byte[] bytes=new byte[length];
+        final ByteBuffer source=this.buffer.duplicate();
+        source.position(_offset+4);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    private String readKey(final int _index){
+        return readString(entryOffset(_index));
+    }
+    private Config readConfig(final int _index){
+        final int offset=entryOffset(_index);
+        final String key=readString(offset);
+        final int keyLength=this.buffer.getInt(offset);
+        return Config.of(key, readString(offset+4+keyLength));
+    }
+
+    /**
+     * Look up a single key through the sorted index decoding only the visited keys
+     * @param _key key to find
+     * @return the configuration or empty if the key does not exist
+     */
+    public Optional<Config> get(final String _key){
+
+        int low=0;
+        int high=this.entries-1;
+        while(low<=high){
+            final int middle=(low+high)>>>1;
+            final int comparison=readKey(middle).compareTo(_key);
+            if(comparison<0){
+                low=middle+1;
+            }else if(comparison>0){
+                high=middle-1;
+            }else{
+                return Optional.of(readConfig(middle));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stream all entries in key order, decoding each one when consumed
+     * @return Stream of configurations sorted by key
+     */
+    public Stream<Config> stream(){
+        return IntStream.range(0, this.entries)
+                            .mapToObj(this::readConfig);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Writer for the compiled binary snapshot format.
+ * Layout (big endian):
+ * <pre>
+ * header: magic(int) version(int) entries(int) dataLength(int) crc32(long) of index+data
+ * index:  entries x data offset(int) of each entry sorted by key
+ * data:   entries x [keyLength(int) key(UTF-8) valueLength(int, -1 for null) value(UTF-8)]
+ * </pre>
+ * Duplicated keys are merged keeping the last one, as ConfigManager does merging locations.
+ * @author afarre
+ */
+public class BinaryWriter extends FilterOutputStream{
+
+    protected static final int MAGIC=0x43464742;
+    protected static final int VERSION=1;
+    protected static final int HEADER_LENGTH=24;
+    protected static final int NULL_LENGTH=-1;
+
+    /**
+     * Constructor
+     * @param _output parent output stream
+     */
+    public BinaryWriter(final OutputStream _output) {
+        super(_output);
+    }
+
+    /** Byte buffer able to checksum its content without copying it */
+    private static final class ChecksumBuffer extends ByteArrayOutputStream{
+
+        ChecksumBuffer(final int _size){
+            super(_size);
+        }
+
+        void update(final CRC32 _checksum){
+            _checksum.update(this.buf, 0, this.count);
+        }
+    }
+
+    private static void writeString(final DataOutputStream _output,final String _value) throws IOException{
+        if(_value==null){
+            _output.writeInt(NULL_LENGTH);
+        }else{
+            final byte[] bytes=_value.getBytes(StandardCharsets.UTF_8);
+            _output.writeInt(bytes.length);
+            _output.write(bytes);
+        }
+    }
+
+    /**
+     * Write the given configurations as a binary snapshot
+     * @param _config configurations to write
+     * @throws IOException if the underlaying stream fails
+     */
+    public void write(final Stream<Config> _config) throws IOException{
+
+        final Map<String,String> sorted=new TreeMap<>();
+        _config.forEach(config -> sorted.put(config.getKey(), config.getValue()));
+
+        final int[] offsets=new int[sorted.size()];
+        final ChecksumBuffer data=new ChecksumBuffer(sorted.size()*64);
+        try(DataOutputStream dataOutput=new DataOutputStream(data)){
+            int ic1=0;
+            for(Map.Entry<String,String> entry:sorted.entrySet()){
+                offsets[ic1++]=dataOutput.size();
+                writeString(dataOutput, entry.getKey());
+                writeString(dataOutput, entry.getValue());
+            }
+        }
+        final ChecksumBuffer index=new ChecksumBuffer(offsets.length*4);
+        try(DataOutputStream indexOutput=new DataOutputStream(index)){
+            for(int offset:offsets){
+                indexOutput.writeInt(offset);
+            }
+        }
+        final CRC32 checksum=new CRC32();
+        index.update(checksum);
+        data.update(checksum);
+
+        final DataOutputStream output=new DataOutputStream(this.out);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(offsets.length);
+        output.writeInt(data.size());
+        output.writeLong(checksum.getValue());
+        index.writeTo(output);
+        data.writeTo(output);
+        output.flush();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of the resources found with the same name in all the jars and folders of a class loader (ClassLoader.getResources).
+ * Resources are ordered lexicographically by its url, so the override order does not depend on how the class loader enumerates them,
+ * and resolved only once per class loader and name, so reloads do not scan every jar again.
+ * Class loaders are weakly referenced to not retain unloaded plugins, clear() forgets the resolved resources to see new ones
+ * @author afarre
+ */
+public final class ClassResources {
+
+    private static final class Holder{
+        private static final ClassResources DEFAULT=new ClassResources();
+    }
+
+    private final Map<ClassLoader,ConcurrentMap<String,List<URL>>> resources;
+
+
+    /**
+     * Constructor without any resolved resource
+     */
+    public ClassResources(){
+        this.resources=Collections.synchronizedMap(new WeakHashMap<>());
+    }
+
+    /**
+     * @return shared resources cache of the JVM
+     */
+    public static ClassResources get(){
+        return Holder.DEFAULT;
+    }
+
+    private static List<URL> find(final ClassLoader _classLoader,final String _name){
+        try{
+            return Collections.unmodifiableList(Collections.list(_classLoader.getResources(_name))
+                                                                .stream()
+                                                                    .sorted(Comparator.comparing(URL::toExternalForm))
+                                                                    .collect(Collectors.toList()));
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+    /**
+     * Resources with the given name resolved once per class loader
+     * @param _classLoader class loader where find the resources
+     * @param _name resource name
+     * @return urls of all the resources with this name ordered lexicographically, empty if there is not any
+     * @throws UncheckedIOException if the class loader can not enumerate the resources
+     */
+    public List<URL> resources(final ClassLoader _classLoader,final String _name){
+        return this.resources.computeIfAbsent(_classLoader, classLoader -> new ConcurrentHashMap<>())
+                                .computeIfAbsent(_name, name -> find(_classLoader, name));
+    }
+    /**
+     * Fingerprint the content of all resources with the given name (and its urls) in order
+     * @param _classLoader class loader where find the resources
+     * @param _name resource name
+     * @return fingerprint of the resources or LocationFingerprint.MISSING if there is not any
+     * @throws UncheckedIOException if any resource can not be read
+     */
+    public LocationFingerprint fingerprint(final ClassLoader _classLoader,final String _name){
+        final List<URL> urls=resources(_classLoader, _name);
+        if(urls.isEmpty())
+            return LocationFingerprint.MISSING;
+        final Iterator<URL> iterator=urls.iterator();
+        return LocationFingerprint.ofContent(new SequenceInputStream(new Enumeration<InputStream>() {
+                                                    private URL pending=null;
+                                                    @Override
+                                                    public boolean hasMoreElements() {
+                                                        return (pending!=null)||iterator.hasNext();
+                                                    }
+                                                    @Override
+                                                    public InputStream nextElement() {
+                                                        if(pending==null){
+                                                            pending=iterator.next();
+                                                            return new ByteArrayInputStream((pending.toExternalForm()+'\n').getBytes(StandardCharsets.UTF_8));
+                                                        }
+                                                        try{
+                                                            return pending.openStream();
+                                                        }catch(IOException e){
+                                                            throw new UncheckedIOException(e);
+                                                        }finally{
+                                                            pending=null;
+                                                        }
+                                                    }
+                                                }));
+    }
+    /**
+     * @return number of class loaders with resolved resources
+     */
+    public int size(){
+        return this.resources.size();
+    }
+    /**
+     * Forget all the resolved resources, next calls scan the class loaders again
+     */
+    public void clear(){
+        this.resources.clear();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.ConfigIndex;
+import org.bytemechanics.config.manager.exceptions.UnresolvableConfigValue;
+
+/**
+ * Placeholder resolver of a merged configuration.
+ * Templates are resolved lazily following its references through the merged index, each key is resolved only once per interpolation
+ * (memoized) and the keys being resolved are tracked so circular references fail instead of recursing forever
+ * @see ConfigTemplate
+ * @author afarre
+ */
+public final class ConfigInterpolator {
+
+    private final ConfigIndex merged;
+    private final Function<String,String> environment;
+    private final Map<String,String> resolved;
+    private final Set<String> resolving;
+
+
+    private ConfigInterpolator(final ConfigIndex _merged,final Function<String,String> _environment){
+        this.merged=_merged;
+        this.environment=_environment;
+        this.resolved=new HashMap<>();
+        this.resolving=new LinkedHashSet<>();
+    }
+
+    /**
+     * Resolve the templates of the merged configuration
+     * @param _merged merged configuration with templates
+     * @param _environment environment variables (null if not exist)
+     * @return new index with the resolved values or the same index if it has no templates
+     * @throws UnresolvableConfigValue if any reference without default does not exist or the references are circular
+     */
+    public static ConfigIndex interpolate(final ConfigIndex _merged,final Function<String,String> _environment){
+        final ConfigInterpolator interpolator=new ConfigInterpolator(_merged, _environment);
+        return ConfigIndex.of(_merged.stream()
+                                        .map(config -> (config instanceof ConfigTemplate)? Config.of(config.getKey(), interpolator.resolve((ConfigTemplate)config)) : config));
+    }
+
+    private String value(final String _key){
+        return this.merged.get(_key)
+                            .map(config -> (config instanceof ConfigTemplate)? resolve((ConfigTemplate)config) : config.getValue())
+                            .orElse(null);
+    }
+    private String resolve(final ConfigTemplate _template){
+
+        final String key=_template.getKey();
+        String reply=this.resolved.get(key);
+        if(reply==null){
+            if(!this.resolving.add(key))
+                throw new UnresolvableConfigValue(key, _template.getValue(), "circular reference "+String.join(" -> ", this.resolving)+" -> "+key);
+            try{
+                reply=_template.resolve(this::value, this.environment);
+            }finally{
+                this.resolving.remove(key);
+            }
+            this.resolved.put(key, reply);
+        }
+        return reply;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.Arrays;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Configuration with its key split once in hierarchical segments, names separated by dots and list indexes between brackets
+ * (data.person[1].name is [data, person, [1], name]).
+ * Segments are kept as offsets over the original key so comparing does not allocate, indexes compare numerically
+ * (a[2] before a[10], and a[1] before a[01] as they are different keys), indexes before names and parents before its children,
+ * the order a hierarchical writer needs.
+ * @author afarre
+ */
+public final class ConfigKey implements Comparable<ConfigKey>{
+
+    private static final int NAME=-1;
+
+    private final Config config;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] indexes;
+    private final int size;
+
+
+    /**
+     * Constructor splitting the configuration key
+     * @param _config configuration
+     * @throws NullPointerException if the given configuration is null
+     */
+    public ConfigKey(final Config _config) {
+        this.config=_config;
+        final String key=_config.getKey();
+        int[] startSegments=new int[4];
+        int[] endSegments=new int[4];
+        int[] indexSegments=new int[4];
+        int segments=0;
+        for(int from=segmentStart(key, 0);from<key.length();from=segmentStart(key, endSegments[segments-1])){
+            if(segments==startSegments.length){
+                startSegments=Arrays.copyOf(startSegments, segments*2);
+                endSegments=Arrays.copyOf(endSegments, segments*2);
+                indexSegments=Arrays.copyOf(indexSegments, segments*2);
+            }
+            final int end=segmentEnd(key, from);
+            startSegments[segments]=from;
+            endSegments[segments]=end;
+            indexSegments[segments]=parseIndex(key, from, end);
+            segments++;
+        }
+        this.starts=startSegments;
+        this.ends=endSegments;
+        this.indexes=indexSegments;
+        this.size=segments;
+    }
+
+    /**
+     * Start of the segment following the given position, skipping dot separators
+     * @param _key key to scan
+     * @param _from previous segment end (or 0 for the first segment)
+     * @return segment start or the key length if there are no more segments
+     */
+    public static int segmentStart(final String _key,final int _from){
+        int reply=_from;
+        while((reply<_key.length())&&(_key.charAt(reply)=='.'))
+            reply++;
+        return reply;
+    }
+    /**
+     * End (exclusive) of the segment starting at the given position, a name ends before the next dot or bracket and
+     * an index after its closing bracket
+     * @param _key key to scan
+     * @param _from segment start
+     * @return segment end
+     */
+    public static int segmentEnd(final String _key,final int _from){
+        if(_key.charAt(_from)=='['){
+            final int close=_key.indexOf(']', _from+1);
+            if(close>0)
+                return close+1;
+        }
+        int reply=_from+1;
+        while((reply<_key.length())&&(_key.charAt(reply)!='.')&&(_key.charAt(reply)!='['))
+            reply++;
+        return reply;
+    }
+
+    private static int parseIndex(final String _key,final int _from,final int _to){
+        if((_to-_from<3)||(_key.charAt(_from)!='[')||(_key.charAt(_to-1)!=']'))
+            return NAME;
+        int reply=0;
+        for(int ic1=_from+1;ic1<_to-1;ic1++){
+            final char current=_key.charAt(ic1);
+            if((current<'0')||(current>'9')||(reply>(Integer.MAX_VALUE-9)/10))
+                return NAME;
+            reply=reply*10+(current-'0');
+        }
+        return reply;
+    }
+
+
+    public Config getConfig() {
+        return config;
+    }
+    public String getKey() {
+        return config.getKey();
+    }
+    public String getValue() {
+        return config.getValue();
+    }
+    /**
+     * @return number of segments of the key
+     */
+    public int size() {
+        return size;
+    }
+    /**
+     * @param _segment segment position
+     * @return true if the segment is a list index
+     */
+    public boolean isIndex(final int _segment) {
+        return indexes[_segment]!=NAME;
+    }
+    /**
+     * @param _segment segment position
+     * @return segment start offset in the key
+     */
+    public int start(final int _segment) {
+        return starts[_segment];
+    }
+    /**
+     * @param _segment segment position
+     * @return segment end offset (exclusive) in the key
+     */
+    public int end(final int _segment) {
+        return ends[_segment];
+    }
+    /**
+     * @param _segment segment position
+     * @return segment text, list indexes without brackets
+     */
+    public String segment(final int _segment) {
+        return (isIndex(_segment))? String.valueOf(indexes[_segment]) : getKey().substring(starts[_segment], ends[_segment]);
+    }
+
+    private int compareSegment(final ConfigKey _other,final int _segment){
+        final boolean index=isIndex(_segment);
+        if(index!=_other.isIndex(_segment))
+            return (index)? -1 : 1;
+        if(index){
+            final int reply=Integer.compare(this.indexes[_segment], _other.indexes[_segment]);
+            if(reply!=0)
+                return reply;
+            //Same index written differently (a[1] and a[01]) are different keys, the shortest first
+            final int length=Integer.compare(this.ends[_segment]-this.starts[_segment], _other.ends[_segment]-_other.starts[_segment]);
+            if(length!=0)
+                return length;
+        }
+        final String key=getKey();
+        final String otherKey=_other.getKey();
+        int position=this.starts[_segment];
+        int otherPosition=_other.starts[_segment];
+        final int end=this.ends[_segment];
+        final int otherEnd=_other.ends[_segment];
+        while((position<end)&&(otherPosition<otherEnd)){
+            final int reply=Character.compare(key.charAt(position++), otherKey.charAt(otherPosition++));
+            if(reply!=0)
+                return reply;
+        }
+        return Integer.compare(end-this.starts[_segment], otherEnd-_other.starts[_segment]);
+    }
+    /**
+     * Number of leading segments equal in both keys
+     * @param _other key to compare with (can be null)
+     * @return equal leading segments, 0 if the other key is null
+     */
+    public int commonSegments(final ConfigKey _other){
+        if(_other==null)
+            return 0;
+        final int limit=Math.min(this.size, _other.size);
+        int reply=0;
+        while((reply<limit)&&(compareSegment(_other, reply)==0))
+            reply++;
+        return reply;
+    }
+
+    /** @see Comparable#compareTo(java.lang.Object) */
+    @Override
+    public int compareTo(final ConfigKey _other) {
+        final int limit=Math.min(this.size, _other.size);
+        for(int ic1=0;ic1<limit;ic1++){
+            final int reply=compareSegment(_other, ic1);
+            if(reply!=0)
+                return reply;
+        }
+        return Integer.compare(this.size, _other.size);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigKey{" + "config=" + config + ", segments=" + size + '}';
+    }
+}
@@ -16,9 +16,19 @@
 package org.bytemechanics.config.manager.internal;
 
 import org.bytemechanics.config.manager.Config;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Optional;
 import java.util.stream.Stream;
+import org.bytemechanics.config.manager.internal.commons.functional.LambdaUnchecker;
 
 /**
  *
@@ -28,4 +38,49 @@ public interface ConfigParser {
     
     public Stream<Config> read(Reader _reader);
     public void write(Writer _writer, Stream<Config> _config);
+
+    /**
+     * Open the location with its provider and read it, by default decodes it as character stream with read(Reader).
+     * The returned stream closes the location when closed
+     * @param _location resolved location to read
+     * @return stream of configurations or empty if the location does not exist
+     */
+    public default Optional<Stream<Config>> read(final ResolvedLocation _location){
+        return _location.getProvider()
+                            .openReader(_location)
+                                .map(reader -> read(reader)
+                                                    .onClose(LambdaUnchecker.uncheckedRunnable(reader::close)));
+    }
+    /**
+     * Read an already open content, by default decodes it with the given charset as character stream with read(Reader).
+     * The returned stream does not close the input
+     * @param _input content to read
+     * @param _charset charset to decode text formats
+     * @return stream of configurations
+     */
+    public default Stream<Config> read(final InputStream _input,final Charset _charset){
+        return read(new InputStreamReader(_input,_charset));
+    }
+    /**
+     * Write the configuration to the given location output stream, by default encodes it with the location charset as character stream with write(Writer,Stream)
+     * @param _location resolved location where write
+     * @param _output output stream where write (not closed)
+     * @param _config configuration to write
+     * @throws UncheckedIOException if the output stream fails
+     */
+    public default void write(final ResolvedLocation _location,final OutputStream _output,final Stream<Config> _config){
+        //Parsers may close the given writer, the output stream belongs to the caller so closing only flushes the encoded content
+        final Writer writer=new FilterWriter(new OutputStreamWriter(_output,_location.getCharset())){
+                                    @Override
+                                    public void close() throws IOException {
+                                        flush();
+                                    }
+                                };
+        write(writer,_config);
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
@@ -16,18 +16,23 @@
 package org.bytemechanics.config.manager.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.bytemechanics.config.manager.Config;
 import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationFormat;
-import org.bytemechanics.config.manager.internal.commons.io.YAMLPropertyReader;
-import org.bytemechanics.config.manager.internal.commons.io.YAMLPropertyWriter;
 
 /**
  *
@@ -38,43 +43,69 @@ public enum ConfigParserFactory implements ConfigParser{
     PROPERTIES(".properties"){
         @Override
         public Stream<Config> read(Reader _reader) {
-            
-            try {
-                final Properties properties=new Properties();
-                properties.load(_reader);
-                return properties.entrySet()
-                                    .stream()
-                                        .map(entry -> Config.of((String)entry.getKey(),(String)entry.getValue()));
-            } catch (IOException ex) {
-                throw new UncheckedIOException(ex);
-            }
+            return new PropertiesReader(_reader)
+                        .stream();
         }
 
         @Override
         public void write(Writer _writer, Stream<Config> _config) {
-            try {
-                ((Properties)_config.collect(Collectors.toMap(Config::getKey, Config::getValue, (a,b) -> b,Properties::new)))
-                        .store(_writer, "");
-            } catch (IOException ex) {
-                throw new UncheckedIOException(ex);
-            }        
+            new PropertiesWriter(_writer)
+                        .write(_config);
+        }
+
+        @Override
+        public void write(final ResolvedLocation _location,final OutputStream _output,final Stream<Config> _config) {
+            final Charset charset=_location.getCharset();
+            new PropertiesWriter(new OutputStreamWriter(_output,charset)
+                                    ,_location.isSorted()
+                                    ,StandardCharsets.ISO_8859_1.equals(charset)||StandardCharsets.US_ASCII.equals(charset))
+                        .write(_config);
         }
     },
     YAML(".yaml",".yml"){
         @Override
         public Stream<Config> read(Reader _reader) {
-            return new YAMLPropertyReader(_reader)
-                        .stream()
-                            .map(property -> Config.of(property.getKey(),property.getValue()));
+            return new YAMLReader(_reader)
+                        .stream();
         }
 
         @Override
         public void write(Writer _writer, Stream<Config> _config) {
-            try(YAMLPropertyWriter writer=new YAMLPropertyWriter(_writer)){
-                Stream<YAMLPropertyWriter.Property> properties=_config
-                                                                    .sorted()
-                                                                    .map(config -> new YAMLPropertyWriter.Property(config.getKey(),config.getValue()));
-                writer.write(properties);
+            new YAMLWriter(_writer)
+                        .write(_config);
+        }
+    },
+    BINARY(".cfgbin"){
+        @Override
+        public Stream<Config> read(Reader _reader) {
+            throw new UnsupportedOperationException("Binary configuration can not be read from a character stream");
+        }
+        @Override
+        public void write(Writer _writer, Stream<Config> _config) {
+            throw new UnsupportedOperationException("Binary configuration can not be written to a character stream");
+        }
+
+        @Override
+        public Optional<Stream<Config>> read(final ResolvedLocation _location) {
+            return _location.getProvider()
+                                .openBuffer(_location)
+                                    .map(BinaryReader::new)
+                                    .map(BinaryReader::stream);
+        }
+        @Override
+        public Stream<Config> read(final InputStream _input,final Charset _charset) {
+            try {
+                return new BinaryReader(ByteBuffer.wrap(InputStreams.readAll(_input)))
+                                .stream();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        @Override
+        public void write(final ResolvedLocation _location,final OutputStream _output,final Stream<Config> _config) {
+            try {
+                new BinaryWriter(_output)
+                        .write(_config);
             } catch (IOException ex) {
                 throw new UncheckedIOException(ex);
             }
@@ -82,6 +113,18 @@ public enum ConfigParserFactory implements ConfigParser{
     },
     ;
 
+    /** Location query parameter to write sorted by key (sorted or sorted=true) when the format supports both modes */
+    public static final String SORTED_PARAMETER="sorted";
+
+    private static final SuffixIndex<ConfigParserFactory> BY_SUFFIX=SuffixIndex.of(Stream.of(ConfigParserFactory.values())
+                                                                                            .flatMap(parser -> Stream.of(parser.suffixes)
+                                                                                                                        .map(suffix -> new AbstractMap.SimpleImmutableEntry<>(suffix,parser)))
+                                                                                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    private static final String VALID_FORMATS=Stream.of(ConfigParserFactory.values())
+                                                        .map(ConfigParserFactory::getSuffixes)
+                                                        .flatMap(Stream::of)
+                                                        .collect(Collectors.joining(", ", "[","]"));
+
     private final String[] suffixes;
     
 
@@ -90,38 +133,68 @@ public enum ConfigParserFactory implements ConfigParser{
     }
 
     public String[] getSuffixes() {
-        return suffixes;
+        return suffixes.clone();
     }
     public boolean canRead(final String _path){
-        return Stream.of(this.suffixes)
-                        .filter(suffix -> _path.toLowerCase().endsWith(suffix))
-                        .map(suffix -> true)
-                        .findAny()
-                            .orElse(false);
+        for(String suffix:this.suffixes){
+            if(_path.regionMatches(true, _path.length()-suffix.length(), suffix, 0, suffix.length()))
+                return true;
+        }
+        return false;
     }
     
     
+    /**
+     * Sorted output is used if the location has the query parameter sorted (sorted or sorted=true)
+     * @param _location location to check
+     * @return true if the location must be written sorted by key
+     */
+    public static final boolean isSorted(final URI _location){
+        return URIUtils.getQueryParameter(_location, SORTED_PARAMETER)
+                        .map(value -> value.isEmpty()||Boolean.parseBoolean(value))
+                        .orElse(false);
+    }
+    
     public static final String validFormats(){
-        return Stream.of(ConfigParserFactory.values())
-                        .map(ConfigParserFactory::getSuffixes)
-                        .flatMap(Stream::of)
-                        .collect(Collectors.joining(", ", "[","]"));
+        return VALID_FORMATS;
     }
+    /**
+     * Resolve the parser through the precomputed suffix index matching the location host and path (without concatenating them)
+     * @param _location location to resolve
+     * @return parser for the location format
+     * @throws UnsupportedConfigLocationFormat if no parser supports the location suffix
+     * @throws NullPointerException if the location is null
+     */
     public static final ConfigParser valueOf(final URI _location) {
         
-        final String path=URIUtils.getHostAndPath(_location);
-        return Stream.of(ConfigParserFactory.values())
-                        .filter(configReader -> configReader.canRead(path))
-                        .findFirst()
-                            .orElseThrow(() -> new UnsupportedConfigLocationFormat(_location, validFormats()));
+        final ConfigParserFactory reply=BY_SUFFIX.get(_location.getHost(),_location.getPath());
+        if(reply==null)
+            throw new UnsupportedConfigLocationFormat(_location, validFormats());
+        return reply;
     }
     
+    /**
+     * Read the given character stream with the parser of the location format
+     * @param _reader reader to parse
+     * @param _location location to discern the format
+     * @return stream of configurations or empty if the location is null
+     * @throws UnsupportedConfigLocationFormat if no parser supports the location suffix
+     * @throws UnsupportedOperationException if the location format is binary (.cfgbin), use read(InputStream,Charset) instead
+     */
     public static Stream<Config> read(Reader _reader,final URI _location) {
         return Optional.ofNullable(_location)
                         .map(ConfigParserFactory::valueOf)
                         .map(configReader -> configReader.read(_reader))
                         .orElse(Stream.empty());
     }    
+    /**
+     * Write the configurations to the given character stream with the parser of the location format
+     * @param _writer writer to write to
+     * @param _location location to discern the format (nothing is written if null)
+     * @param _config configurations to write
+     * @throws UnsupportedConfigLocationFormat if no parser supports the location suffix
+     * @throws UnsupportedOperationException if the location format is binary (.cfgbin), use write(ResolvedLocation,OutputStream,Stream) instead
+     */
     public static void write(Writer _writer,final URI _location, Stream<Config> _config) {
         Optional.ofNullable(_location)
                 .map(ConfigParserFactory::valueOf)
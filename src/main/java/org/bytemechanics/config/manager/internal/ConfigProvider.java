@@ -15,10 +15,18 @@
  */
 package org.bytemechanics.config.manager.internal;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
 
 /**
  *
@@ -27,7 +35,90 @@ import java.util.Optional;
 public interface ConfigProvider {
     
     public Optional<InputStream> openInputStream(final URI _location);
+    /**
+     * Open the location as character stream, by default decodes openInputStream(URI) result
+     * @param _location location to open
+     * @param _charset charset to decode the location
+     * @return reader or empty if the location does not exist
+     */
+    public default Optional<Reader> openReader(final URI _location,final Charset _charset){
+        return openInputStream(_location)
+                    .map(inputStream -> new InputStreamReader(inputStream,_charset));
+    }
+    /**
+     * Read the full location content in a single buffer, by default reads openInputStream(URI) result until its end
+     * @param _location location to read
+     * @return buffer positioned at the content start or empty if the location does not exist
+     * @throws UncheckedIOException if the location can not be read
+     */
+    public default Optional<ByteBuffer> openBuffer(final URI _location){
+        return openInputStream(_location)
+                    .map(inputStream -> {
+                        try(InputStream input=inputStream){
+                            return ByteBuffer.wrap(InputStreams.readAll(input));
+                        }catch(IOException ex){
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+    }
     public default Optional<OutputStream> openOutputStream(final URI _location){
         throw new UnsupportedOperationException("Write operation is not supported for location "+_location);
     }
+
+    /**
+     * Open the resolved location as character stream, by default decodes openInputStream(URI) result counted by the location
+     * @param _location resolved location to open
+     * @return reader or empty if the location does not exist
+     * @see ResolvedLocation#count(java.io.InputStream) 
+     */
+    public default Optional<Reader> openReader(final ResolvedLocation _location){
+        return openInputStream(_location.getUri())
+                    .map(_location::count)
+                    .map(inputStream -> new InputStreamReader(inputStream,_location.getCharset()));
+    }
+    /**
+     * Read the full resolved location content in a single buffer, by default delegates to openBuffer(URI) counted by the location
+     * @param _location resolved location to read
+     * @return buffer positioned at the content start or empty if the location does not exist
+     * @see ResolvedLocation#count(java.nio.ByteBuffer) 
+     */
+    public default Optional<ByteBuffer> openBuffer(final ResolvedLocation _location){
+        return openBuffer(_location.getUri())
+                    .map(_location::count);
+    }
+    /**
+     * Open the resolved location to write, by default delegates to openOutputStream(URI)
+     * @param _location resolved location to write
+     * @return output stream or empty if it can not be created
+     */
+    public default Optional<OutputStream> openOutputStream(final ResolvedLocation _location){
+        return openOutputStream(_location.getUri());
+    }
+    /**
+     * Read the configurations of locations that are not a formatted content (as environment variables),
+     * by default empty so the location content is parsed by the parser of its format.
+     * Implementations count their consumed content through the location
+     * @param _location resolved location to read
+     * @return stream of configurations or empty if the location must be parsed
+     */
+    public default Optional<Stream<Config>> read(final ResolvedLocation _location){
+        return Optional.empty();
+    }
+    /**
+     * Fingerprint the resolved location content to detect changes without parsing it, by default digests openInputStream(URI) content
+     * @param _location resolved location to fingerprint
+     * @return fingerprint or LocationFingerprint.MISSING if the location does not exist
+     * @throws UncheckedIOException if the location can not be read
+     */
+    public default LocationFingerprint fingerprint(final ResolvedLocation _location){
+        return openInputStream(_location.getUri())
+                    .map(LocationFingerprint::ofContent)
+                    .orElse(LocationFingerprint.MISSING);
+    }
+    /**
+     * Release the shared resources kept open for the resolved location (as the archive handles of zip://), by default nothing
+     * @param _location resolved location no longer used
+     */
+    public default void release(final ResolvedLocation _location){
+    }
 }
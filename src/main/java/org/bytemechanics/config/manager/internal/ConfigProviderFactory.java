@@ -21,18 +21,29 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
 import org.bytemechanics.config.manager.exceptions.UnreadableConfigLocation;
 import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationScheme;
 import org.bytemechanics.config.manager.exceptions.UnwritableConfigLocation;
@@ -52,6 +63,37 @@ public enum ConfigProviderFactory implements ConfigProvider{
                             .map(Thread.currentThread().getContextClassLoader()::getResourceAsStream);
         }
     },
+    CLASSPATH_ALL{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return Optional.empty();
+        }
+        private List<Config> read(final URL _resource,final ResolvedLocation _location,final ConfigParser _parser){
+            try(InputStream input=_location.count(_resource.openStream());
+                    Stream<Config> configs=_parser.read(input,_location.getCharset())){
+                return configs.collect(Collectors.toList());
+            } catch (IOException ex) {
+                throw new UnreadableConfigLocation("Unable to read "+_resource+" resource",ex);
+            }
+        }
+        /**
+         * Read all the resources with the location name of the context class loader (in all its jars and folders)
+         * in lexicographic url order, the same result as listing each one as its own location
+         * @see ClassResources
+         */
+        @Override
+        public Optional<Stream<Config>> read(final ResolvedLocation _location) {
+            final ConfigParser parser=_location.getParser();
+            return Optional.of(ClassResources.get()
+                                                .resources(Thread.currentThread().getContextClassLoader(), _location.getPath())
+                                                    .stream()
+                                                        .flatMap(resource -> read(resource,_location,parser).stream()));
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return ClassResources.get().fingerprint(Thread.currentThread().getContextClassLoader(), _location.getPath());
+        }
+    },
     FILE{
         private InputStream openInputStream(final Path _path){
             
@@ -71,6 +113,44 @@ public enum ConfigProviderFactory implements ConfigProvider{
                             .filter(Files::exists)
                             .map(this::openInputStream);        
         }
+        private Reader openMappedReader(final Path _path,final Charset _charset,final UnaryOperator<ByteBuffer> _count){
+            
+            try {
+                if(Files.isDirectory(_path))
+                    throw new UnreadableConfigLocation("File "+_path+" is an existent folder",null);
+                return new MappedFileReader(_count.apply(MappedFileReader.map(_path)),_charset);
+            } catch (IOException ex) {
+                throw new UnreadableConfigLocation("Unable to map "+_path+" file",ex);
+            }
+        }
+        @Override
+        public Optional<Reader> openReader(final URI _location,final Charset _charset) {
+            if(!isMapped(_location))
+                return super.openReader(_location, _charset);
+            return Optional.ofNullable(_location)
+                            .map(URIUtils::getHostAndPath)
+                            .map(Paths::get)
+                            .filter(Files::exists)
+                            .map(path -> openMappedReader(path,_charset,UnaryOperator.identity()));        
+        }
+        private ByteBuffer readBuffer(final Path _path,final boolean _mapped){
+            
+            try {
+                if(Files.isDirectory(_path))
+                    throw new UnreadableConfigLocation("File "+_path+" is an existent folder",null);
+                return (_mapped)? MappedFileReader.map(_path) : ByteBuffer.wrap(Files.readAllBytes(_path));
+            } catch (IOException ex) {
+                throw new UnreadableConfigLocation("Unable to read "+_path+" file",ex);
+            }
+        }
+        @Override
+        public Optional<ByteBuffer> openBuffer(final URI _location) {
+            return Optional.ofNullable(_location)
+                            .map(URIUtils::getHostAndPath)
+                            .map(Paths::get)
+                            .filter(Files::exists)
+                            .map(path -> readBuffer(path,isMapped(_location)));        
+        }
         private Path createFolders(final Path _path){
             
             try {
@@ -101,9 +181,166 @@ public enum ConfigProviderFactory implements ConfigProvider{
                             .map(this::createFolders)
                             .map(this::openOutputStream);        
        }
+        @Override
+        public Optional<Reader> openReader(final ResolvedLocation _location) {
+            final Path path=Paths.get(_location.getPath());
+            if(!Files.exists(path))
+                return Optional.empty();
+            return Optional.of((_location.isMapped())? openMappedReader(path,_location.getCharset(),_location::count) : new InputStreamReader(_location.count(openInputStream(path)),_location.getCharset()));
+        }
+        @Override
+        public Optional<ByteBuffer> openBuffer(final ResolvedLocation _location) {
+            final Path path=Paths.get(_location.getPath());
+            if(!Files.exists(path))
+                return Optional.empty();
+            return Optional.of(_location.count(readBuffer(path,_location.isMapped())));
+        }
+        @Override
+        public Optional<OutputStream> openOutputStream(final ResolvedLocation _location) {
+            if(_location.isGlob())
+                throw new UnwritableConfigLocation("File "+_location.getPath()+" is a glob",null);
+            return Optional.of(openOutputStream(createFolders(Paths.get(_location.getPath()))));
+        }
+        private ResolvedLocation fragment(final ResolvedLocation _glob,final Path _file){
+            final String path=_file.toString().replace('\\', '/');
+            final int authorityEnd=path.indexOf('/');
+            try {
+                return _glob.countingFragment(new ResolvedLocation(new URI(_glob.getUri().getScheme()
+                                                        ,(authorityEnd<0)? path : path.substring(0, authorityEnd)
+                                                        ,(authorityEnd<0)? "" : path.substring(authorityEnd)
+                                                        ,_glob.getUri().getQuery()
+                                                        ,null)
+                                            ,_glob.getCharset()));
+            } catch (URISyntaxException ex) {
+                throw new UnreadableConfigLocation("Unable to locate "+_file+" file of glob "+_glob.getPath(),ex);
+            }
+        }
+        private List<Config> readFragment(final ResolvedLocation _fragment){
+            try(Stream<Config> configs=_fragment.read()){
+                return configs.collect(Collectors.toList());
+            }
+        }
+        /**
+         * Glob locations (file:///etc/app/conf.d/*.yml) read every matching file in parallel and concatenate them in lexicographic order,
+         * the same result as listing each file as its own location
+         * @see FileGlob
+         */
+        @Override
+        public Optional<Stream<Config>> read(final ResolvedLocation _location) {
+            if(!_location.isGlob())
+                return Optional.empty();
+            try{
+                return Optional.of(_location.getGlob().matches()
+                                            .parallelStream()
+                                                .map(file -> fragment(_location, file))
+                                                .map(this::readFragment)
+                                                .collect(Collectors.toList())
+                                            .stream()
+                                                .flatMap(List::stream));
+            }catch(UncheckedIOException ex){
+                throw new UnreadableConfigLocation("Unable to expand "+_location.getPath()+" glob",ex);
+            }
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            if(_location.isGlob())
+                return _location.getGlob().fingerprint();
+            return LocationFingerprint.ofFile(Paths.get(_location.getPath()));
+        }
+    },
+    ENV{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return Optional.empty();
+        }
+        @Override
+        public Optional<Stream<Config>> read(final ResolvedLocation _location) {
+            return Optional.of(_location.count(EnvironmentVariables.get().stream(_location.getUri().getAuthority())));
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return EnvironmentVariables.get().getFingerprint();
+        }
+    },
+    HTTP{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return HttpCache.get().open(_location);
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return HttpCache.get().fingerprint(_location.getUri());
+        }
+    },
+    HTTPS{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return HTTP.openInputStream(_location);
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return HTTP.fingerprint(_location);
+        }
+    },
+    ZIP{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return ArchiveFiles.get().openInputStream(URIUtils.getHostAndPath(_location));
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return ArchiveFiles.get().fingerprint(_location.getPath());
+        }
+        @Override
+        public void release(final ResolvedLocation _location) {
+            if(_location.getPath().contains(ArchiveFiles.ENTRY_SEPARATOR))
+                ArchiveFiles.get().close(ArchiveFiles.archive(_location.getPath()));
+        }
+    },
+    JAR{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return ZIP.openInputStream(_location);
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return ZIP.fingerprint(_location);
+        }
+        @Override
+        public void release(final ResolvedLocation _location) {
+            ZIP.release(_location);
+        }
+    },
+    SYSTEM{
+        @Override
+        public Optional<InputStream> openInputStream(final URI _location) {
+            return Optional.empty();
+        }
+        @Override
+        public Optional<Stream<Config>> read(final ResolvedLocation _location) {
+            return Optional.of(_location.count(_location.unpopulated(SystemProperties.snapshot(_location.getUri().getAuthority())).stream()));
+        }
+        @Override
+        public LocationFingerprint fingerprint(final ResolvedLocation _location) {
+            return LocationFingerprint.ofConfigs(_location.unpopulated(SystemProperties.snapshot(_location.getUri().getAuthority())));
+        }
     },
     ;
 
+    /** System property to enable memory mapped input globally for file locations */
+    public static final String MAPPED_PROPERTY="org.bytemechanics.config.manager.file.mapped";
+    /** Location query parameter to enable (or disable with mapped=false) memory mapped input per location */
+    public static final String MAPPED_PARAMETER="mapped";
+
+    private static final Map<String,ConfigProviderFactory> BY_SCHEME=Collections.unmodifiableMap(Stream.of(ConfigProviderFactory.values())
+                                                                                                        .collect(Collectors.toMap(ConfigProviderFactory::getScheme
+                                                                                                                                    ,configProvider -> configProvider
+                                                                                                                                    ,(configProviderA,configProviderB) -> configProviderA
+                                                                                                                                    ,() -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))));
+    private static final String VALID_SCHEMES=Stream.of(ConfigProviderFactory.values())
+                                                        .map(ConfigProviderFactory::getScheme)
+                                                        .collect(Collectors.joining(", ", "[","]"));
+
     private final Supplier<ConfigProvider> loaderClass;
     
     ConfigProviderFactory(){
@@ -113,35 +350,56 @@ public enum ConfigProviderFactory implements ConfigProvider{
         this.loaderClass=_loaderClass;
     }
     
+    /**
+     * @return uri scheme of this provider, its lower case name with - instead of _ (classpath-all)
+     */
+    public String getScheme(){
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
     @Override
     public Optional<InputStream> openInputStream(URI _location) {
         return this.loaderClass.get()
                                 .openInputStream(_location);
     }
 
+    /**
+     * Memory mapped input is used if the location has the query parameter mapped (mapped or mapped=true) 
+     * or, if the location does not specify it, when the system property MAPPED_PROPERTY is true
+     * @param _location location to check
+     * @return true if the location must be memory mapped
+     */
+    public static final boolean isMapped(final URI _location){
+        return URIUtils.getQueryParameter(_location, MAPPED_PARAMETER)
+                        .map(value -> value.isEmpty()||Boolean.parseBoolean(value))
+                        .orElseGet(() -> Boolean.getBoolean(MAPPED_PROPERTY));
+    }
+
     public static final String validSchemes(){
-        return Stream.of(ConfigProviderFactory.values())
-                        .map(ConfigProviderFactory::name)
-                        .map(String::toLowerCase)
-                        .collect(Collectors.joining(", ", "[","]"));
+        return VALID_SCHEMES;
     }
+    /**
+     * Resolve the provider through the precomputed case insensitive scheme table
+     * @param _location location to resolve
+     * @return provider for the location scheme
+     * @throws UnsupportedConfigLocationScheme if no provider supports the location scheme
+     * @throws NullPointerException if the location is null
+     */
     public static final ConfigProvider valueOf(final URI _location) {
         
         Objects.requireNonNull(_location, "Mandatory _location parameter to determine the correct provider");
         final String scheme=_location.getScheme();
-        return Stream.of(ConfigProviderFactory.values())
-                        .filter(configProvider -> scheme.equalsIgnoreCase(configProvider.name()))
-                        .findFirst()
-                            .orElseThrow(() -> new UnsupportedConfigLocationScheme(_location, validSchemes()));
+        final ConfigProvider reply=(scheme!=null)? BY_SCHEME.get(scheme) : null;
+        if(reply==null)
+            throw new UnsupportedConfigLocationScheme(_location, validSchemes());
+        return reply;
     }
     
     public static final Optional<Reader> openInputStream(final URI _location,final Charset _charset) {
 
         return Optional.ofNullable(_location)
                         .map(ConfigProviderFactory::valueOf)
-                        .flatMap(configProvider -> configProvider.openInputStream(_location))
-                        .map(LambdaUnchecker.uncheckedFunction(inputStream -> 
-                                new InputStreamReader(inputStream,_charset)));
+                        .flatMap(configProvider -> configProvider.openReader(_location,_charset));
     }    
     public static final Optional<Writer> openOutputStream(final URI _location,final Charset _charset) {
 
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * External merge sorter of configurations by segment aware key (ConfigKey order).
+ * Configurations are sorted in memory in chunks of at most chunkSize entries, when the input exceeds one chunk each sorted chunk
+ * is spilled to a temporary run file and the runs are k-way merged lazily while the returned stream is consumed,
+ * so only one chunk plus one entry per run is on the heap. Repeated keys keep the last value in arrival order, as ConfigManager does merging locations.
+ * Temporary run files are removed when the returned stream is closed.
+ * @author afarre
+ */
+public class ConfigSorter {
+
+    /** System property with the maximum entries sorted in memory before spilling to temporary files */
+    public static final String CHUNK_PROPERTY="org.bytemechanics.config.manager.sort.chunk";
+    /** Default maximum entries sorted in memory before spilling to temporary files */
+    public static final int DEFAULT_CHUNK=100_000;
+
+    private static final int NULL_LENGTH=-1;
+    private static final String RUN_PREFIX="config-sort-";
+    private static final String RUN_SUFFIX=".run";
+
+    /**
+     * Sorted run cursor
+     */
+    private static final class Run implements Closeable{
+
+        private final int order;
+        private final DataInputStream input;
+        private ConfigKey current;
+
+        Run(final int _order,final Path _file) throws IOException{
+            this.order=_order;
+            this.input=new DataInputStream(new BufferedInputStream(Files.newInputStream(_file)));
+        }
+        boolean advance() throws IOException{
+            final String key;
+            try{
+                key=readString(this.input);
+            }catch(EOFException e){
+                this.current=null;
+                return false;
+            }
+            this.current=new ConfigKey(Config.of(key, readString(this.input)));
+            return true;
+        }
+        @Override
+        public void close() throws IOException {
+            this.input.close();
+        }
+    }
+    private static final Comparator<Run> RUN_ORDER=Comparator.<Run,ConfigKey>comparing(run -> run.current)
+                                                                .thenComparingInt(run -> run.order);
+
+    private final int chunkSize;
+
+
+    /**
+     * Sorter with the chunk size defined by the system property CHUNK_PROPERTY or DEFAULT_CHUNK if not defined
+     */
+    public ConfigSorter() {
+        this(Integer.getInteger(CHUNK_PROPERTY, DEFAULT_CHUNK));
+    }
+    /**
+     * Sorter with the given chunk size
+     * @param _chunkSize maximum entries sorted in memory before spilling to temporary files
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public ConfigSorter(final int _chunkSize) {
+        if(_chunkSize<1)
+            throw new IllegalArgumentException("Sort chunk size must be positive: "+_chunkSize);
+        this.chunkSize=_chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+
+    private static void writeString(final DataOutputStream _output,final String _value) throws IOException{
+        if(_value==null){
+            _output.writeInt(NULL_LENGTH);
+        }else{
+            final byte[] bytes=_value.getBytes(StandardCharsets.UTF_8);
+            _output.writeInt(bytes.length);
+            _output.write(bytes);
+        }
+    }
+    private static String readString(final DataInputStream _input) throws IOException{
+        final int length=_input.readInt();
+        if(length==NULL_LENGTH)
+            return null;
+        final byte[] bytes=new byte[length];
+        _input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    private static void delete(final List<Path> _files){
+        for(Path file:_files){
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private static void close(final List<Run> _runs,final List<Path> _files){
+        UncheckedIOException failure=null;
+        for(Run run:_runs){
+            try {
+                run.close();
+            } catch (IOException e) {
+                if(failure==null){
+                    failure=new UncheckedIOException(e);
+                }else{
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        delete(_files);
+        if(failure!=null)
+            throw failure;
+    }
+
+    /**
+     * Sort the chunk in place (stable) and remove the repeated keys keeping the last one
+     * @param _chunk chunk to sort
+     * @return the same chunk sorted without repeated keys
+     */
+    private static List<ConfigKey> sortChunk(final List<ConfigKey> _chunk){
+        _chunk.sort(null);
+        int last=-1;
+        for(ConfigKey key:_chunk){
+            if((last>=0)&&(_chunk.get(last).compareTo(key)==0)){
+                _chunk.set(last, key);
+            }else{
+                _chunk.set(++last, key);
+            }
+        }
+        _chunk.subList(last+1, _chunk.size()).clear();
+        return _chunk;
+    }
+    private static Path spill(final List<ConfigKey> _chunk) throws IOException{
+        final Path reply=Files.createTempFile(RUN_PREFIX, RUN_SUFFIX);
+        try(DataOutputStream output=new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(reply)))){
+            for(ConfigKey key:sortChunk(_chunk)){
+                writeString(output, key.getKey());
+                writeString(output, key.getValue());
+            }
+        }catch(IOException e){
+            Files.deleteIfExists(reply);
+            throw e;
+        }
+        return reply;
+    }
+    private static Iterator<ConfigKey> merge(final List<Path> _files,final List<Run> _runs) throws IOException{
+        final PriorityQueue<Run> queue=new PriorityQueue<>(Math.max(1,_files.size()),RUN_ORDER);
+        for(Path file:_files){
+            final Run run=new Run(_runs.size(), file);
+            _runs.add(run);
+            if(run.advance())
+                queue.add(run);
+        }
+        return new Iterator<ConfigKey>() {
+            private ConfigKey poll() throws IOException{
+                final Run run=queue.poll();
+                final ConfigKey reply=run.current;
+                if(run.advance())
+                    queue.add(run);
+                return reply;
+            }
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+            @Override
+            public ConfigKey next() {
+                if(queue.isEmpty())
+                    throw new NoSuchElementException();
+                try{
+                    ConfigKey reply=poll();
+                    while((!queue.isEmpty())&&(queue.peek().current.compareTo(reply)==0)){
+                        reply=poll();
+                    }
+                    return reply;
+                }catch(IOException e){
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Sort the given configurations by segment aware key, spilling sorted runs to temporary files when they exceed the chunk size
+     * @param _config configurations to sort (consumed before returning)
+     * @return stream of sorted configurations without repeated keys, must be closed to release the temporary files
+     * @throws UncheckedIOException if the temporary files can not be written or read
+     */
+    public Stream<ConfigKey> sort(final Stream<Config> _config){
+
+        final List<Path> files=new ArrayList<>();
+        List<ConfigKey> chunk=new ArrayList<>();
+        try{
+            final Iterator<Config> configs=_config.iterator();
+            while(configs.hasNext()){
+                chunk.add(new ConfigKey(configs.next()));
+                if(chunk.size()>=this.chunkSize){
+                    files.add(spill(chunk));
+                    chunk=new ArrayList<>();
+                }
+            }
+            if(files.isEmpty())
+                return sortChunk(chunk).stream();
+            if(!chunk.isEmpty())
+                files.add(spill(chunk));
+            chunk=null;
+            final List<Run> runs=new ArrayList<>(files.size());
+            try{
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merge(files,runs),Spliterator.ORDERED|Spliterator.NONNULL),false)
+                                    .onClose(() -> close(runs,files));
+            }catch(IOException e){
+                close(runs,files);
+                throw e;
+            }
+        }catch(IOException e){
+            delete(files);
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.exceptions.UnresolvableConfigValue;
+
+/**
+ * Configuration whose value has placeholders, compiled once into literal and reference segments.
+ * Supported placeholders are ${other.key}, ${other.key:default}, ${env:VAR} and ${env:VAR:default}, defaults can have placeholders
+ * (${other.key:${env:VAR:default}}), $${ is kept as a literal ${ and an unclosed placeholder is kept literal.
+ * Values without placeholders or escapes are never compiled, compile(Config) returns the same instance
+ * @author afarre
+ */
+public final class ConfigTemplate extends Config{
+
+    public static final String PLACEHOLDER_START="${";
+    public static final char PLACEHOLDER_END='}';
+    public static final char DEFAULT_SEPARATOR=':';
+    public static final String ENVIRONMENT_PREFIX="env:";
+    public static final char ESCAPE='$';
+
+    /**
+     * Reference segment
+     */
+    private static final class Reference{
+
+        private final boolean environment;
+        private final String name;
+        private final String defaultValue;
+        private final ConfigTemplate defaultTemplate;
+
+        Reference(final String _key,final String _placeholder){
+            this.environment=_placeholder.startsWith(ENVIRONMENT_PREFIX);
+            final String reference=(this.environment)? _placeholder.substring(ENVIRONMENT_PREFIX.length()) : _placeholder;
+            final int separator=reference.indexOf(DEFAULT_SEPARATOR);
+            this.name=(separator<0)? reference : reference.substring(0, separator);
+            this.defaultValue=(separator<0)? null : reference.substring(separator+1);
+            final Config compiled=(this.defaultValue==null)? null : compile(Config.of(_key, this.defaultValue));
+            this.defaultTemplate=(compiled instanceof ConfigTemplate)? (ConfigTemplate)compiled : null;
+        }
+
+        String defaultValue(final Function<String,String> _keys,final Function<String,String> _environment){
+            return (this.defaultTemplate!=null)? this.defaultTemplate.resolve(_keys, _environment) : this.defaultValue;
+        }
+
+        @Override
+        public String toString() {
+            return PLACEHOLDER_START+((environment)? ENVIRONMENT_PREFIX : "")+name+((defaultValue==null)? "" : DEFAULT_SEPARATOR+defaultValue)+PLACEHOLDER_END;
+        }
+    }
+
+    private final String[] literals;
+    private final Reference[] references;
+
+
+    private ConfigTemplate(final String _key,final String _value,final List<String> _literals,final List<Reference> _references){
+        super(_key, _value);
+        this.literals=_literals.toArray(new String[_literals.size()]);
+        this.references=_references.toArray(new Reference[_references.size()]);
+    }
+
+    /**
+     * Find the end of the placeholder starting at the given position skipping the placeholders nested in its default
+     * @param _value value to search
+     * @param _start placeholder start position
+     * @return position of the placeholder end or -1 if it is not closed
+     */
+    private static int placeholderEnd(final String _value,final int _start){
+        int depth=0;
+        int ic1=_start;
+        while(ic1<_value.length()){
+            if(_value.startsWith(PLACEHOLDER_START, ic1)){
+                depth++;
+                ic1+=PLACEHOLDER_START.length();
+            }else{
+                if(_value.charAt(ic1)==PLACEHOLDER_END){
+                    depth--;
+                    if(depth==0)
+                        return ic1;
+                }
+                ic1++;
+            }
+        }
+        return -1;
+    }
+    /**
+     * Compile the configuration value if it has placeholders or escapes
+     * @param _config configuration to compile
+     * @return the same configuration if its value has no placeholders or escapes or a template otherwise
+     */
+    public static Config compile(final Config _config){
+
+        final String value=_config.getValue();
+        if((value==null)||(_config instanceof ConfigTemplate))
+            return _config;
+        int start=value.indexOf(PLACEHOLDER_START);
+        if(start<0)
+            return _config;
+        final List<String> literals=new ArrayList<>();
+        final List<Reference> references=new ArrayList<>();
+        final StringBuilder literal=new StringBuilder();
+        boolean escaped=false;
+        int from=0;
+        while(start>=0){
+            if((start>from)&&(value.charAt(start-1)==ESCAPE)){
+                literal.append(value, from, start-1)
+                        .append(PLACEHOLDER_START);
+                from=start+PLACEHOLDER_START.length();
+                escaped=true;
+            }else{
+                final int end=placeholderEnd(value, start);
+                if(end<0)
+                    break;
+                literals.add(literal.append(value, from, start).toString());
+                literal.setLength(0);
+                references.add(new Reference(_config.getKey(), value.substring(start+PLACEHOLDER_START.length(), end)));
+                from=end+1;
+            }
+            start=value.indexOf(PLACEHOLDER_START, from);
+        }
+        if((references.isEmpty())&&(!escaped))
+            return _config;
+        literals.add(literal.append(value, from, value.length()).toString());
+        return new ConfigTemplate(_config.getKey(), value, literals, references);
+    }
+    /**
+     * Compile the configurations with placeholders
+     * @param _configs configurations to compile
+     * @return list with the configurations, the ones with placeholders replaced by its template
+     */
+    public static List<Config> compileAll(final List<Config> _configs){
+        return _configs.stream()
+                        .map(ConfigTemplate::compile)
+                        .collect(Collectors.toList());
+    }
+
+    /**
+     * Resolve the template replacing each reference by its value or its (resolved) default if it does not exist and each escape by a literal ${
+     * @param _keys resolved value of the configuration keys (null if not exist)
+     * @param _environment environment variables (null if not exist)
+     * @return resolved value
+     * @throws UnresolvableConfigValue if a reference without default does not exist
+     */
+    public String resolve(final Function<String,String> _keys,final Function<String,String> _environment){
+
+        final StringBuilder reply=new StringBuilder(getValue().length());
+        reply.append(this.literals[0]);
+        for(int ic1=0;ic1<this.references.length;ic1++){
+            final Reference reference=this.references[ic1];
+            String value=(reference.environment)? _environment.apply(reference.name) : _keys.apply(reference.name);
+            if(value==null)
+                value=reference.defaultValue(_keys, _environment);
+            if(value==null)
+                throw new UnresolvableConfigValue(getKey(), getValue(), "missing reference "+reference);
+            reply.append(value)
+                    .append(this.literals[ic1+1]);
+        }
+        return reply.toString();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Parsers for the typed configuration values, raising IllegalArgumentException (NumberFormatException for numbers) on malformed values.
+ * <ul>
+ * <li>Numbers: decimal with optional sign</li>
+ * <li>Booleans: true/false, yes/no or on/off ignoring case</li>
+ * <li>Durations: ISO-8601 (PT30S) or an integer amount with unit ns, us, ms, s, m, h or d (30s, 500ms), milliseconds without unit</li>
+ * <li>Sizes: integer amount with binary unit b, k/kb/kib, m/mb/mib, g/gb/gib or t/tb/tib ignoring case (512k, 2GB), bytes without unit</li>
+ * </ul>
+ * @author afarre
+ */
+public final class ConfigValues {
+
+    private static final String[] SIZE_UNITS={"b","k","m","g","t"};
+
+    private ConfigValues(){}
+
+
+    private static String required(final String _value){
+        if(_value==null)
+            throw new IllegalArgumentException("Null value");
+        final String reply=_value.trim();
+        if(reply.isEmpty())
+            throw new IllegalArgumentException("Empty value");
+        return reply;
+    }
+    /**
+     * Split position between the leading (optionally signed) digits and the unit
+     */
+    private static int unitStart(final String _value){
+        int reply=((_value.charAt(0)=='-')||(_value.charAt(0)=='+'))? 1 : 0;
+        while((reply<_value.length())&&(Character.isDigit(_value.charAt(reply))))
+            reply++;
+        return reply;
+    }
+
+    public static long parseLong(final String _value){
+        return Long.parseLong(required(_value));
+    }
+    public static boolean parseBoolean(final String _value){
+        final String value=required(_value);
+        if(("true".equalsIgnoreCase(value))||("yes".equalsIgnoreCase(value))||("on".equalsIgnoreCase(value)))
+            return true;
+        if(("false".equalsIgnoreCase(value))||("no".equalsIgnoreCase(value))||("off".equalsIgnoreCase(value)))
+            return false;
+        throw new IllegalArgumentException("Not a boolean: "+value);
+    }
+    public static Duration parseDuration(final String _value){
+        final String value=required(_value);
+        final char first=value.charAt(0);
+        if((first=='P')||(first=='p')||(((first=='-')||(first=='+'))&&(value.length()>1)&&((value.charAt(1)=='P')||(value.charAt(1)=='p')))){
+            try{
+                return Duration.parse(value);
+            }catch(DateTimeParseException e){
+                throw new IllegalArgumentException(e.getMessage(),e);
+            }
+        }
+        final int unitStart=unitStart(value);
+        final long amount=Long.parseLong(value.substring(0, unitStart));
+        final String unit=value.substring(unitStart).trim();
+        final ChronoUnit reply;
+        switch(unit.toLowerCase(Locale.ROOT)){
+            case "ns": reply=ChronoUnit.NANOS; break;
+            case "us": reply=ChronoUnit.MICROS; break;
+            case "": case "ms": reply=ChronoUnit.MILLIS; break;
+            case "s": reply=ChronoUnit.SECONDS; break;
+            case "m": reply=ChronoUnit.MINUTES; break;
+            case "h": reply=ChronoUnit.HOURS; break;
+            case "d": reply=ChronoUnit.DAYS; break;
+            default:
+                throw new IllegalArgumentException("Unknown duration unit: "+unit);
+        }
+        try{
+            return Duration.of(amount, reply);
+        }catch(ArithmeticException e){
+            throw new IllegalArgumentException(e.getMessage(),e);
+        }
+    }
+    public static long parseBytes(final String _value){
+        final String value=required(_value);
+        final int unitStart=unitStart(value);
+        final long amount=Long.parseLong(value.substring(0, unitStart));
+        String unit=value.substring(unitStart).trim().toLowerCase(Locale.ROOT);
+        if((unit.length()==3)&&(unit.endsWith("ib"))){
+            unit=unit.substring(0, 1);
+        }else if((unit.length()==2)&&(unit.charAt(1)=='b')){
+            unit=unit.substring(0, 1);
+        }
+        if(unit.isEmpty())
+            return amount;
+        for(int ic1=0;ic1<SIZE_UNITS.length;ic1++){
+            if(SIZE_UNITS[ic1].equals(unit)){
+                try{
+                    return Math.multiplyExact(amount, 1L<<(10*ic1));
+                }catch(ArithmeticException e){
+                    throw new IllegalArgumentException("Size overflow: "+value,e);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown size unit: "+unit);
+    }
+}
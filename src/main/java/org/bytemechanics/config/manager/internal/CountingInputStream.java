@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Input stream counting the read and skipped bytes
+ * @see ResolvedLocation#counting(java.util.concurrent.atomic.LongAdder) 
+ * @author afarre
+ */
+final class CountingInputStream extends FilterInputStream{
+
+    private final LongAdder counter;
+
+    CountingInputStream(final InputStream _input,final LongAdder _counter){
+        super(_input);
+        this.counter=_counter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int reply=super.read();
+        if(reply>=0)
+            this.counter.increment();
+        return reply;
+    }
+    @Override
+    public int read(final byte[] _buffer,final int _offset,final int _length) throws IOException {
+        final int reply=super.read(_buffer, _offset, _length);
+        if(reply>0)
+            this.counter.add(reply);
+        return reply;
+    }
+    @Override
+    public long skip(final long _length) throws IOException {
+        final long reply=super.skip(_length);
+        this.counter.add(reply);
+        return reply;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Environment variables mapped to configuration keys (MYAPP_DB_POOL_SIZE is myapp.db.pool.size, a double underscore keeps one underscore).
+ * The environment can not change during the JVM life, so the mapping of System.getenv() is computed once on first use and kept sorted by key,
+ * then filtering by prefix is a binary search over the cached configurations
+ * @author afarre
+ */
+public final class EnvironmentVariables {
+
+    private static final class Holder{
+        private static final EnvironmentVariables ENVIRONMENT=new EnvironmentVariables(System.getenv());
+    }
+
+    private final List<Config> configs;
+    private final LocationFingerprint fingerprint;
+
+
+    /**
+     * Map the given variables
+     * @param _variables variables to map
+     */
+    EnvironmentVariables(final Map<String,String> _variables){
+        final List<Config> mapped=new ArrayList<>(_variables.size());
+        _variables.forEach((name,value) -> mapped.add(Config.of(toKey(name), value)));
+        mapped.sort((config1,config2) -> config1.getKey().compareTo(config2.getKey()));
+        this.configs=Collections.unmodifiableList(mapped);
+        this.fingerprint=LocationFingerprint.ofConfigs(this.configs);
+    }
+
+    /**
+     * @return the mapped environment of the running JVM, computed once
+     */
+    public static EnvironmentVariables get(){
+        return Holder.ENVIRONMENT;
+    }
+
+    /**
+     * Map an environment variable name to a configuration key, lower case with underscores replaced by dots and double underscores by a single one
+     * @param _name variable name
+     * @return configuration key
+     */
+    public static String toKey(final String _name){
+        final String lowerCase=_name.toLowerCase(Locale.ROOT);
+        final StringBuilder reply=new StringBuilder(lowerCase.length());
+        for(int ic1=0;ic1<lowerCase.length();ic1++){
+            final char current=lowerCase.charAt(ic1);
+            if(current!='_'){
+                reply.append(current);
+            }else if((ic1+1<lowerCase.length())&&(lowerCase.charAt(ic1+1)=='_')){
+                reply.append('_');
+                ic1++;
+            }else{
+                reply.append('.');
+            }
+        }
+        return reply.toString();
+    }
+
+    /**
+     * @return fingerprint of the mapped variables
+     */
+    public LocationFingerprint getFingerprint() {
+        return fingerprint;
+    }
+    /**
+     * @return number of mapped variables
+     */
+    public int size() {
+        return configs.size();
+    }
+
+    private int lowerBound(final String _key){
+        int low=0;
+        int high=this.configs.size();
+        while(low<high){
+            final int middle=(low+high)>>>1;
+            if(this.configs.get(middle).getKey().compareTo(_key)<0){
+                low=middle+1;
+            }else{
+                high=middle;
+            }
+        }
+        return low;
+    }
+    /**
+     * Stream the mapped variables whose key is under the given prefix (matching whole segments)
+     * @param _prefix key prefix, in key or variable form (myapp.db or MYAPP_DB), null or empty for all the variables
+     * @return Stream of configurations sorted by key
+     */
+    public Stream<Config> stream(final String _prefix){
+        if((_prefix==null)||(_prefix.isEmpty()))
+            return this.configs.stream();
+        final String prefix=toKey(_prefix);
+        final int length=prefix.length();
+        int end=lowerBound(prefix);
+        final int start=end;
+        while((end<this.configs.size())&&(this.configs.get(end).getKey().startsWith(prefix)))
+            end++;
+        return this.configs.subList(start, end)
+                            .stream()
+                            .filter(config -> (config.getKey().length()==length)||(config.getKey().charAt(length)=='.'));
+    }
+
+    @Override
+    public String toString() {
+        return "EnvironmentVariables{" + "size=" + configs.size() + '}';
+    }
+}
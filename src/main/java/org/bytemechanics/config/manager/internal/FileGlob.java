@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Glob of file locations (conf.d/*.yml, conf.d/**.properties, conf.d/{base,prod}.yml).
+ * The glob is split into the folder before its first segment with glob characters and the pattern matched against the file paths
+ * relative to that folder. Matches are the regular files sorted lexicographically by its relative path so the override order is
+ * stable across file systems. The files expanded to fingerprint the glob are kept in this instance until its next read,
+ * so a changed glob is expanded only once per update of the location that owns it
+ * @author afarre
+ */
+public final class FileGlob {
+
+    private static final String GLOB_CHARACTERS="*?[{";
+    private static final String ANY_FOLDER="**";
+
+    private final Path base;
+    private final PathMatcher matcher;
+    private final int depth;
+    private final AtomicReference<List<Path>> expanded;
+
+
+    /**
+     * Compile the given glob
+     * @param _glob glob with the path separated by /
+     * @throws IllegalArgumentException if the path has not any glob character or the pattern is invalid
+     */
+    public FileGlob(final String _glob){
+        final int globStart=globStart(_glob);
+        if(globStart<0)
+            throw new IllegalArgumentException("Path "+_glob+" is not a glob");
+        final int baseEnd=_glob.lastIndexOf('/', globStart);
+        final String pattern=_glob.substring(baseEnd+1);
+        this.base=(baseEnd<0)? Paths.get(".") : Paths.get((baseEnd==0)? "/" : _glob.substring(0, baseEnd));
+        this.matcher=FileSystems.getDefault().getPathMatcher("glob:"+pattern);
+        this.depth=(pattern.contains(ANY_FOLDER))? Integer.MAX_VALUE : pattern.split("/").length;
+        this.expanded=new AtomicReference<>();
+    }
+
+    private static int globStart(final String _path){
+        for(int ic1=0;ic1<_path.length();ic1++){
+            if(GLOB_CHARACTERS.indexOf(_path.charAt(ic1))>=0)
+                return ic1;
+        }
+        return -1;
+    }
+
+    /**
+     * @param _path path to check
+     * @return true if the path has any glob character (*, ?, [ or {)
+     */
+    public static boolean isGlob(final String _path){
+        return (_path!=null)&&(globStart(_path)>=0);
+    }
+
+    /**
+     * @return folder where the glob pattern starts
+     */
+    public Path getBase() {
+        return base;
+    }
+
+    private String relative(final Path _path){
+        return this.base.relativize(_path).toString().replace('\\', '/');
+    }
+    /**
+     * Expand the glob
+     * @return regular files matching the glob sorted lexicographically by its path relative to the base folder or empty if the base folder does not exist
+     * @throws UncheckedIOException if the base folder can not be walked
+     */
+    public List<Path> expand(){
+        if(!Files.isDirectory(this.base))
+            return Collections.emptyList();
+        try(Stream<Path> files=Files.walk(this.base, this.depth)){
+            return files.filter(Files::isRegularFile)
+                        .filter(path -> this.matcher.matches(this.base.relativize(path)))
+                        .sorted(Comparator.comparing(this::relative))
+                        .collect(Collectors.toList());
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Expand the glob and fingerprint all its files, the expansion is kept for the next matches() call
+     * @return fingerprint of the matching files or LocationFingerprint.MISSING if there is not any
+     * @throws UncheckedIOException if the base folder can not be walked
+     * @see LocationFingerprint#ofFiles(java.util.List) 
+     */
+    public LocationFingerprint fingerprint(){
+        final List<Path> files=expand();
+        this.expanded.set(files);
+        return LocationFingerprint.ofFiles(files);
+    }
+    /**
+     * Files matching the glob, consuming the expansion of the last fingerprint() call if any
+     * @return regular files matching the glob sorted lexicographically
+     * @throws UncheckedIOException if the base folder can not be walked
+     */
+    public List<Path> matches(){
+        final List<Path> reply=this.expanded.getAndSet(null);
+        return (reply!=null)? reply : expand();
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Conditional http(s) reader with a last known good copy on local disk.
+ * Each fetch sends the ETag (If-None-Match) and Last-Modified (If-Modified-Since) of the last good response, so an unchanged remote
+ * configuration costs a 304 response without body and keeps the same fingerprint (nothing is parsed again).
+ * Good responses are stored in the cache folder, so after a restart the first request is already conditional and if the server
+ * is down, slow (over the timeout) or failing the last known good copy is served instead.
+ * The cache folder is private to the current user (created owner-only), if it belongs to another user the copies are kept only in memory.
+ * Each copy is a single file replaced atomically, so a crash never leaves a body without its headers.
+ * The content fetched to fingerprint a location is kept until the next open, so a changed location is downloaded only once per update
+ * @author afarre
+ */
+public final class HttpCache {
+
+    /** System property with the folder where keep the last known good copies (default .config-manager/http in the user home) */
+    public static final String CACHE_PROPERTY="org.bytemechanics.config.manager.http.cache";
+    /** System property with the connect and read timeout in milliseconds */
+    public static final String TIMEOUT_PROPERTY="org.bytemechanics.config.manager.http.timeout";
+    /** Default connect and read timeout in milliseconds */
+    public static final int DEFAULT_TIMEOUT=2000;
+
+    private static final Logger LOGGER=Logger.getLogger(HttpCache.class.getName());
+    private static final String ENTRY_SUFFIX=".entry";
+    private static final Set<PosixFilePermission> OWNER_ONLY=EnumSet.of(PosixFilePermission.OWNER_READ,PosixFilePermission.OWNER_WRITE,PosixFilePermission.OWNER_EXECUTE);
+
+    private static final class Holder{
+        private static final HttpCache DEFAULT=new HttpCache(Paths.get(System.getProperty(CACHE_PROPERTY, Paths.get(System.getProperty("user.home"),".config-manager","http").toString()))
+                                                                ,Integer.getInteger(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT));
+    }
+
+    /**
+     * Last good response
+     */
+    private static final class Entry{
+
+        private final String etag;
+        private final String lastModified;
+        private final byte[] content;
+        private final LocationFingerprint fingerprint;
+
+        Entry(final String _etag,final String _lastModified,final byte[] _content){
+            this.etag=_etag;
+            this.lastModified=_lastModified;
+            this.content=_content;
+            this.fingerprint=LocationFingerprint.ofContent(new ByteArrayInputStream(_content));
+        }
+    }
+
+    private final Path folder;
+    private final int timeout;
+    private final ConcurrentMap<URI,Entry> entries;
+    private final ConcurrentMap<URI,Entry> fetched;
+    private volatile Boolean secured;
+
+
+    /**
+     * Cache constructor
+     * @param _folder folder where keep the last known good copies
+     * @param _timeout connect and read timeout in milliseconds
+     */
+    public HttpCache(final Path _folder,final int _timeout){
+        this.folder=_folder;
+        this.timeout=_timeout;
+        this.entries=new ConcurrentHashMap<>();
+        this.fetched=new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return cache configured with the system properties CACHE_PROPERTY and TIMEOUT_PROPERTY (read once)
+     */
+    public static HttpCache get(){
+        return Holder.DEFAULT;
+    }
+
+    public Path getFolder() {
+        return folder;
+    }
+    public int getTimeout() {
+        return timeout;
+    }
+
+    private String name(final URI _location){
+        try{
+            final byte[] digest=MessageDigest.getInstance("SHA-256").digest(_location.toString().getBytes(StandardCharsets.UTF_8));
+            final StringBuilder reply=new StringBuilder(digest.length*2);
+            for(byte current:digest){
+                reply.append(Character.forDigit((current>>4)&0xF, 16))
+                        .append(Character.forDigit(current&0xF, 16));
+            }
+            return reply.toString();
+        }catch(NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-256 digest is mandatory in every java platform", e);
+        }
+    }
+    /**
+     * Create the cache folder owner-only if it does not exist and check that it belongs to the current user
+     * (the owner of a file created inside it), so other local users can not read the copies nor plant entries
+     * @return true if the folder can keep copies
+     */
+    private boolean secure(){
+        Boolean reply=this.secured;
+        if(reply==null){
+            reply=secureFolder();
+            this.secured=reply;
+        }
+        return reply;
+    }
+    private boolean secureFolder(){
+        try{
+            final boolean posix=this.folder.getFileSystem().supportedFileAttributeViews().contains("posix");
+            if(posix){
+                Files.createDirectories(this.folder, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            }else{
+                Files.createDirectories(this.folder);
+            }
+            final Path probe=Files.createTempFile(this.folder, "owner", ".tmp");
+            try{
+                if(!Files.getOwner(probe).equals(Files.getOwner(this.folder))){
+                    LOGGER.log(Level.WARNING, "Cache folder {0} belongs to another user, last known good copies kept only in memory", this.folder);
+                    return false;
+                }
+            }finally{
+                Files.deleteIfExists(probe);
+            }
+            if(posix)
+                Files.setPosixFilePermissions(this.folder, OWNER_ONLY);
+            return true;
+        }catch(IOException|UnsupportedOperationException e){
+            LOGGER.log(Level.WARNING, "Unable to secure the cache folder "+this.folder+", last known good copies kept only in memory", e);
+            return false;
+        }
+    }
+    private static String readNullable(final DataInputStream _input) throws IOException{
+        return (_input.readBoolean())? _input.readUTF() : null;
+    }
+    private static void writeNullable(final DataOutputStream _output,final String _value) throws IOException{
+        _output.writeBoolean(_value!=null);
+        if(_value!=null)
+            _output.writeUTF(_value);
+    }
+    private Entry load(final URI _location){
+        if(!secure())
+            return null;
+        final Path entry=this.folder.resolve(name(_location)+ENTRY_SUFFIX);
+        if(!Files.exists(entry))
+            return null;
+        try(DataInputStream input=new DataInputStream(Files.newInputStream(entry))){
+            final String etag=readNullable(input);
+            final String lastModified=readNullable(input);
+            final byte[] content=new byte[input.readInt()];
+            input.readFully(content);
+            return new Entry(etag, lastModified, content);
+        }catch(IOException|NegativeArraySizeException e){
+            LOGGER.log(Level.WARNING, "Unable to load the cached copy of "+_location, e);
+            return null;
+        }
+    }
+    private void store(final URI _location,final Entry _entry){
+        if(!secure())
+            return;
+        final String name=name(_location);
+        Path temporal=null;
+        try{
+            temporal=Files.createTempFile(this.folder, name, ENTRY_SUFFIX);
+            try(DataOutputStream output=new DataOutputStream(Files.newOutputStream(temporal))){
+                writeNullable(output, _entry.etag);
+                writeNullable(output, _entry.lastModified);
+                output.writeInt(_entry.content.length);
+                output.write(_entry.content);
+            }
+            Files.move(temporal, this.folder.resolve(name+ENTRY_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(IOException e){
+            LOGGER.log(Level.WARNING, "Unable to store the cached copy of "+_location, e);
+        }finally{
+            deleteQuietly(temporal);
+        }
+    }
+    private static void deleteQuietly(final Path _temporal){
+        if(_temporal!=null){
+            try{
+                Files.deleteIfExists(_temporal);
+            }catch(IOException e){
+                LOGGER.log(Level.FINE, "Unable to delete the temporal copy "+_temporal, e);
+            }
+        }
+    }
+    private void remove(final URI _location){
+        this.entries.remove(_location);
+        if(!secure())
+            return;
+        try{
+            Files.deleteIfExists(this.folder.resolve(name(_location)+ENTRY_SUFFIX));
+        }catch(IOException e){
+            LOGGER.log(Level.WARNING, "Unable to remove the cached copy of "+_location, e);
+        }
+    }
+    private static byte[] readAll(final InputStream _input) throws IOException{
+        try(InputStream input=_input){
+            return InputStreams.readAll(input);
+        }
+    }
+    private Entry request(final URI _location,final Entry _current) throws IOException{
+        final HttpURLConnection connection=(HttpURLConnection)_location.toURL().openConnection();
+        connection.setConnectTimeout(this.timeout);
+        connection.setReadTimeout(this.timeout);
+        connection.setUseCaches(false);
+        if(_current!=null){
+            if(_current.etag!=null)
+                connection.setRequestProperty("If-None-Match", _current.etag);
+            if(_current.lastModified!=null)
+                connection.setRequestProperty("If-Modified-Since", _current.lastModified);
+        }
+        final int status=connection.getResponseCode();
+        if((status==HttpURLConnection.HTTP_NOT_MODIFIED)&&(_current!=null))
+            return _current;
+        if((status==HttpURLConnection.HTTP_NOT_FOUND)||(status==HttpURLConnection.HTTP_GONE))
+            return null;
+        if(status!=HttpURLConnection.HTTP_OK){
+            final InputStream error=connection.getErrorStream();
+            if(error!=null)
+                readAll(error);
+            throw new IOException("Unexpected http status "+status+" reading "+_location);
+        }
+        final Entry reply=new Entry(connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"), readAll(connection.getInputStream()));
+        store(_location, reply);
+        return reply;
+    }
+
+    /**
+     * Fetch the location with a conditional request
+     * @param _location location to fetch
+     * @return last good content (the same if not modified) or empty if the location does not exist
+     * @throws UncheckedIOException if the location can not be fetched and there is not any last known good copy
+     */
+    private Optional<Entry> fetch(final URI _location){
+        Entry current=this.entries.get(_location);
+        if(current==null)
+            current=load(_location);
+        try{
+            final Entry reply=request(_location, current);
+            if(reply==null){
+                remove(_location);
+            }else{
+                this.entries.put(_location, reply);
+            }
+            return Optional.ofNullable(reply);
+        }catch(IOException e){
+            if(current==null)
+                throw new UncheckedIOException(e);
+            LOGGER.log(Level.WARNING, "Unable to fetch "+_location+", using its last known good copy", e);
+            this.entries.put(_location, current);
+            return Optional.of(current);
+        }
+    }
+    /**
+     * Fingerprint the location content with a conditional request, the fetched content is kept for the next open(URI)
+     * @param _location location to fingerprint
+     * @return content fingerprint (the same if not modified) or LocationFingerprint.MISSING if the location does not exist
+     * @throws UncheckedIOException if the location can not be fetched and there is not any last known good copy
+     */
+    public LocationFingerprint fingerprint(final URI _location){
+        return fetch(_location)
+                    .map(entry -> {
+                        this.fetched.put(_location, entry);
+                        return entry.fingerprint;
+                    })
+                    .orElseGet(() -> {
+                        this.fetched.remove(_location);
+                        return LocationFingerprint.MISSING;
+                    });
+    }
+    /**
+     * Open the location content, the one fetched by the last fingerprint(URI) if not consumed yet or fetching it otherwise
+     * @param _location location to open
+     * @return content or empty if the location does not exist
+     * @throws UncheckedIOException if the location can not be fetched and there is not any last known good copy
+     */
+    public Optional<InputStream> open(final URI _location){
+        final Entry entry=this.fetched.remove(_location);
+        return Optional.ofNullable((entry!=null)? entry : fetch(_location).orElse(null))
+                        .map(current -> new ByteArrayInputStream(current.content));
+    }
+}
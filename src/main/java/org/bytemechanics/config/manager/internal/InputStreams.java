@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream helpers shared by providers and parsers
+ * @author afarre
+ */
+public final class InputStreams {
+
+    private static final int BUFFER_SIZE=8192;
+
+    private InputStreams(){}
+
+    /**
+     * Read the input until its end without closing it
+     * @param _input input to read
+     * @return all the read bytes
+     * @throws IOException if the input fails
+     */
+    public static byte[] readAll(final InputStream _input) throws IOException{
+        final ByteArrayOutputStream reply=new ByteArrayOutputStream(Math.max(_input.available(),BUFFER_SIZE));
+        final byte[] buffer=new byte[BUFFER_SIZE];
+        int read;
+        while((read=_input.read(buffer))>=0){
+            reply.write(buffer, 0, read);
+        }
+        return reply.toByteArray();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Cheap identity of a location content used to know if it changed without parsing it again.
+ * Files are identified by its real path (changes when a symlink is swapped), size and modification time without reading them,
+ * any other location by the SHA-256 digest of its content (or of its configurations for providers without content).
+ * @author afarre
+ */
+public final class LocationFingerprint {
+
+    /** Fingerprint of a location that does not exist */
+    public static final LocationFingerprint MISSING=new LocationFingerprint(null, -1, -1, null);
+
+    private static final String DIGEST="SHA-256";
+
+    private final Path realPath;
+    private final long size;
+    private final long modified;
+    private final byte[] digest;
+
+
+    private LocationFingerprint(final Path _realPath,final long _size,final long _modified,final byte[] _digest){
+        this.realPath=_realPath;
+        this.size=_size;
+        this.modified=_modified;
+        this.digest=_digest;
+    }
+
+    /**
+     * Fingerprint a file by its metadata without reading it
+     * @param _path file path
+     * @return fingerprint of the file or MISSING if it does not exist (or can not be accessed)
+     */
+    public static LocationFingerprint ofFile(final Path _path){
+        try{
+            final BasicFileAttributes attributes=Files.readAttributes(_path, BasicFileAttributes.class);
+            return new LocationFingerprint(_path.toRealPath(), attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), null);
+        }catch(IOException e){
+            return MISSING;
+        }
+    }
+    /**
+     * Fingerprint a list of files by the real path, size and modification time of each one in the given order without reading them
+     * @param _paths files to fingerprint
+     * @return fingerprint of the files or MISSING if the list is empty
+     */
+    public static LocationFingerprint ofFiles(final List<Path> _paths){
+        if(_paths.isEmpty())
+            return MISSING;
+        final MessageDigest digester=digester();
+        final ByteBuffer attributes=ByteBuffer.allocate(2*Long.BYTES);
+        for(Path path:_paths){
+            final LocationFingerprint file=ofFile(path);
+            digester.update(String.valueOf((file.realPath!=null)? file.realPath : path).getBytes(StandardCharsets.UTF_8));
+            attributes.clear();
+            digester.update(attributes.putLong(file.size).putLong(file.modified).array());
+        }
+        return new LocationFingerprint(null, _paths.size(), -1, digester.digest());
+    }
+    /**
+     * Fingerprint an archive entry by its size, modification time and CRC from the archive central directory without reading it
+     * @param _entry archive entry
+     * @return fingerprint of the entry
+     */
+    public static LocationFingerprint ofEntry(final ZipEntry _entry){
+        final long crc=_entry.getCrc();
+        final byte[] digest=new byte[8];
+        for(int ic1=0;ic1<digest.length;ic1++){
+            digest[ic1]=(byte)(crc>>>(8*ic1));
+        }
+        return new LocationFingerprint(null, _entry.getSize(), _entry.getTime(), digest);
+    }
+    /**
+     * Fingerprint a content by its digest, reading it until the end and closing it
+     * @param _input content to fingerprint
+     * @return fingerprint of the content
+     * @throws UncheckedIOException if the content can not be read
+     */
+    public static LocationFingerprint ofContent(final InputStream _input){
+        try(InputStream input=_input){
+            final MessageDigest digester=digester();
+            final byte[] buffer=new byte[8192];
+            long size=0;
+            int read;
+            while((read=input.read(buffer))>=0){
+                digester.update(buffer, 0, read);
+                size+=read;
+            }
+            return new LocationFingerprint(null, size, -1, digester.digest());
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fingerprint already parsed configurations by the digest of its keys and values in the given order
+     * @param _configs configurations to fingerprint
+     * @return fingerprint of the configurations
+     */
+    public static LocationFingerprint ofConfigs(final Collection<Config> _configs){
+        final MessageDigest digester=digester();
+        for(Config config:_configs){
+            digester.update(config.getKey().getBytes(StandardCharsets.UTF_8));
+            digester.update((byte)0);
+            if(config.getValue()!=null)
+                digester.update(config.getValue().getBytes(StandardCharsets.UTF_8));
+            digester.update((byte)((config.getValue()==null)? 1 : 0));
+        }
+        return new LocationFingerprint(null, _configs.size(), -1, digester.digest());
+    }
+    private static MessageDigest digester(){
+        try{
+            return MessageDigest.getInstance(DIGEST);
+        }catch(NoSuchAlgorithmException e){
+            throw new IllegalStateException(DIGEST+" digest is mandatory in every java platform", e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31*Objects.hash(realPath,size,modified)+Arrays.hashCode(digest);
+    }
+    @Override
+    public boolean equals(final Object _other) {
+        if (this == _other) {
+            return true;
+        }
+        if ((_other == null)||(getClass() != _other.getClass())) {
+            return false;
+        }
+        final LocationFingerprint other = (LocationFingerprint) _other;
+        return (this.size==other.size)
+                &&(this.modified==other.modified)
+                &&(Objects.equals(this.realPath, other.realPath))
+                &&(Arrays.equals(this.digest, other.digest));
+    }
+    @Override
+    public String toString() {
+        return "LocationFingerprint{" + "realPath=" + realPath + ", size=" + size + ", modified=" + modified + ", digest=" + ((digest==null)? null : digest.length) + '}';
+    }
+}
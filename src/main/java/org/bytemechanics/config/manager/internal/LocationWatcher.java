@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * File system watcher of file:// locations.
+ * Watches the folders of the given locations with a WatchService from a single daemon thread. Events only mark its folder as touched,
+ * once no new event arrives during the debounce window (or after ten windows of continuous events) the state of the locations
+ * of the touched folders (real path, size and modification time) is compared with the previous one and only the locations that
+ * really changed are notified together. This way bursts of events (editors writing temporary files and renaming them,
+ * kubernetes configmap symlink swaps) are coalesced in a single notification and unrelated files of the same folder are ignored.
+ * Glob locations (conf.d/*.yml) watch the folder where its pattern starts and compare the state of all the matching files.
+ * @author afarre
+ */
+public class LocationWatcher implements Closeable{
+
+    private static final Logger LOGGER=Logger.getLogger(LocationWatcher.class.getName());
+    private static final int MAX_DEBOUNCE_WINDOWS=10;
+    private static final String THREAD_NAME="config-location-watcher";
+
+    /**
+     * Watched location with its last known state
+     */
+    private static final class Watched{
+
+        private final ResolvedLocation location;
+        private final Path path;
+        private final FileGlob glob;
+        private LocationFingerprint state;
+
+        Watched(final ResolvedLocation _location,final Path _path,final FileGlob _glob){
+            this.location=_location;
+            this.path=_path;
+            this.glob=_glob;
+            this.state=fingerprint();
+        }
+        private LocationFingerprint fingerprint(){
+            return (this.glob!=null)? LocationFingerprint.ofFiles(this.glob.expand()) : LocationFingerprint.ofFile(this.path);
+        }
+        boolean changed(){
+            final LocationFingerprint current=fingerprint();
+            if(current.equals(this.state))
+                return false;
+            this.state=current;
+            return true;
+        }
+    }
+
+    private final WatchService service;
+    private final Map<WatchKey,List<Watched>> watched;
+    private final long debounce;
+    private final Consumer<Set<ResolvedLocation>> listener;
+    private final Thread thread;
+
+
+    /**
+     * Start watching the given file locations (non file:// locations are ignored)
+     * @param _locations locations to watch
+     * @param _debounce quiet window to wait after the last event before checking the changes
+     * @param _listener consumer of the changed locations, called from the watcher thread
+     * @throws IOException if the watch service can not be created or a location folder registered
+     * @throws NullPointerException if any of parameters are null
+     */
+    public LocationWatcher(final Collection<ResolvedLocation> _locations,final Duration _debounce,final Consumer<Set<ResolvedLocation>> _listener) throws IOException{
+        this.debounce=Objects.requireNonNull(_debounce,"Mandatory parameter _debounce").toNanos();
+        this.listener=Objects.requireNonNull(_listener,"Mandatory parameter _listener");
+        this.service=FileSystems.getDefault().newWatchService();
+        this.watched=new HashMap<>();
+        try{
+            final Map<Path,List<Watched>> byFolder=new HashMap<>();
+            for(ResolvedLocation location:_locations){
+                if(!ConfigProviderFactory.FILE.name().equalsIgnoreCase(location.getUri().getScheme()))
+                    continue;
+                final FileGlob glob=(FileGlob.isGlob(location.getPath()))? new FileGlob(location.getPath()) : null;
+                final Path path=(glob!=null)? glob.getBase().toAbsolutePath().normalize() : Paths.get(location.getPath()).toAbsolutePath().normalize();
+                final Path folder=(glob!=null)? path : path.getParent();
+                if((folder!=null)&&(Files.isDirectory(folder)))
+                    byFolder.computeIfAbsent(folder, key -> new ArrayList<>())
+                                .add(new Watched(location, path, glob));
+            }
+            for(Map.Entry<Path,List<Watched>> folder:byFolder.entrySet()){
+                this.watched.put(folder.getKey().register(this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY)
+                                    ,folder.getValue());
+            }
+        }catch(IOException|RuntimeException e){
+            this.service.close();
+            throw e;
+        }
+        this.thread=new Thread(this::run, THREAD_NAME);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return number of watched locations
+     */
+    public int size(){
+        return this.watched.values()
+                            .stream()
+                                .mapToInt(List::size)
+                                .sum();
+    }
+
+    private void touch(final WatchKey _key,final Set<WatchKey> _touched){
+        _key.pollEvents();
+        _key.reset();
+        _touched.add(_key);
+    }
+    private Set<ResolvedLocation> changed(final Set<WatchKey> _touched){
+        final Set<ResolvedLocation> reply=new LinkedHashSet<>();
+        for(WatchKey key:_touched){
+            for(Watched location:this.watched.get(key)){
+                if(location.changed())
+                    reply.add(location.location);
+            }
+        }
+        return reply;
+    }
+    /**
+     * Wait the first event and keep collecting until the debounce window passes without events
+     * @return touched folder keys
+     */
+    private Set<WatchKey> collect() throws InterruptedException{
+        final Set<WatchKey> reply=new HashSet<>();
+        touch(this.service.take(),reply);
+        final long limit=System.nanoTime()+this.debounce*MAX_DEBOUNCE_WINDOWS;
+        long deadline=System.nanoTime()+this.debounce;
+        long remaining;
+        while((remaining=Math.min(deadline, limit)-System.nanoTime())>0){
+            final WatchKey key=this.service.poll(remaining, TimeUnit.NANOSECONDS);
+            if(key==null)
+                break;
+            touch(key,reply);
+            deadline=System.nanoTime()+this.debounce;
+        }
+        return reply;
+    }
+    private void run(){
+        try{
+            while(true){
+                final Set<ResolvedLocation> changed=changed(collect());
+                if(!changed.isEmpty()){
+                    try{
+                        this.listener.accept(changed);
+                    }catch(RuntimeException e){
+                        LOGGER.log(Level.WARNING, "Unable to reload changed locations "+changed, e);
+                    }
+                }
+            }
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }catch(ClosedWatchServiceException e){
+            //closed
+        }
+    }
+
+    /**
+     * Stop watching, the watcher thread ends after the current notification (if any)
+     * @throws IOException if the watch service fails closing
+     */
+    @Override
+    public void close() throws IOException {
+        this.service.close();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader that decodes a memory mapped file directly into the caller buffers.
+ * The file channel is closed as soon as the file is mapped, the mapping is released when the buffer is garbage collected.
+ * ISO-8859-1 is widened byte to char without decoder, any other charset is decoded with the same replacement policy as InputStreamReader.
+ * A mapped file truncated while it is read fails with InternalError (SIGBUS) instead of IOException and, on Windows,
+ * it can not be replaced nor deleted until the mapping is garbage collected. For this reason only the files of MAPPED_THRESHOLD
+ * bytes or more are mapped, smaller ones (any usual configuration) are read with a single channel read into a heap buffer,
+ * and mapped files should be replaced atomically (write a new file and rename it) instead of rewritten in place.
+ * @author afarre
+ */
+public class MappedFileReader extends Reader{
+
+    /** Minimum size in bytes of the files that are memory mapped, smaller files are read into a heap buffer */
+    public static final int MAPPED_THRESHOLD=1024*1024;
+
+    private ByteBuffer buffer;
+    private final CharsetDecoder decoder;
+    private final boolean singleByte;
+    private final char[] pending;
+    private int pendingLength;
+    private boolean endOfInput;
+    private boolean flushing;
+    private boolean flushed;
+
+
+    /**
+     * Maps the given file using the given charset to decode it
+     * @param _path file to map
+     * @param _charset charset to decode
+     * @throws IOException if the file can not be mapped or is bigger than Integer.MAX_VALUE bytes
+     * @see MappedFileReader#map(java.nio.file.Path) 
+     */
+    public MappedFileReader(final Path _path,final Charset _charset) throws IOException {
+        this(map(_path),_charset);
+    }
+    /**
+     * Decodes the given buffer using the given charset
+     * @param _buffer buffer to decode
+     * @param _charset charset to decode
+     */
+    protected MappedFileReader(final ByteBuffer _buffer,final Charset _charset){
+        this.buffer=_buffer;
+        this.singleByte=StandardCharsets.ISO_8859_1.equals(_charset);
+        this.decoder=_charset.newDecoder()
+                                .onMalformedInput(CodingErrorAction.REPLACE)
+                                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.pending=new char[2];
+        this.pendingLength=0;
+        this.endOfInput=false;
+        this.flushing=false;
+        this.flushed=false;
+    }
+
+    /**
+     * Map the full file as read only, the channel is closed once mapped.
+     * Files smaller than MAPPED_THRESHOLD are read into a heap buffer instead, so they are neither locked nor exposed to truncation
+     * @param _path file to map
+     * @return mapped buffer (or heap buffer for small files)
+     * @throws IOException if the file can not be mapped or is bigger than Integer.MAX_VALUE bytes
+     */
+    protected static ByteBuffer map(final Path _path) throws IOException{
+        try(FileChannel channel=FileChannel.open(_path, StandardOpenOption.READ)){
+            final long size=channel.size();
+            if(size>Integer.MAX_VALUE)
+                throw new IOException("File "+_path+" is too big to be mapped ("+size+" bytes)");
+            if(size<MAPPED_THRESHOLD)
+                return read(channel, (int)size);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+    private static ByteBuffer read(final FileChannel _channel,final int _size) throws IOException{
+        final ByteBuffer reply=ByteBuffer.allocate(_size);
+        while((reply.hasRemaining())&&(_channel.read(reply)>=0)){
+            //read until the size or the end of file (if truncated meanwhile)
+        }
+        reply.flip();
+        return reply;
+    }
+
+    private ByteBuffer ensureOpen() throws IOException{
+        if(this.buffer==null)
+            throw new IOException("Stream closed");
+        return this.buffer;
+    }
+
+    /** @see Reader#read(char[], int, int) */
+    @Override
+    public int read(final char[] _buffer,final int _offset,final int _length) throws IOException {
+
+        final ByteBuffer source=ensureOpen();
+        if(_length==0)
+            return 0;
+        if(this.singleByte){
+            final int length=Math.min(_length, source.remaining());
+            if(length==0)
+                return -1;
+            for(int ic1=0;ic1<length;ic1++){
+                _buffer[_offset+ic1]=(char)(source.get()&0xFF);
+            }
+            return length;
+        }
+        if(this.pendingLength>0){
+            _buffer[_offset]=this.pending[1];
+            this.pendingLength=0;
+            return 1;
+        }
+        if(_length==1){
+            //Decoders can not emit half of a surrogate pair, decode into a two chars buffer and keep the second one
+            final int read=decode(this.pending,0,2);
+            if(read>0)
+                _buffer[_offset]=this.pending[0];
+            this.pendingLength=(read==2)? 1 : 0;
+            return read==2? 1 : read;
+        }
+        return decode(_buffer, _offset, _length);
+    }
+    private int decode(final char[] _buffer,final int _offset,final int _length) throws IOException {
+
+        if(this.flushed)
+            return -1;
+        final ByteBuffer source=this.buffer;
+        final CharBuffer target=CharBuffer.wrap(_buffer, _offset, _length);
+        CoderResult result=CoderResult.UNDERFLOW;
+        if(!this.endOfInput){
+            result=this.decoder.decode(source, target, false);
+            //Whole file is mapped, so underflow means that all the input has been supplied
+            this.endOfInput=result.isUnderflow();
+        }
+        if((this.endOfInput)&&(!this.flushing)){
+            result=this.decoder.decode(source, target, true);
+            this.flushing=result.isUnderflow();
+        }
+        if(this.flushing){
+            result=this.decoder.flush(target);
+            this.flushed=result.isUnderflow();
+        }
+        if(result.isError())
+            throw new CharacterCodingException();
+        final int read=target.position()-_offset;
+        return ((read==0)&&(this.flushed))? -1 : read;
+    }
+
+    /** @see Reader#ready() */
+    @Override
+    public boolean ready() throws IOException {
+        return ensureOpen().hasRemaining();
+    }
+
+    /** @see Reader#close() */
+    @Override
+    public void close() throws IOException {
+        this.buffer=null;
+    }
+}
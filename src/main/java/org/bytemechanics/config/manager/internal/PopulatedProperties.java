@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * System properties populated by a single config manager with the value each key had before the manager populated it.
+ * Lets the system:// locations of that manager read the properties as if it never populated them, so its own published
+ * values do not come back as a layer overriding the rest. Keys changed by anybody else after being populated are external values again
+ * @author afarre
+ */
+public final class PopulatedProperties {
+
+    private final ConcurrentMap<String,String> populated;
+    private final ConcurrentMap<String,Optional<Object>> originals;
+
+
+    /**
+     * Constructor without any populated key
+     */
+    public PopulatedProperties(){
+        this.populated=new ConcurrentHashMap<>();
+        this.originals=new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Populate the key into the given properties (callers batching several keys hold the properties monitor).
+     * Set keys remember the value they had before being populated, removed keys restore that value only if they still hold the populated one
+     * @param _properties properties to populate
+     * @param _key key to populate
+     * @param _value value to set or null to remove the key
+     */
+    public void populate(final Properties _properties,final String _key,final String _value){
+        synchronized(_properties){
+            final Object current=_properties.get(_key);
+            final boolean owned=(current!=null)&&(current.equals(this.populated.get(_key)));
+            if(_value!=null){
+                if(!owned)
+                    this.originals.put(_key, Optional.ofNullable(current));
+                this.populated.put(_key, _value);
+                _properties.put(_key, _value);
+            }else{
+                final Optional<Object> original=Optional.ofNullable(this.originals.remove(_key)).flatMap(value -> value);
+                this.populated.remove(_key);
+                if(owned){
+                    if(original.isPresent()){
+                        _properties.put(_key, original.get());
+                    }else{
+                        _properties.remove(_key);
+                    }
+                }
+            }
+        }
+    }
+    /**
+     * Replace in the given system properties configurations the keys that still hold the value populated
+     * by their value before being populated (or remove them if they had none)
+     * @param _configs system properties configurations sorted by key
+     * @return configurations without the populated values sorted by key
+     */
+    public List<Config> unpopulated(final List<Config> _configs){
+        if(this.populated.isEmpty())
+            return _configs;
+        final List<Config> reply=new ArrayList<>(_configs.size());
+        for(Config config:_configs){
+            final String value=this.populated.get(config.getKey());
+            if((value!=null)&&(value.equals(config.getValue()))){
+                Optional.ofNullable(this.originals.get(config.getKey()))
+                        .flatMap(original -> original)
+                        .filter(String.class::isInstance)
+                        .map(original -> Config.of(config.getKey(), (String)original))
+                        .ifPresent(reply::add);
+            }else{
+                reply.add(config);
+            }
+        }
+        return Collections.unmodifiableList(reply);
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Streaming .properties reader that emits each entry as soon as its logical line has been scanned.
+ * Honors the same syntax as java.util.Properties#load(Reader): comments (# and !), line continuations,
+ * escapes, unicode escapes and '=', ':' or whitespace separators, but without materializing any Hashtable.
+ * Duplicated keys are emitted in order of appearance, so consumers applying "last wins" keep the Properties semantics.
+ * @see java.util.Properties#load(java.io.Reader)
+ * @author afarre
+ */
+public class PropertiesReader extends FilterReader{
+
+    private static final int INPUT_BUFFER_SIZE=8192;
+    private static final int LINE_BUFFER_SIZE=1024;
+
+    private final char[] inputBuffer;
+    private int inputLimit;
+    private int inputOffset;
+    private char[] lineBuffer;
+    private char[] convertBuffer;
+
+
+    /**
+     * Builds a streaming properties reader over the given _reader
+     * @param _reader parent reader
+     */
+    public PropertiesReader(final Reader _reader) {
+        super(_reader);
+        this.inputBuffer=new char[INPUT_BUFFER_SIZE];
+        this.inputLimit=0;
+        this.inputOffset=0;
+        this.lineBuffer=new char[LINE_BUFFER_SIZE];
+        this.convertBuffer=new char[LINE_BUFFER_SIZE];
+    }
+
+
+    /**
+     * Ensures there are pending characters in the input buffer
+     * @return true if there are characters available, false if the end of the stream has been reached
+     * @throws IOException if the underlaying reader fails
+     */
+    private boolean fill() throws IOException{
+        if(this.inputOffset>=this.inputLimit){
+            this.inputLimit=this.in.read(this.inputBuffer);
+            this.inputOffset=0;
+        }
+        return this.inputLimit>0;
+    }
+    /**
+     * Appends the given character to the line buffer growing it if necessary
+     * @param _length current line length
+     * @param _char character to append
+     * @return new line length
+     */
+    private int append(final int _length,final char _char){
+        if(_length==this.lineBuffer.length){
+            final char[] newBuffer=new char[this.lineBuffer.length*2];
+            System.arraycopy(this.lineBuffer, 0, newBuffer, 0, _length);
+            this.lineBuffer=newBuffer;
+        }
+        this.lineBuffer[_length]=_char;
+        return _length+1;
+    }
+
+    /**
+     * Read the next logical line (joining continuations and skipping comments and blank lines) into the line buffer
+     * @return the logical line length or -1 if there are no more lines
+     * @throws IOException if the underlaying reader fails
+     */
+    protected int readLine() throws IOException{
+
+        int length=0;
+        boolean skipWhiteSpace=true;
+        boolean appendedLineBegin=false;
+        boolean precedingBackslash=false;
+
+        while(true){
+            if(!fill()){
+                if(length==0)
+                    return -1;
+                return (precedingBackslash)? length-1 : length;
+            }
+            final char current=this.inputBuffer[this.inputOffset++];
+            if(skipWhiteSpace){
+                if((current==' ')||(current=='\t')||(current=='\f'))
+                    continue;
+                if((!appendedLineBegin)&&((current=='\r')||(current=='\n')))
+                    continue;
+                skipWhiteSpace=false;
+                appendedLineBegin=false;
+            }
+            if((length==0)&&((current=='#')||(current=='!'))){
+                if(!skipComment())
+                    return -1;
+                skipWhiteSpace=true;
+                continue;
+            }
+            if((current!='\n')&&(current!='\r')){
+                length=append(length, current);
+                precedingBackslash=(current=='\\')&&(!precedingBackslash);
+            }else if(length==0){
+                skipWhiteSpace=true;
+            }else if(!fill()){
+                return (precedingBackslash)? length-1 : length;
+            }else if(precedingBackslash){
+                length--;
+                skipWhiteSpace=true;
+                appendedLineBegin=true;
+                precedingBackslash=false;
+                if((current=='\r')&&(this.inputBuffer[this.inputOffset]=='\n'))
+                    this.inputOffset++;
+            }else{
+                return length;
+            }
+        }
+    }
+    /**
+     * Consume the rest of a comment line
+     * @return true if an end of line has been found, false if the end of the stream has been reached
+     * @throws IOException if the underlaying reader fails
+     */
+    private boolean skipComment() throws IOException{
+        while(fill()){
+            final char current=this.inputBuffer[this.inputOffset++];
+            if((current=='\r')||(current=='\n'))
+                return true;
+        }
+        return false;
+    }
+    /**
+     * Converts the given hexadecimal character to its numeric value
+     * @param _char character to convert
+     * @return numeric value
+     * @throws IllegalArgumentException if the character is not an hexadecimal digit
+     */
+    private static int hexDigit(final char _char){
+        if((_char>='0')&&(_char<='9'))
+            return _char-'0';
+        if((_char>='a')&&(_char<='f'))
+            return 10+_char-'a';
+        if((_char>='A')&&(_char<='F'))
+            return 10+_char-'A';
+        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+    }
+
+    /**
+     * Converts escaped characters (\t, \n, \r, \f, \\uXXXX and \x) of the given line buffer segment
+     * @param _offset segment start
+     * @param _length segment length
+     * @return unescaped string
+     * @throws IllegalArgumentException if a malformed unicode escape is found
+     */
+    protected String convert(final int _offset,final int _length){
+
+        final int end=_offset+_length;
+        int firstBackslash=-1;
+        for(int ic1=_offset;ic1<end;ic1++){
+            if(this.lineBuffer[ic1]=='\\'){
+                firstBackslash=ic1;
+                break;
+            }
+        }
+        if(firstBackslash<0)
+            return new String(this.lineBuffer,_offset,_length);
+
+        if(this.convertBuffer.length<_length)
+            this.convertBuffer=new char[Math.max(_length,this.convertBuffer.length*2)];
+        int position=firstBackslash-_offset;
+        System.arraycopy(this.lineBuffer, _offset, this.convertBuffer, 0, position);
+        int ic1=firstBackslash;
+        while(ic1<end){
+            char current=this.lineBuffer[ic1++];
+            if(current=='\\'){
+                if(ic1>=end)
+                    break;
+                current=this.lineBuffer[ic1++];
+                if(current=='u'){
+                    if(ic1+4>end)
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    int value=0;
+                    for(int ic2=0;ic2<4;ic2++){
+                        value=(value<<4)+hexDigit(this.lineBuffer[ic1++]);
+                    }
+                    current=(char)value;
+                }else if(current=='t'){
+                    current='\t';
+                }else if(current=='r'){
+                    current='\r';
+                }else if(current=='n'){
+                    current='\n';
+                }else if(current=='f'){
+                    current='\f';
+                }
+            }
+            this.convertBuffer[position++]=current;
+        }
+        return new String(this.convertBuffer,0,position);
+    }
+
+    /**
+     * Read and parse the next available entry
+     * @return the next entry or null if there are no more entries
+     * @throws IOException if the underlaying reader fails
+     * @throws IllegalArgumentException if a malformed unicode escape is found
+     */
+    protected Config readConfig() throws IOException{
+
+        final int limit=readLine();
+        if(limit<0)
+            return null;
+
+        int keyLength=0;
+        int valueStart=limit;
+        boolean hasSeparator=false;
+        boolean precedingBackslash=false;
+        while(keyLength<limit){
+            final char current=this.lineBuffer[keyLength];
+            if(((current=='=')||(current==':'))&&(!precedingBackslash)){
+                valueStart=keyLength+1;
+                hasSeparator=true;
+                break;
+            }else if(((current==' ')||(current=='\t')||(current=='\f'))&&(!precedingBackslash)){
+                valueStart=keyLength+1;
+                break;
+            }
+            precedingBackslash=(current=='\\')&&(!precedingBackslash);
+            keyLength++;
+        }
+        while(valueStart<limit){
+            final char current=this.lineBuffer[valueStart];
+            if((current!=' ')&&(current!='\t')&&(current!='\f')){
+                if((!hasSeparator)&&((current=='=')||(current==':'))){
+                    hasSeparator=true;
+                }else{
+                    break;
+                }
+            }
+            valueStart++;
+        }
+        final String key=convert(0, keyLength);
+        final String value=convert(valueStart, limit-valueStart);
+
+        return Config.of(key, value);
+    }
+
+    /**
+     * Stream entries lazily, each entry is parsed when the stream requests it
+     * @return Stream of configurations in order of appearance
+     * @throws UncheckedIOException if the underlaying reader fails during the stream consumption
+     * @throws IllegalArgumentException if a malformed unicode escape is found during the stream consumption
+     */
+    public Stream<Config> stream(){
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<Config>(Long.MAX_VALUE,Spliterator.ORDERED|Spliterator.NONNULL){
+                                            @Override
+                                            public boolean tryAdvance(final Consumer<? super Config> _action) {
+                                                try {
+                                                    final Config config=readConfig();
+                                                    if(config==null)
+                                                        return false;
+                                                    _action.accept(config);
+                                                    return true;
+                                                } catch (IOException ex) {
+                                                    throw new UncheckedIOException(ex);
+                                                }
+                                            }
+                                        },false);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Streaming .properties writer that escapes and writes each entry as it arrives, without materializing any Hashtable.
+ * Escapes as java.util.Properties#store(Writer) does (optionally escaping non ascii characters as unicode escapes) but writes
+ * neither comments nor the store date and always ends lines with '\n', so the same input produces byte identical output.
+ * Unsorted mode writes entries in arrival order in constant memory, repeated keys are written as they come (when read again the last one wins).
+ * Sorted mode writes entries sorted by key keeping only the last value of each repeated key.
+ * @see java.util.Properties#store(java.io.Writer, java.lang.String)
+ * @author afarre
+ */
+public class PropertiesWriter extends FilterWriter{
+
+    private static final char[] HEX_DIGITS={'0','1','2','3','4','5','6','7','8','9','A','B','C','D','E','F'};
+
+    private final boolean sorted;
+    private final boolean escapeUnicode;
+
+
+    /**
+     * Unsorted writer without unicode escapes
+     * @param _writer parent writer
+     */
+    public PropertiesWriter(final Writer _writer) {
+        this(_writer,false,false);
+    }
+    /**
+     * Constructor capable to define sorted and unicode escaping modes
+     * @param _writer parent writer (buffered if it is not already)
+     * @param _sorted write entries sorted by key
+     * @param _escapeUnicode escape characters outside the printable ascii range as unicode escapes
+     */
+    public PropertiesWriter(final Writer _writer,final boolean _sorted,final boolean _escapeUnicode) {
+        super((_writer instanceof BufferedWriter)? _writer : new BufferedWriter(_writer));
+        this.sorted=_sorted;
+        this.escapeUnicode=_escapeUnicode;
+    }
+
+    private boolean needsEscape(final char _char,final int _index,final boolean _escapeSpace){
+        if((_char>61)&&(_char<127))
+            return _char=='\\';
+        switch(_char){
+            case ' ':
+                return (_index==0)||(_escapeSpace);
+            case '\t':case '\n':case '\r':case '\f':
+            case '=':case ':':case '#':case '!':
+                return true;
+            default:
+                return (this.escapeUnicode)&&((_char<0x0020)||(_char>0x007e));
+        }
+    }
+    private void writeEscaped(final char _char) throws IOException{
+        switch(_char){
+            case '\t':
+                this.out.write("\\t");
+                break;
+            case '\n':
+                this.out.write("\\n");
+                break;
+            case '\r':
+                this.out.write("\\r");
+                break;
+            case '\f':
+                this.out.write("\\f");
+                break;
+            case ' ':case '\\':case '=':case ':':case '#':case '!':
+                this.out.write('\\');
+                this.out.write(_char);
+                break;
+            default:
+                this.out.write('\\');
+                this.out.write('u');
+                this.out.write(HEX_DIGITS[(_char >> 12) & 0xF]);
+                this.out.write(HEX_DIGITS[(_char >>  8) & 0xF]);
+                this.out.write(HEX_DIGITS[(_char >>  4) & 0xF]);
+                this.out.write(HEX_DIGITS[ _char        & 0xF]);
+        }
+    }
+    /**
+     * Write the given text escaped, the runs of characters that do not need escaping are written at once
+     * @param _text text to write
+     * @param _escapeSpace true to escape all spaces (keys), otherwise only the leading one is escaped (values)
+     * @throws IOException if the underlaying writer fails
+     */
+    protected void writeConverted(final String _text,final boolean _escapeSpace) throws IOException{
+        final int length=_text.length();
+        int start=0;
+        for(int ic1=0;ic1<length;ic1++){
+            final char current=_text.charAt(ic1);
+            if(needsEscape(current, ic1, _escapeSpace)){
+                if(start<ic1)
+                    this.out.write(_text, start, ic1-start);
+                writeEscaped(current);
+                start=ic1+1;
+            }
+        }
+        if(start<length)
+            this.out.write(_text, start, length-start);
+    }
+    /**
+     * Write a single entry, null values are written as empty
+     * @param _config entry to write
+     * @throws IOException if the underlaying writer fails
+     */
+    public void write(final Config _config) throws IOException{
+        writeConverted(_config.getKey(), true);
+        this.out.write('=');
+        if(_config.getValue()!=null)
+            writeConverted(_config.getValue(), false);
+        this.out.write('\n');
+    }
+    /**
+     * Write all entries and flush
+     * @param _config entries to write
+     * @throws UncheckedIOException if the underlaying writer fails
+     */
+    public void write(final Stream<Config> _config){
+        try{
+            if(this.sorted){
+                Config previous=null;
+                final Iterator<Config> configs=_config.sorted().iterator();
+                while(configs.hasNext()){
+                    final Config current=configs.next();
+                    if((previous!=null)&&(!previous.getKey().equals(current.getKey())))
+                        write(previous);
+                    previous=current;
+                }
+                if(previous!=null)
+                    write(previous);
+            }else{
+                final Iterator<Config> configs=_config.iterator();
+                while(configs.hasNext()){
+                    write(configs.next());
+                }
+            }
+            flush();
+        }catch(IOException ex){
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationFormat;
+import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationScheme;
+
+/**
+ * Location handle binding an uri to its provider, parser, host and path and charset once, so reading it again does not resolve anything.
+ * Resolution is done on construction but unsupported schemes or formats are raised when the location is used (as with plain URIs)
+ * @author afarre
+ */
+public class ResolvedLocation {
+
+    private final URI uri;
+    private final Charset charset;
+    private final String path;
+    private final boolean mapped;
+    private final boolean sorted;
+    private final ConfigProvider provider;
+    private final ConfigParser parser;
+    private final FileGlob glob;
+    private final LongAdder counter;
+    private final PopulatedProperties populated;
+
+
+    /**
+     * Resolve the given location
+     * @param _uri location to resolve
+     * @param _charset charset to decode/encode text formats
+     * @throws NullPointerException if any of parameters are null
+     */
+    public ResolvedLocation(final URI _uri,final Charset _charset) {
+        this.uri=Objects.requireNonNull(_uri,"Mandatory parameter _uri");
+        this.charset=Objects.requireNonNull(_charset,"Mandatory parameter _charset");
+        this.path=URIUtils.getHostAndPath(_uri);
+        this.mapped=ConfigProviderFactory.isMapped(_uri);
+        this.sorted=ConfigParserFactory.isSorted(_uri);
+        this.provider=resolveProvider(_uri);
+        this.parser=(this.provider!=null)? resolveParser(_uri) : null;
+        this.glob=(this.provider==ConfigProviderFactory.FILE)? resolveGlob(this.path) : null;
+        this.counter=null;
+        this.populated=null;
+    }
+
+    private ResolvedLocation(final ResolvedLocation _location,final LongAdder _counter,final PopulatedProperties _populated) {
+        this.uri=_location.uri;
+        this.charset=_location.charset;
+        this.path=_location.path;
+        this.mapped=_location.mapped;
+        this.sorted=_location.sorted;
+        this.provider=_location.provider;
+        this.parser=_location.parser;
+        this.glob=_location.glob;
+        this.counter=_counter;
+        this.populated=_populated;
+    }
+
+    private static ConfigProvider resolveProvider(final URI _uri){
+        try{
+            return ConfigProviderFactory.valueOf(_uri);
+        }catch(UnsupportedConfigLocationScheme ex){
+            return null;
+        }
+    }
+    private static FileGlob resolveGlob(final String _path){
+        try{
+            return (FileGlob.isGlob(_path))? new FileGlob(_path) : null;
+        }catch(IllegalArgumentException ex){
+            return null;
+        }
+    }
+    private static ConfigParser resolveParser(final URI _uri){
+        try{
+            return ConfigParserFactory.valueOf(_uri);
+        }catch(UnsupportedConfigLocationFormat ex){
+            return null;
+        }
+    }
+
+    /**
+     * @return resolved uri
+     */
+    public URI getUri() {
+        return uri;
+    }
+    /**
+     * @return charset to decode/encode text formats
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+    /**
+     * @return uri host and path
+     * @see URIUtils#getHostAndPath(java.net.URI) 
+     */
+    public String getPath() {
+        return path;
+    }
+    /**
+     * @return true if the location must be memory mapped when possible (evaluated on construction)
+     * @see ConfigProviderFactory#isMapped(java.net.URI) 
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+    /**
+     * @return true if the location must be written sorted by key when the format supports it
+     * @see ConfigParserFactory#isSorted(java.net.URI) 
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+    /**
+     * @return true if the location path is a glob
+     * @see FileGlob#isGlob(java.lang.String) 
+     */
+    public boolean isGlob() {
+        return FileGlob.isGlob(this.path);
+    }
+    /**
+     * Glob of the location path compiled once for file locations, so its expansion is kept next to the location
+     * (and its counting copies) between fingerprint and read
+     * @return location path glob
+     * @throws IllegalArgumentException if the path is not a glob or its pattern is invalid
+     */
+    public FileGlob getGlob() {
+        return (this.glob!=null)? this.glob : new FileGlob(this.path);
+    }
+    /**
+     * @return location provider
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported
+     */
+    public ConfigProvider getProvider() {
+        return (this.provider!=null)? this.provider : ConfigProviderFactory.valueOf(this.uri);
+    }
+    /**
+     * @return location parser
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     */
+    public ConfigParser getParser() {
+        getProvider();
+        return (this.parser!=null)? this.parser : ConfigParserFactory.valueOf(this.uri);
+    }
+
+    /**
+     * Read the location, the returned stream closes the location when closed.
+     * Providers that return the configurations directly (as env://) do not need any parser
+     * @return stream of configurations or empty if the location does not exist
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported
+     * @throws UnsupportedConfigLocationFormat if the format of the location is not supported
+     * @see ConfigProvider#read(org.bytemechanics.config.manager.internal.ResolvedLocation) 
+     */
+    public Stream<Config> read(){
+        return getProvider()
+                    .read(this)
+                        .orElseGet(() -> getParser()
+                                            .read(this)
+                                                .orElse(Stream.empty()));
+    }
+    /**
+     * Fingerprint the location content to know if it changed since the last read
+     * @return fingerprint or LocationFingerprint.MISSING if the location does not exist
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported
+     * @see ConfigProvider#fingerprint(org.bytemechanics.config.manager.internal.ResolvedLocation) 
+     */
+    public LocationFingerprint fingerprint(){
+        return getProvider()
+                    .fingerprint(this);
+    }
+    /**
+     * Open the location to write
+     * @return output stream or empty if the provider can not create it
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported
+     * @throws UnsupportedOperationException if write operation is not supported by the location scheme
+     */
+    public Optional<OutputStream> openOutputStream(){
+        return getProvider()
+                    .openOutputStream(this);
+    }
+    /**
+     * Release the shared resources kept open for this location (nothing if its scheme is not supported)
+     * @see ConfigProvider#release(org.bytemechanics.config.manager.internal.ResolvedLocation) 
+     */
+    public void release(){
+        if(this.provider!=null)
+            this.provider.release(this);
+    }
+
+    /**
+     * Copy of this location that adds to the given counter the bytes consumed while it is read.
+     * Providers count the bytes of the opened streams and buffers (before decoding them) and
+     * the UTF-8 size of the keys and values of the configurations they return directly (as env://)
+     * @param _counter counter where add the consumed bytes
+     * @return equal location counting the consumed bytes
+     * @throws UnsupportedConfigLocationScheme if the scheme of the location is not supported
+     * @throws NullPointerException if the counter is null
+     * @see #count(java.io.InputStream) 
+     * @see #count(java.nio.ByteBuffer) 
+     * @see #count(java.util.stream.Stream) 
+     */
+    public ResolvedLocation counting(final LongAdder _counter){
+        getProvider();
+        return new ResolvedLocation(this, Objects.requireNonNull(_counter,"Mandatory parameter _counter"), this.populated);
+    }
+    /**
+     * Location read as part of this one (as the files of a glob) counting into the same counter
+     * @param _fragment location to count
+     * @return the fragment counting into this location counter or the same fragment if this location is not counted
+     */
+    ResolvedLocation countingFragment(final ResolvedLocation _fragment){
+        return (this.counter!=null)? new ResolvedLocation(_fragment, this.counter, _fragment.populated) : _fragment;
+    }
+    /**
+     * Copy of this location that reads the system properties as they were before the given manager populated them
+     * @param _populated properties populated by the manager that owns this location
+     * @return equal location ignoring the populated system properties
+     * @throws NullPointerException if the populated properties is null
+     * @see PopulatedProperties#unpopulated(java.util.List) 
+     */
+    public ResolvedLocation ignoring(final PopulatedProperties _populated){
+        return new ResolvedLocation(this, this.counter, Objects.requireNonNull(_populated,"Mandatory parameter _populated"));
+    }
+    /**
+     * System properties configurations of this location without the values populated by the manager that owns it (if any)
+     * @param _configs system properties configurations sorted by key
+     * @return configurations sorted by key
+     */
+    public List<Config> unpopulated(final List<Config> _configs){
+        return (this.populated!=null)? this.populated.unpopulated(_configs) : _configs;
+    }
+    /**
+     * Count the bytes read from the given input stream of this location
+     * @param _input opened input stream
+     * @return input stream counting its read bytes or the same input stream if this location is not counted
+     */
+    public InputStream count(final InputStream _input){
+        return (this.counter!=null)? new CountingInputStream(_input, this.counter) : _input;
+    }
+    /**
+     * Count the remaining bytes of the given buffer of this location (the whole content is consumed by the parsers)
+     * @param _buffer opened buffer
+     * @return the same buffer
+     */
+    public ByteBuffer count(final ByteBuffer _buffer){
+        if(this.counter!=null)
+            this.counter.add(_buffer.remaining());
+        return _buffer;
+    }
+    private static long utf8Length(final String _value){
+        return (_value!=null)? _value.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+    /**
+     * Count the UTF-8 size of the keys and values of the configurations returned directly for this location
+     * @param _configs configurations of this location
+     * @return stream counting its consumed configurations or the same stream if this location is not counted
+     */
+    public Stream<Config> count(final Stream<Config> _configs){
+        final LongAdder bytes=this.counter;
+        return (bytes!=null)? _configs.peek(config -> bytes.add(utf8Length(config.getKey())+utf8Length(config.getValue()))) : _configs;
+    }
+
+    /** @see Object#hashCode() */
+    @Override
+    public int hashCode() {
+        return 31*this.uri.hashCode()+this.charset.hashCode();
+    }
+    /** @see Object#equals(java.lang.Object) */
+    @Override
+    public boolean equals(final Object _other) {
+        if (this == _other) {
+            return true;
+        }
+        if ((_other == null)||(getClass() != _other.getClass())) {
+            return false;
+        }
+        final ResolvedLocation other = (ResolvedLocation) _other;
+        return this.uri.equals(other.uri)&&this.charset.equals(other.charset);
+    }
+    @Override
+    public String toString() {
+        return "ResolvedLocation{" + "uri=" + uri + ", charset=" + charset + '}';
+    }
+}
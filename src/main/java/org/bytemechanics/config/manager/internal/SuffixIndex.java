@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable case insensitive suffix lookup table built as a trie of the reversed suffixes.
+ * Lookups walk the text backwards from its last char so they do not allocate and cost the length of the longest matching suffix,
+ * independently of the number of registered suffixes. When several suffixes match the longest one wins.
+ * @param <T> indexed value type
+ * @author afarre
+ */
+public final class SuffixIndex<T> {
+
+    private static final class Node<T>{
+
+        private char[] keys=new char[0];
+        private Node<T>[] children=newArray(0);
+        private T value;
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(final int _size){
+            return (Node<T>[])new Node<?>[_size];
+        }
+        private Node<T> child(final char _key){
+            for(int ic1=0;ic1<this.keys.length;ic1++){
+                if(this.keys[ic1]==_key)
+                    return this.children[ic1];
+            }
+            return null;
+        }
+        private Node<T> getOrCreate(final char _key){
+            Node<T> reply=child(_key);
+            if(reply==null){
+                reply=new Node<>();
+                this.keys=Arrays.copyOf(this.keys, this.keys.length+1);
+                this.children=Arrays.copyOf(this.children, this.children.length+1);
+                this.keys[this.keys.length-1]=_key;
+                this.children[this.children.length-1]=reply;
+            }
+            return reply;
+        }
+    }
+
+    private final Node<T> root;
+
+    private SuffixIndex(final Node<T> _root){
+        this.root=_root;
+    }
+
+    private static char fold(final char _char){
+        return Character.toLowerCase(Character.toUpperCase(_char));
+    }
+
+    /**
+     * Build the index with the given suffixes
+     * @param <T> indexed value type
+     * @param _suffixes suffixes and its values (if the same suffix is repeated ignoring case the last one wins)
+     * @return immutable index
+     */
+    public static <T> SuffixIndex<T> of(final Map<String,T> _suffixes){
+        final Node<T> root=new Node<>();
+        _suffixes.forEach((suffix,value) -> {
+            Node<T> current=root;
+            for(int ic1=suffix.length()-1;ic1>=0;ic1--){
+                current=current.getOrCreate(fold(suffix.charAt(ic1)));
+            }
+            current.value=value;
+        });
+        return new SuffixIndex<>(root);
+    }
+
+    /**
+     * Find the value of the longest suffix of the text built concatenating _head and _tail, without concatenating them
+     * @param _head text start (null is ignored)
+     * @param _tail text end (null is ignored)
+     * @return the value of the longest matching suffix or null if none matches
+     */
+    public T get(final String _head,final String _tail){
+        T reply=this.root.value;
+        Node<T> current=this.root;
+        for(int ic2=0;ic2<2;ic2++){
+            final String part=(ic2==0)? _tail : _head;
+            if(part==null)
+                continue;
+            for(int ic1=part.length()-1;ic1>=0;ic1--){
+                current=current.child(fold(part.charAt(ic1)));
+                if(current==null)
+                    return reply;
+                if(current.value!=null)
+                    reply=current.value;
+            }
+        }
+        return reply;
+    }
+    /**
+     * Find the value of the longest suffix of the given text
+     * @param _text text to check
+     * @return the value of the longest matching suffix or null if none matches
+     */
+    public T get(final String _text){
+        return get(null,_text);
+    }
+}
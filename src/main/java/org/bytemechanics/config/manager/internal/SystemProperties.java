@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Consistent snapshot of the JVM system properties as configurations.
+ * The properties are copied with a single clone (one pass under the properties lock) instead of enumerating them while
+ * other threads change them, and only the String entries are converted to configurations without any text serialization
+ * @author afarre
+ */
+public final class SystemProperties {
+
+    private SystemProperties(){}
+
+    /**
+     * Snapshot the current system properties under the given key prefix (matching whole segments)
+     * @param _prefix key prefix, null or empty for all the properties
+     * @return configurations sorted by key
+     */
+    public static List<Config> snapshot(final String _prefix){
+        return snapshot(System.getProperties(), _prefix);
+    }
+    /**
+     * Snapshot the given properties under the given key prefix (matching whole segments)
+     * @param _properties properties to snapshot
+     * @param _prefix key prefix, null or empty for all the properties
+     * @return configurations sorted by key
+     */
+    static List<Config> snapshot(final Properties _properties,final String _prefix){
+        final Map<?,?> copy=(Map<?,?>)_properties.clone();
+        final String prefix=(_prefix==null)? "" : _prefix;
+        final int length=prefix.length();
+        final List<Config> reply=new ArrayList<>(copy.size());
+        for(Map.Entry<?,?> entry:copy.entrySet()){
+            if((entry.getKey() instanceof String)&&(entry.getValue() instanceof String)){
+                final String key=(String)entry.getKey();
+                if((length==0)||((key.startsWith(prefix))&&((key.length()==length)||(key.charAt(length)=='.')||(key.charAt(length)=='['))))
+                    reply.add(Config.of(key, (String)entry.getValue()));
+            }
+        }
+        reply.sort((config1,config2) -> config1.getKey().compareTo(config2.getKey()));
+        return Collections.unmodifiableList(reply);
+    }
+}
@@ -15,7 +15,10 @@
  */
 package org.bytemechanics.config.manager.internal;
 
+import java.io.UnsupportedEncodingException;
 import java.net.URI;
+import java.net.URLDecoder;
+import java.util.Optional;
 
 /**
  *
@@ -24,11 +27,45 @@ import java.net.URI;
 public class URIUtils {
     
     /**
-     * Extract host plus path in one single concatenated string
+     * Extract host plus path in one single concatenated string, 
+     * the authority replaces the host when it is not a valid host name (file://my_folder/...) and an empty authority keeps the absolute path (zip:///opt/...)
      * @param _uri uri from where extract the path
      * @return concatenated host and path
      */
     public static final String getHostAndPath(final URI _uri){
-        return ""+_uri.getHost()+_uri.getPath();
+        final String host=(_uri.getHost()!=null)? _uri.getHost() : _uri.getAuthority();
+        return ((host!=null)? host : "")+_uri.getPath();
+    }
+    
+    /**
+     * Extract the given query parameter value (first occurrence) from the uri query
+     * @param _uri uri from where extract the parameter
+     * @param _name parameter name
+     * @return the decoded parameter value, an empty string if the parameter has no value or empty if the parameter is not present
+     */
+    public static final Optional<String> getQueryParameter(final URI _uri,final String _name){
+        
+        final String query=_uri.getRawQuery();
+        if(query==null)
+            return Optional.empty();
+        int start=0;
+        while(start<=query.length()){
+            int end=query.indexOf('&',start);
+            if(end<0)
+                end=query.length();
+            final int equals=query.indexOf('=',start);
+            final int nameEnd=((equals<0)||(equals>end))? end : equals;
+            if((nameEnd-start==_name.length())&&(query.startsWith(_name,start)))
+                return Optional.of((nameEnd==end)? "" : decode(query.substring(nameEnd+1, end)));
+            start=end+1;
+        }
+        return Optional.empty();
+    }
+    private static String decode(final String _value){
+        try {
+            return URLDecoder.decode(_value, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException("UTF-8 charset is mandatory for any jvm",ex);
+        }
     }
 }
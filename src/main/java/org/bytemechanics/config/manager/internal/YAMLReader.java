@@ -0,0 +1,280 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.BufferedReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.internal.commons.string.SimpleFormat;
+
+/**
+ * Incremental reader for the simplified yaml format (no profiles nor inline arrays).
+ * Parses one line at a time keeping only the open nesting levels, dotted keys are built over a single shared prefix buffer
+ * truncated to the parent level length instead of concatenating each segment per line.
+ * Lists are flattened as key[index] and, when appendListLength is enabled, its size is emitted as key[*].length once the list closes.
+ * @author afarre
+ */
+public class YAMLReader extends FilterReader{
+
+    private static final int UNKNOWN=-1;
+    protected static final String LIST_LENGTH_SUFFIX="[*].length";
+    protected static final String MALFORMED_LINE="Unable to parse yaml line {}: {}";
+
+    /**
+     * Open nesting level
+     */
+    private static final class Level{
+
+        private final int keyIndent;
+        private final int pathLength;
+        private int childIndent;
+        private int listLength;
+
+        Level(final int _keyIndent,final int _pathLength,final int _childIndent){
+            this.keyIndent=_keyIndent;
+            this.pathLength=_pathLength;
+            this.childIndent=_childIndent;
+            this.listLength=UNKNOWN;
+        }
+        boolean isList(){
+            return this.listLength!=UNKNOWN;
+        }
+    }
+
+    private final BufferedReader lines;
+    private final boolean appendListLength;
+    private final StringBuilder path;
+    private final Deque<Level> levels;
+    private final Deque<Config> pending;
+    private int lineNumber;
+    private boolean finished;
+
+
+    /**
+     * Default constructor with appendListLength set true
+     * @param _reader parent reader
+     */
+    public YAMLReader(final Reader _reader) {
+        this(_reader,true);
+    }
+    /**
+     * Constructor capable to define appendListLength value
+     * @param _reader parent reader
+     * @param _appendListLength append list length as an additional property
+     */
+    public YAMLReader(final Reader _reader,final boolean _appendListLength) {
+        super(_reader);
+        this.lines=(_reader instanceof BufferedReader)? (BufferedReader)_reader : new BufferedReader(_reader);
+        this.appendListLength=_appendListLength;
+        this.path=new StringBuilder(128);
+        this.levels=new ArrayDeque<>();
+        this.levels.push(new Level(UNKNOWN, 0, UNKNOWN));
+        this.pending=new ArrayDeque<>();
+        this.lineNumber=0;
+        this.finished=false;
+    }
+
+
+    private UncheckedIOException malformed(final String _line){
+        return new UncheckedIOException(new IOException(SimpleFormat.format(MALFORMED_LINE, this.lineNumber, _line)));
+    }
+    private static int skipSpaces(final String _line,final int _from){
+        int reply=_from;
+        while((reply<_line.length())&&(_line.charAt(reply)==' '))
+            reply++;
+        return reply;
+    }
+    private static int separator(final String _line,final int _from){
+        int reply=_line.indexOf(':',_from);
+        while((reply>=0)&&(reply+1<_line.length())&&(_line.charAt(reply+1)!=' ')){
+            reply=_line.indexOf(':',reply+1);
+        }
+        return reply;
+    }
+    private static boolean isDash(final String _line,final int _indent){
+        return (_line.charAt(_indent)=='-')
+                &&((_line.length()==_indent+1)||(_line.charAt(_indent+1)==' '));
+    }
+    private void emit(final String _value){
+        this.pending.add(Config.of(this.path.toString(), _value));
+    }
+    private void appendSegment(final Level _parent,final String _line,final int _from,final int _to){
+        this.path.setLength(_parent.pathLength);
+        if(_parent.pathLength>0)
+            this.path.append('.');
+        this.path.append(_line,_from,_to);
+        while((this.path.length()>0)&&(this.path.charAt(this.path.length()-1)==' '))
+            this.path.setLength(this.path.length()-1);
+    }
+
+    /**
+     * Close the top level emitting the empty value if it never had content or the list length if it was a list
+     */
+    private void closeLevel(){
+        final Level level=this.levels.pop();
+        this.path.setLength(level.pathLength);
+        if(level.isList()){
+            if(this.appendListLength){
+                this.path.append(LIST_LENGTH_SUFFIX);
+                emit(String.valueOf(level.listLength));
+            }
+        }else if(level.childIndent==UNKNOWN){
+            emit("");
+        }
+    }
+    /**
+     * Close all levels that can not contain a line with the given indentation
+     * @param _indent line indentation
+     * @param _isDash true if the line is a list item
+     */
+    private void closeLevels(final int _indent,final boolean _isDash){
+        while(this.levels.size()>1){
+            final Level top=this.levels.peek();
+            final boolean contained;
+            if(top.childIndent==UNKNOWN){
+                contained=(_isDash)? _indent>=top.keyIndent : _indent>top.keyIndent;
+            }else if(top.isList()){
+                contained=(_isDash)&&(_indent==top.childIndent);
+            }else{
+                contained=_indent>=top.childIndent;
+            }
+            if(contained)
+                return;
+            closeLevel();
+        }
+    }
+    /**
+     * Parse a "key: value" or "key:" content starting at the given position
+     * @param _line full line
+     * @param _from content start
+     */
+    private void parseEntry(final String _line,final int _from){
+
+        final Level parent=this.levels.peek();
+        if(parent.isList())
+            throw malformed(_line);
+        if(parent.childIndent==UNKNOWN)
+            parent.childIndent=_from;
+        final int separator=separator(_line,_from);
+        if(separator<0)
+            throw malformed(_line);
+        appendSegment(parent, _line, _from, separator);
+        final String value=_line.substring(separator+1).trim();
+        if(value.isEmpty()){
+            this.levels.push(new Level(_from, this.path.length(), UNKNOWN));
+        }else{
+            emit(value);
+        }
+    }
+    /**
+     * Parse a "- ..." list item line
+     * @param _line full line
+     * @param _indent dash position
+     */
+    private void parseItem(final String _line,final int _indent){
+
+        final Level list=this.levels.peek();
+        if(list.childIndent==UNKNOWN){
+            list.childIndent=_indent;
+            list.listLength=0;
+        }
+        if(!list.isList())
+            throw malformed(_line);
+        this.path.setLength(list.pathLength);
+        this.path.append('[').append(list.listLength++).append(']');
+        final int contentIndent=skipSpaces(_line, _indent+1);
+        if(contentIndent>=_line.length()){
+            this.levels.push(new Level(_indent, this.path.length(), UNKNOWN));
+        }else if((separator(_line,contentIndent)<0)||(isDash(_line, contentIndent))){
+            emit(_line.substring(contentIndent).trim());
+        }else{
+            this.levels.push(new Level(_indent, this.path.length(), contentIndent));
+            parseEntry(_line, contentIndent);
+        }
+    }
+    /**
+     * Parse the given line queuing the properties it completes
+     * @param _line line to parse
+     */
+    protected void parseLine(final String _line){
+
+        final int indent=skipSpaces(_line, 0);
+        if((indent==_line.length())||(_line.charAt(indent)=='#'))
+            return;
+        if((indent==0)&&((_line.startsWith("---"))||(_line.startsWith("..."))))
+            return;
+        final boolean dash=isDash(_line, indent);
+        closeLevels(indent,dash);
+        if(dash){
+            parseItem(_line, indent);
+        }else{
+            parseEntry(_line, indent);
+        }
+    }
+
+    /**
+     * Read lines until at least one property is available or the end of the stream is reached
+     * @return next property or null if there are no more
+     * @throws IOException if the underlaying reader fails
+     */
+    protected Config readConfig() throws IOException{
+
+        while((this.pending.isEmpty())&&(!this.finished)){
+            final String line=this.lines.readLine();
+            if(line==null){
+                while(this.levels.size()>1)
+                    closeLevel();
+                this.finished=true;
+            }else{
+                this.lineNumber++;
+                parseLine(line);
+            }
+        }
+        return this.pending.poll();
+    }
+
+    /**
+     * Stream properties lazily, each line is parsed only when the stream requests more properties
+     * @return Stream of configurations in order of completion
+     * @throws UncheckedIOException if the underlaying reader fails or a line can not be parsed during the stream consumption
+     */
+    public Stream<Config> stream(){
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<Config>(Long.MAX_VALUE,Spliterator.ORDERED|Spliterator.NONNULL){
+                                            @Override
+                                            public boolean tryAdvance(final Consumer<? super Config> _action) {
+                                                try {
+                                                    final Config config=readConfig();
+                                                    if(config==null)
+                                                        return false;
+                                                    _action.accept(config);
+                                                    return true;
+                                                } catch (IOException ex) {
+                                                    throw new UncheckedIOException(ex);
+                                                }
+                                            }
+                                        },false);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+
+/**
+ * Streaming writer for the simplified yaml format read by YAMLReader.
+ * Configurations are sorted by segment aware key through a ConfigSorter (spilling to temporary files for big configurations)
+ * and emitted one by one, each entry only writes the segments that differ from the previous key, so the hierarchy is built
+ * keeping only the previous key and its indentation per level. List lengths (key[*].length) are skipped as they are implicit in yaml.
+ * @author afarre
+ */
+public class YAMLWriter extends FilterWriter{
+
+    private static final int INDENT=2;
+
+    private final ConfigSorter sorter;
+    private ConfigKey previous;
+    private int[] indents;
+
+
+    /**
+     * Writer with the default sorter
+     * @param _writer parent writer
+     * @see ConfigSorter#ConfigSorter()
+     */
+    public YAMLWriter(final Writer _writer) {
+        this(_writer,new ConfigSorter());
+    }
+    /**
+     * Constructor capable to define the sorter
+     * @param _writer parent writer (buffered if it is not already)
+     * @param _sorter sorter to order the configurations before writing
+     */
+    public YAMLWriter(final Writer _writer,final ConfigSorter _sorter) {
+        super((_writer instanceof BufferedWriter)? _writer : new BufferedWriter(_writer));
+        this.sorter=_sorter;
+        this.previous=null;
+        this.indents=new int[8];
+    }
+
+    private void writeIndent(final int _indent) throws IOException{
+        for(int ic1=0;ic1<_indent;ic1++){
+            this.out.write(' ');
+        }
+    }
+    private void writeValue(final String _value) throws IOException{
+        if((_value!=null)&&(!_value.isEmpty())){
+            this.out.write(' ');
+            this.out.write(_value);
+        }
+        this.out.write('\n');
+    }
+
+    /**
+     * Write the segments of the given key not shared with the previous written key.
+     * A list item writes its dash in the same line than its first child, except when the child is another list item
+     * @param _key key to write, must be greater than the previous one
+     * @throws IOException if the underlaying writer fails
+     */
+    protected void write(final ConfigKey _key) throws IOException{
+
+        final int size=_key.size();
+        if(size==0)
+            return;
+        if(this.indents.length<size)
+            this.indents=Arrays.copyOf(this.indents, Math.max(size, this.indents.length*2));
+        boolean lineStart=true;
+        for(int ic1=Math.min(_key.commonSegments(this.previous),size-1);ic1<size;ic1++){
+            final int indent=(ic1==0)? 0 : this.indents[ic1-1]+INDENT;
+            final boolean last=(ic1==size-1);
+            this.indents[ic1]=indent;
+            if(lineStart)
+                writeIndent(indent);
+            if(_key.isIndex(ic1)){
+                this.out.write('-');
+                if(last){
+                    writeValue(_key.getValue());
+                }else if(_key.isIndex(ic1+1)){
+                    this.out.write('\n');
+                    lineStart=true;
+                }else{
+                    this.out.write(' ');
+                    lineStart=false;
+                }
+            }else{
+                this.out.write(_key.segment(ic1));
+                this.out.write(':');
+                if(last){
+                    writeValue(_key.getValue());
+                }else{
+                    this.out.write('\n');
+                }
+                lineStart=true;
+            }
+        }
+        this.previous=_key;
+    }
+
+    /**
+     * Sort and write the given configurations as yaml and flush the writer
+     * @param _config configurations to write
+     * @throws UncheckedIOException if the underlaying writer or the sorter temporary files fail
+     */
+    public void write(final Stream<Config> _config){
+
+        try(Stream<ConfigKey> sorted=this.sorter.sort(_config.filter(config -> !config.getKey().endsWith(YAMLReader.LIST_LENGTH_SUFFIX)))){
+            final Iterator<ConfigKey> keys=sorted.iterator();
+            while(keys.hasNext()){
+                write(keys.next());
+            }
+            this.out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigDiffTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigDiffTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigDiffTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static ConfigSnapshot snapshot(final ConfigSnapshot _previous,final Config... _configs){
+        return _previous.next(ConfigIndex.of(Stream.of(_configs)));
+    }
+
+    @Test
+    public void testBetween_null() {
+        Assertions.assertAll(() -> Assertions.assertThrows(NullPointerException.class, () -> ConfigDiff.between(null, ConfigSnapshot.EMPTY)),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> ConfigDiff.between(ConfigSnapshot.EMPTY, null)));
+    }
+    @Test
+    public void testBetween_same() {
+        final ConfigSnapshot first=snapshot(ConfigSnapshot.EMPTY, Config.of("a", "1"));
+        final ConfigSnapshot second=snapshot(first, Config.of("a", "1"));
+        final ConfigDiff sameInstance=ConfigDiff.between(first, first);
+        final ConfigDiff sameContent=ConfigDiff.between(first, second);
+        Assertions.assertAll(() -> Assertions.assertTrue(sameInstance.isEmpty()),
+                                () -> Assertions.assertTrue(sameContent.isEmpty()),
+                                () -> Assertions.assertEquals(0, sameContent.size()),
+                                () -> Assertions.assertEquals(1, sameContent.getFromVersion()),
+                                () -> Assertions.assertEquals(2, sameContent.getToVersion()),
+                                () -> Assertions.assertEquals("ConfigDiff{fromVersion=1, toVersion=2, changes=0}", sameContent.toString()));
+    }
+    @Test
+    public void testBetween_empty() {
+        final ConfigSnapshot first=snapshot(ConfigSnapshot.EMPTY, Config.of("b", "2"), Config.of("a", "1"));
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(new ConfigDiff.Change(ConfigDiff.Type.ADDED, "a", null, "1"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.ADDED, "b", null, "2")),
+                                                            ConfigDiff.between(ConfigSnapshot.EMPTY, first).getChanges()),
+                                () -> Assertions.assertEquals(Arrays.asList(new ConfigDiff.Change(ConfigDiff.Type.REMOVED, "a", "1", null),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.REMOVED, "b", "2", null)),
+                                                            ConfigDiff.between(first, ConfigSnapshot.EMPTY).getChanges()));
+    }
+    @Test
+    public void testBetween() {
+        final ConfigSnapshot first=snapshot(ConfigSnapshot.EMPTY, Config.of("db.url", "jdbc:a"), Config.of("db.pool.size", "10"), Config.of("list[2]", "c"),
+                                                                    Config.of("list[10]", "k"), Config.of("removed", "r"), Config.of("nulled", "n"));
+        final ConfigSnapshot second=snapshot(first, Config.of("db.url", "jdbc:b"), Config.of("db.pool.size", "10"), Config.of("db.pool.timeout", "5s"),
+                                                                    Config.of("list[2]", "c"), Config.of("list[10]", "x"), Config.of("nulled", null));
+        final ConfigDiff diff=ConfigDiff.between(first, second);
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(new ConfigDiff.Change(ConfigDiff.Type.ADDED, "db.pool.timeout", null, "5s"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "db.url", "jdbc:a", "jdbc:b"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "list[10]", "k", "x"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "nulled", "n", null),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.REMOVED, "removed", "r", null)),
+                                                            diff.getChanges()),
+                                () -> Assertions.assertEquals(Collections.singletonList("db.pool.timeout"), diff.stream(ConfigDiff.Type.ADDED).map(ConfigDiff.Change::getKey).collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(Arrays.asList("db.url","list[10]","nulled"), diff.stream(ConfigDiff.Type.CHANGED).map(ConfigDiff.Change::getKey).collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(Collections.singletonList("removed"), diff.stream(ConfigDiff.Type.REMOVED).map(ConfigDiff.Change::getKey).collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(5, diff.stream().count()),
+                                () -> Assertions.assertThrows(UnsupportedOperationException.class, () -> diff.getChanges().clear()));
+    }
+    @Test
+    public void testBetween_big() {
+        final ConfigSnapshot first=ConfigSnapshot.EMPTY.next(ConfigIndex.of(Stream.iterate(0, ic1 -> ic1+1).limit(1000).map(ic1 -> Config.of("key["+ic1+"]", String.valueOf(ic1)))));
+        final ConfigSnapshot second=first.next(ConfigIndex.of(Stream.iterate(0, ic1 -> ic1+1).limit(1000).filter(ic1 -> ic1!=500).map(ic1 -> Config.of("key["+ic1+"]", (ic1==999)? "last" : String.valueOf(ic1)))));
+        final List<ConfigDiff.Change> changes=ConfigDiff.between(first, second).getChanges();
+        Assertions.assertEquals(Arrays.asList(new ConfigDiff.Change(ConfigDiff.Type.REMOVED, "key[500]", "500", null),
+                                                new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "key[999]", "999", "last")),
+                                changes);
+    }
+    @Test
+    public void testSubtree() {
+        final ConfigSnapshot first=snapshot(ConfigSnapshot.EMPTY, Config.of("db", "x"), Config.of("db.url", "jdbc:a"), Config.of("dbx", "1"), Config.of("db[0]", "0"), Config.of("other", "o"));
+        final ConfigDiff diff=ConfigDiff.between(ConfigSnapshot.EMPTY, first);
+        final ConfigDiff db=diff.subtree("db");
+        Assertions.assertAll(() -> Assertions.assertSame(diff, diff.subtree("")),
+                                () -> Assertions.assertEquals(Arrays.asList("db","db[0]","db.url"), db.stream().map(ConfigDiff.Change::getKey).collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(0, db.getFromVersion()),
+                                () -> Assertions.assertEquals(1, db.getToVersion()),
+                                () -> Assertions.assertEquals(Collections.singletonList("db.url"), diff.subtree("db.url").stream().map(ConfigDiff.Change::getKey).collect(Collectors.toList())),
+                                () -> Assertions.assertTrue(diff.subtree("db.pool").isEmpty()),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> diff.subtree(null)));
+    }
+    @Test
+    public void testChange() {
+        final ConfigDiff.Change change=new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "a", "1", "2");
+        Assertions.assertAll(() -> Assertions.assertEquals(ConfigDiff.Type.CHANGED, change.getType()),
+                                () -> Assertions.assertEquals("a", change.getKey()),
+                                () -> Assertions.assertEquals("1", change.getOldValue()),
+                                () -> Assertions.assertEquals("2", change.getNewValue()),
+                                () -> Assertions.assertEquals(new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "a", "1", "2").hashCode(), change.hashCode()),
+                                () -> Assertions.assertNotEquals(new ConfigDiff.Change(ConfigDiff.Type.CHANGED, "a", "1", "3"), change),
+                                () -> Assertions.assertEquals("Change{type=CHANGED, key=a, oldValue=1, newValue=2}", change.toString()));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigIndexTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigIndexTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigIndexTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static ConfigIndex index(){
+        return ConfigIndex.of(Stream.of(
+                                    Config.of("server.port", "8080"),
+                                    Config.of("db.pool.size", "10"),
+                                    Config.of("db.pool.timeout", "30"),
+                                    Config.of("db.poolName", "main"),
+                                    Config.of("db.url", "jdbc:test"),
+                                    Config.of("db.pool.size", "20"),
+                                    Config.of("db", "root-value"),
+                                    Config.of("db.hosts[10]", "h10"),
+                                    Config.of("db.hosts[2]", "h2"),
+                                    Config.of("db.hosts[*].length", "2"),
+                                    Config.of("nullable", null)));
+    }
+    private static List<String> keys(final ConfigIndex _index){
+        return _index.stream()
+                        .map(Config::getKey)
+                        .collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> getDataPack() {
+        return Stream.of(
+                Arguments.of("server.port", Optional.of(Config.of("server.port", "8080"))),
+                Arguments.of("db.pool.size", Optional.of(Config.of("db.pool.size", "20"))),
+                Arguments.of("db", Optional.of(Config.of("db", "root-value"))),
+                Arguments.of("db.hosts[2]", Optional.of(Config.of("db.hosts[2]", "h2"))),
+                Arguments.of("db.hosts[*].length", Optional.of(Config.of("db.hosts[*].length", "2"))),
+                Arguments.of("nullable", Optional.of(Config.of("nullable", null))),
+                Arguments.of("db.pool", Optional.empty()),
+                Arguments.of("db.pool.size.other", Optional.empty()),
+                Arguments.of("db.poo", Optional.empty()),
+                Arguments.of("unknown", Optional.empty()),
+                Arguments.of("", Optional.empty())
+        );
+    }
+    @ParameterizedTest(name = "Get {0} should return {1}")
+    @MethodSource("getDataPack")
+    public void testGet(final String _key,final Optional<Config> _expected) {
+        Assertions.assertEquals(_expected, index().get(_key));
+    }
+
+    @Test
+    public void testStream() {
+        final ConfigIndex index=index();
+        Assertions.assertEquals(10, index.size());
+        Assertions.assertEquals("[db, db.hosts[2], db.hosts[10], db.hosts[*].length, db.pool.size, db.pool.timeout, db.poolName, db.url, nullable, server.port]", keys(index).toString());
+    }
+
+    static Stream<Arguments> subtreeDataPack() {
+        return Stream.of(
+                Arguments.of("db.pool", "db.pool", "[db.pool.size, db.pool.timeout]"),
+                Arguments.of("db.hosts", "db.hosts", "[db.hosts[2], db.hosts[10], db.hosts[*].length]"),
+                Arguments.of("db.pool.size", "db.pool.size", "[db.pool.size]"),
+                Arguments.of("db.missing", "db.missing", "[]"),
+                Arguments.of("", "", "[db, db.hosts[2], db.hosts[10], db.hosts[*].length, db.pool.size, db.pool.timeout, db.poolName, db.url, nullable, server.port]")
+        );
+    }
+    @ParameterizedTest(name = "Subtree {0} should have prefix {1} and contain {2}")
+    @MethodSource("subtreeDataPack")
+    public void testSubtree(final String _prefix,final String _expectedPrefix,final String _expected) {
+        final ConfigIndex subtree=index().subtree(_prefix);
+        Assertions.assertAll(() -> Assertions.assertEquals(_expectedPrefix, subtree.getPrefix()),
+                                () -> Assertions.assertEquals(_expected, keys(subtree).toString()),
+                                () -> Assertions.assertEquals(keys(subtree).size(), subtree.size()),
+                                () -> Assertions.assertEquals(keys(subtree).isEmpty(), subtree.isEmpty()));
+    }
+
+    @Test
+    public void testSubtree_nested() {
+        final ConfigIndex db=index().subtree("db");
+        final ConfigIndex pool=db.subtree("pool");
+        final ConfigIndex hosts=db.subtree("hosts");
+        Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("db", "root-value")), db.get("")),
+                                () -> Assertions.assertEquals("db.pool", pool.getPrefix()),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.pool.size", "20")), pool.get("size")),
+                                () -> Assertions.assertEquals("db.hosts[10]", hosts.subtree("[10]").getPrefix()),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.hosts[10]", "h10")), hosts.get("[10]")),
+                                () -> Assertions.assertEquals(Optional.empty(), pool.get("url")));
+    }
+
+    @Test
+    public void testOf_empty() {
+        final ConfigIndex index=ConfigIndex.of(Stream.empty());
+        Assertions.assertAll(() -> Assertions.assertTrue(index.isEmpty()),
+                                () -> Assertions.assertEquals(0, index.stream().count()),
+                                () -> Assertions.assertEquals(Optional.empty(), index.get("a")),
+                                () -> Assertions.assertTrue(index.subtree("a").isEmpty()));
+    }
+
+    @Test
+    public void testOf_deep() {
+        final String key=IntStream.range(0, 200)
+                                    .mapToObj(level -> "level"+level)
+                                    .collect(Collectors.joining("."));
+        final ConfigIndex index=ConfigIndex.of(Stream.of(Config.of(key, "deep")));
+        Assertions.assertEquals(Optional.of(Config.of(key, "deep")), index.get(key));
+        Assertions.assertEquals(1, index.subtree("level0.level1").stream().count());
+    }
+}
@@ -15,31 +15,60 @@
  */
 package org.bytemechanics.config.manager;
 
+import com.sun.net.httpserver.HttpServer;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.bytemechanics.config.manager.exceptions.UnreadableConfigLocation;
+import org.bytemechanics.config.manager.exceptions.UnresolvableConfigValue;
 import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationFormat;
 import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationScheme;
+import org.bytemechanics.config.manager.internal.ArchiveFiles;
+import org.bytemechanics.config.manager.internal.ResolvedLocation;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -66,6 +95,9 @@ public class ConfigManagerImplTest {
         System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
     }
 
+    @TempDir
+    Path temporal;
+
     @Test
     public void testConstructor_uri_charset() throws URISyntaxException {
         final List<URI> locations=Stream.of(new URI("file://src/test/resources/test.properties"),new URI("file://src/test/resources/test.yaml"),new URI("classpath://org/bytemechanics/config/manager/internal/test.Yml"))
@@ -73,7 +105,19 @@ public class ConfigManagerImplTest {
         final Charset charset=Charset.forName("UTF-8");
         ConfigManagerImpl instance = new ConfigManagerImpl(locations, charset);
         Assertions.assertAll(() -> Assertions.assertEquals(locations, instance.getLocations()),
-                               () -> Assertions.assertEquals(charset, instance.getCharset()));
+                               () -> Assertions.assertEquals(charset, instance.getCharset()),
+                               () -> Assertions.assertEquals(locations.stream().map(location -> new ResolvedLocation(location,charset)).collect(Collectors.toList()), instance.getResolvedLocations()));
+    }
+    @Test
+    public void testConstructor_locationsCopied() throws URISyntaxException {
+        final List<URI> locations=Stream.of(new URI("file://src/test/resources/test.properties"),new URI("file://src/test/resources/test.yaml"))
+                                        .collect(Collectors.toList());
+        final List<URI> expected=new ArrayList<>(locations);
+        ConfigManagerImpl instance = new ConfigManagerImpl(locations, Charset.forName("UTF-8"));
+        locations.add(new URI("classpath://org/bytemechanics/config/manager/internal/test.Yml"));
+        Assertions.assertAll(() -> Assertions.assertEquals(expected, instance.getLocations()),
+                               () -> Assertions.assertEquals(expected.size(), instance.getResolvedLocations().size()),
+                               () -> Assertions.assertThrows(UnsupportedOperationException.class,() -> instance.getLocations().clear()));
     }
     @Test
     public void testConstructor_nulls() throws URISyntaxException {
@@ -164,7 +208,8 @@ public class ConfigManagerImplTest {
                 Arguments.of(null,null,NullPointerException.class),
                 Arguments.of("file://target/tests/config-out.propertis",Paths.get("src/test/resources/test-parsed-yaml.properties"),UnsupportedConfigLocationFormat.class),
                 Arguments.of("classpath://target/tests/config-out.yamel",Paths.get("src/test/resources/test-parsed-yaml.properties"),UnsupportedConfigLocationFormat.class),
-                Arguments.of("file://target",Paths.get("src/test/resources/test-parsed-yaml.properties"),UnsupportedConfigLocationFormat.class)
+                Arguments.of("file://target",Paths.get("src/test/resources/test-parsed-yaml.properties"),UnsupportedConfigLocationFormat.class),
+                Arguments.of("file://target/tests/config-out.cfgbin",Paths.get("src/test/resources/test-parsed-yaml.properties"),UnsupportedOperationException.class)
         );
     }
     @ParameterizedTest(name = "When read from {0} and {1} should raise {2}")
@@ -181,6 +226,36 @@ public class ConfigManagerImplTest {
             Assertions.assertThrows(_exception,() -> instance.read(_location,null));
         }
     }
+    @Test
+    public void testRead_URI_Reader_unreadable() throws URISyntaxException {
+        final Reader failing=new Reader() {
+                                    @Override
+                                    public int read(final char[] _buffer, final int _offset, final int _length) throws IOException {
+                                        throw new IOException("broken reader");
+                                    }
+                                    @Override
+                                    public void close() {
+                                    }
+                                };
+        final URI location=new URI("file://target/tests/config-unreadable.properties");
+        ConfigManagerImpl instance = new ConfigManagerImpl((URI[])new URI[0]);
+        final Stream<Config> configs=instance.read(location,failing);
+        final UnreadableConfigLocation failure=Assertions.assertThrows(UnreadableConfigLocation.class, () -> configs.collect(Collectors.toList()));
+        Assertions.assertAll(() -> Assertions.assertTrue(failure.getCause() instanceof UncheckedIOException),
+                                () -> Assertions.assertEquals("broken reader",failure.getCause().getCause().getMessage()));
+    }
+    @Test
+    public void testReadAll_unreadable() {
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-unreadable.properties"){
+                                            @Override
+                                            protected Stream<Config> read(final ResolvedLocation _location) {
+                                                return Stream.<Config>generate(() -> { throw new UncheckedIOException(new IOException("broken location")); });
+                                            }
+                                        };
+        final ResolvedLocation location=new ResolvedLocation(URI.create("file://target/tests/config-unreadable.properties"), StandardCharsets.UTF_8);
+        Assertions.assertAll(() -> Assertions.assertThrows(UnreadableConfigLocation.class, () -> instance.readAll(location)),
+                                () -> Assertions.assertThrows(UnreadableConfigLocation.class, () -> instance.withMetrics(new InMemoryConfigMetrics()).readAll(location)));
+    }
    
     static Stream<Arguments> writeDataPack() {
         return Stream.of(
@@ -273,7 +348,7 @@ public class ConfigManagerImplTest {
 
     static Stream<Arguments> inputReadSimpleWrongDataPack() {
         return Stream.of(
-                Arguments.of("http://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
+                Arguments.of("ftp://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
                 Arguments.of("classpath://org/bytemechanics/config/manager/internal/URIUtils.javaw",UnsupportedConfigLocationFormat.class)
         );
     }
@@ -325,7 +400,7 @@ public class ConfigManagerImplTest {
 
     static Stream<Arguments> inputWriteSimpleWrongDataPack() {
         return Stream.of(
-                Arguments.of("http://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
+                Arguments.of("ftp://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
                 Arguments.of("classpath://org/bytemechanics/config/manager/internal/URIUtils.javaw",UnsupportedOperationException.class)
         );
     }
@@ -338,6 +413,31 @@ public class ConfigManagerImplTest {
         Assertions.assertThrows(_exception,() -> instance.write(_location,Stream.empty()));
     }
     
+    static Stream<Arguments> binaryDataPack() {
+        return Stream.of(
+                Arguments.of("file://target/tests/config-write-out.cfgbin","file://target/tests/config-write-out.cfgbin",Paths.get("src/test/resources/test-parsed-yaml.properties")),
+                Arguments.of("file://target/tests/config-write-mapped-out.cfgbin","file://target/tests/config-write-mapped-out.cfgbin?mapped=true",Paths.get("src/test/resources/test-parsed-properties.properties"))
+        );
+    }
+    @ParameterizedTest(name = "When write {2} to binary location {0} should read the same content from {1}")
+    @MethodSource("binaryDataPack")
+    public void testWrite_read_binary(final String _target,final String _source,final Path _content) throws URISyntaxException, IOException {
+        Properties properties=new Properties();
+        try(Reader reader=Files.newBufferedReader(_content,Charset.forName("UTF-8"))){
+            properties.load(reader);
+        }
+        List<Config> expected=properties.entrySet()
+                                            .stream()
+                                                .map(entry -> Config.of((String)entry.getKey(),(String)entry.getValue()))
+                                                .sorted()
+                                                .collect(Collectors.toList());
+        ConfigManagerImpl instance = new ConfigManagerImpl((URI[])new URI[0]);
+        instance.write(new URI(_target),expected.stream());
+        try(Stream<Config> stream=instance.read(new URI(_source))){
+            Assertions.assertEquals(expected,stream.collect(Collectors.toList()));
+        }
+    }
+
     @Test
     public void testStream() throws IOException{
         ConfigManagerImpl instance = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml","classpath://integral-test.yml","classpath://org/bytemechanics/config/manager/internal/integral-test-2.yaml","classpath://integral-test-3.properties");
@@ -359,6 +459,236 @@ public class ConfigManagerImplTest {
                                 () -> Assertions.assertEquals(expected,actual));
     }
 
+    @Test
+    public void testIndex() throws IOException{
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml","classpath://integral-test.yml","classpath://org/bytemechanics/config/manager/internal/integral-test-2.yaml","classpath://integral-test-3.properties");
+        List<Config> expected=instance.stream()
+                                    .sorted()
+                                    .collect(Collectors.toList());
+        ConfigIndex index=instance.index();
+        Assertions.assertAll(() -> Assertions.assertEquals(expected,index.stream().sorted().collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("data.non-overloaded.list[3].name","non-overloaded-list-name-4")),index.get("data.non-overloaded.list[3].name")),
+                                () -> Assertions.assertEquals(expected.stream().filter(config -> config.getKey().startsWith("data.double-overload.")).collect(Collectors.toList())
+                                                                ,index.subtree("data.double-overload").stream().sorted().collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testStream_parallel() throws IOException{
+        final AtomicInteger submitted=new AtomicInteger();
+        final ExecutorService pool=Executors.newFixedThreadPool(4);
+        try{
+            ConfigManagerImpl sequential = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml","classpath://integral-test.yml","classpath://org/bytemechanics/config/manager/internal/integral-test-2.yaml","classpath://integral-test-3.properties");
+            ConfigManagerImpl instance = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml","classpath://integral-test.yml","classpath://org/bytemechanics/config/manager/internal/integral-test-2.yaml","classpath://integral-test-3.properties")
+                                                .withExecutor(task -> {
+                                                    submitted.incrementAndGet();
+                                                    pool.execute(task);
+                                                });
+            List<Config> expected=sequential.stream()
+                                                .sorted()
+                                                .collect(Collectors.toList());
+            List<Config> actual=instance.stream()
+                                            .sorted()
+                                            .collect(Collectors.toList());
+            Assertions.assertAll(() -> Assertions.assertEquals(expected,actual),
+                                    () -> Assertions.assertEquals(4,submitted.get()));
+        }finally{
+            pool.shutdownNow();
+        }
+    }
+    @Test
+    public void testStream_parallel_overrideOrder() throws IOException{
+        final ExecutorService pool=Executors.newFixedThreadPool(8);
+        try{
+            final List<URI> locations=new ArrayList<>();
+            for(int ic1=0;ic1<32;ic1++){
+                Path path=Paths.get("target/tests/parallel-"+ic1+".properties");
+                Files.createDirectories(path.getParent());
+                Files.write(path, ("shared=location-"+ic1+"\nlocation."+ic1+"=value\n").getBytes(StandardCharsets.UTF_8));
+                locations.add(URI.create("file://target/tests/parallel-"+ic1+".properties"));
+            }
+            ConfigManagerImpl instance = new ConfigManagerImpl(locations,StandardCharsets.UTF_8)
+                                                .withExecutor(pool);
+            for(int ic1=0;ic1<10;ic1++){
+                List<Config> actual=instance.stream()
+                                                .collect(Collectors.toList());
+                Assertions.assertAll(() -> Assertions.assertEquals(33,actual.size()),
+                                        () -> Assertions.assertTrue(actual.contains(Config.of("shared","location-31"))));
+            }
+        }finally{
+            pool.shutdownNow();
+        }
+    }
+    @Test
+    public void testStream_parallel_failure() throws IOException{
+        final ExecutorService pool=Executors.newFixedThreadPool(2);
+        try{
+            ConfigManagerImpl instance = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml","classpath://org/bytemechanics/config/manager/internal/URIUtils.javaw")
+                                                .withExecutor(pool);
+            Assertions.assertThrows(UnsupportedConfigLocationFormat.class,() -> instance.stream());
+        }finally{
+            pool.shutdownNow();
+        }
+    }
+    @Test
+    public void testGetExecutor() {
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml");
+        Assertions.assertAll(() -> Assertions.assertFalse(instance.getExecutor().isPresent()),
+                                () -> Assertions.assertSame(ForkJoinPool.commonPool(),instance.withExecutor(ForkJoinPool.commonPool()).getExecutor().get()),
+                                () -> Assertions.assertFalse(instance.withExecutor(null).getExecutor().isPresent()));
+    }
+
+    @Test
+    public void testReload() throws IOException{
+        Path file=Paths.get("target/tests/config-reload.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "a=1\nb=1\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-reload.properties");
+        Assertions.assertSame(ConfigSnapshot.EMPTY,instance.snapshot());
+        ConfigSnapshot first=instance.reload();
+        Files.write(file, "a=2\nb=2\nc=2\n".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshot second=instance.reload();
+        Assertions.assertAll(() -> Assertions.assertEquals(1,first.getVersion()),
+                                () -> Assertions.assertEquals(2,second.getVersion()),
+                                () -> Assertions.assertSame(second,instance.snapshot()),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("a","1")),first.get("a")),
+                                () -> Assertions.assertEquals(Optional.empty(),first.get("c")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("a","2")),second.get("a")),
+                                () -> Assertions.assertEquals(3,second.size()));
+    }
+
+    @Test
+    public void testReload_consistent() throws Exception{
+        Path file=Paths.get("target/tests/config-reload-consistent.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "a=0\nb=0\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-reload-consistent.properties");
+        instance.reload();
+        final AtomicBoolean running=new AtomicBoolean(true);
+        final AtomicInteger inconsistent=new AtomicInteger();
+        final ExecutorService pool=Executors.newFixedThreadPool(2);
+        try{
+            List<Future<?>> readers=new ArrayList<>();
+            for(int ic1=0;ic1<2;ic1++){
+                readers.add(pool.submit(() -> {
+                    long lastVersion=0;
+                    while(running.get()){
+                        ConfigSnapshot current=instance.snapshot();
+                        if((current.getVersion()<lastVersion)||(!current.get("a").map(Config::getValue).equals(current.get("b").map(Config::getValue))))
+                            inconsistent.incrementAndGet();
+                        lastVersion=current.getVersion();
+                    }
+                }));
+            }
+            for(int ic1=1;ic1<=50;ic1++){
+                Files.write(file, ("a="+ic1+"\nb="+ic1+"\n").getBytes(StandardCharsets.UTF_8));
+                instance.reload();
+            }
+            running.set(false);
+            for(Future<?> reader:readers){
+                reader.get();
+            }
+        }finally{
+            pool.shutdownNow();
+        }
+        Assertions.assertAll(() -> Assertions.assertEquals(0,inconsistent.get()),
+                                () -> Assertions.assertEquals(51,instance.snapshot().getVersion()),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("a","50")),instance.snapshot().get("a")));
+    }
+
+    @Test
+    public void testReload_changed() throws IOException{
+        Path fileA=Paths.get("target/tests/config-reload-changed-a.properties");
+        Path fileB=Paths.get("target/tests/config-reload-changed-b.properties");
+        Files.createDirectories(fileA.getParent());
+        Files.write(fileA, "a=1\nshared=a\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(fileB, "b=1\nshared=b\n".getBytes(StandardCharsets.UTF_8));
+        final List<URI> reads=new ArrayList<>();
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-reload-changed-a.properties","file://target/tests/config-reload-changed-b.properties"){
+                                            @Override
+                                            protected List<Config> readAll(final ResolvedLocation _location) {
+                                                reads.add(_location.getUri());
+                                                return super.readAll(_location);
+                                            }
+                                        };
+        instance.reload(Collections.emptySet());
+        Files.write(fileA, "a=2\nshared=a\n".getBytes(StandardCharsets.UTF_8));
+        reads.clear();
+        ConfigSnapshot partial=instance.reload(Collections.singleton(instance.getResolvedLocations().get(0)));
+        Assertions.assertAll(() -> Assertions.assertEquals(2,partial.getVersion()),
+                                () -> Assertions.assertEquals(Collections.singletonList(instance.getLocations().get(0)),reads),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("a","2")),partial.get("a")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("b","1")),partial.get("b")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("shared","b")),partial.get("shared")));
+        Files.write(fileB, "b=2\n".getBytes(StandardCharsets.UTF_8));
+        reads.clear();
+        ConfigSnapshot full=instance.reload();
+        Assertions.assertAll(() -> Assertions.assertEquals(instance.getLocations(),reads),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("b","2")),full.get("b")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("shared","a")),full.get("shared")));
+    }
+
+    @Test
+    public void testUpdate() throws IOException{
+        Path fileA=Paths.get("target/tests/config-update-a.properties");
+        Path fileB=Paths.get("target/tests/config-update-b.properties");
+        Files.createDirectories(fileA.getParent());
+        Files.write(fileA, "a=1\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(fileB, "b=1\n".getBytes(StandardCharsets.UTF_8));
+        final List<URI> reads=new ArrayList<>();
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-update-a.properties","classpath://integral-test-3.properties","file://target/tests/config-update-b.properties"){
+                                            @Override
+                                            protected List<Config> readAll(final ResolvedLocation _location) {
+                                                reads.add(_location.getUri());
+                                                return super.readAll(_location);
+                                            }
+                                        };
+        ConfigSnapshot first=instance.update();
+        Assertions.assertAll(() -> Assertions.assertEquals(1,first.getVersion()),
+                                () -> Assertions.assertEquals(instance.getLocations(),reads));
+        reads.clear();
+        Assertions.assertAll(() -> Assertions.assertSame(first,instance.update()),
+                                () -> Assertions.assertEquals(first.size(),instance.stream().count()),
+                                () -> Assertions.assertSame(first,instance.snapshot()),
+                                () -> Assertions.assertTrue(reads.isEmpty()));
+        Files.write(fileB, "b=22\n".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshot second=instance.update();
+        Assertions.assertAll(() -> Assertions.assertEquals(2,second.getVersion()),
+                                () -> Assertions.assertEquals(Collections.singletonList(instance.getLocations().get(2)),reads),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("a","1")),second.get("a")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("b","22")),second.get("b")));
+        Files.delete(fileB);
+        reads.clear();
+        ConfigSnapshot third=instance.update();
+        Assertions.assertAll(() -> Assertions.assertEquals(3,third.getVersion()),
+                                () -> Assertions.assertEquals(Collections.singletonList(instance.getLocations().get(2)),reads),
+                                () -> Assertions.assertEquals(Optional.empty(),third.get("b")));
+    }
+
+    @Test
+    public void testWithWatch() throws Exception{
+        Path file=Paths.get("target/tests/watch-manager/config.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "watched.key=1\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/watch-manager/config.properties","classpath://integral-test-3.properties");
+        Assertions.assertFalse(instance.isWatching());
+        instance.load();
+        Assertions.assertSame(instance,instance.withWatch(Duration.ofMillis(100)));
+        try{
+            Assertions.assertTrue(instance.isWatching());
+            Files.write(file, "watched.key=2\n".getBytes(StandardCharsets.UTF_8));
+            long timeout=System.currentTimeMillis()+10_000;
+            while((instance.snapshot().getVersion()<2)&&(System.currentTimeMillis()<timeout)){
+                Thread.sleep(20);
+            }
+            Assertions.assertAll(() -> Assertions.assertEquals(2,instance.snapshot().getVersion()),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("watched.key","2")),instance.snapshot().get("watched.key")),
+                                    () -> Assertions.assertEquals("2",System.getProperty("watched.key")));
+        }finally{
+            instance.withWatch(null);
+        }
+        Assertions.assertFalse(instance.isWatching());
+    }
+
     @Test
     public void testLoad() throws IOException{
         ConfigManagerImpl instance = new ConfigManagerImpl("file://src/test/resources/integral-test-1.yml","classpath://integral-test.yml","classpath://org/bytemechanics/config/manager/internal/integral-test-2.yaml","classpath://integral-test-3.properties");
@@ -373,4 +703,411 @@ public class ConfigManagerImplTest {
                                                                     () -> Assertions.assertEquals((String)config.getValue(),System.getProperty((String)config.getKey()))));
        ;
     }
+
+    @Test
+    public void testPublish() throws IOException{
+        Path file=Paths.get("target/tests/config-publish.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "publish.kept=1\npublish.changed=1\npublish.removed=1\npublish.foreign=1\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-publish.properties");
+        final ConfigDiff first=instance.publish();
+        Assertions.assertAll(() -> Assertions.assertEquals(4,first.size()),
+                                () -> Assertions.assertEquals(4,first.stream(ConfigDiff.Type.ADDED).count()),
+                                () -> Assertions.assertEquals("1",System.getProperty("publish.removed")),
+                                () -> Assertions.assertTrue(instance.publish().isEmpty()));
+        System.setProperty("publish.foreign", "foreign");
+        Files.write(file, "publish.kept=1\npublish.changed=22\npublish.added=1\n".getBytes(StandardCharsets.UTF_8));
+        final ConfigDiff second=instance.publish();
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(new ConfigDiff.Change(ConfigDiff.Type.ADDED,"publish.added",null,"1"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.CHANGED,"publish.changed","1","22"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.REMOVED,"publish.foreign","1",null),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.REMOVED,"publish.removed","1",null)),
+                                                            second.getChanges()),
+                                () -> Assertions.assertEquals(1,second.getFromVersion()),
+                                () -> Assertions.assertEquals(2,second.getToVersion()),
+                                () -> Assertions.assertEquals("1",System.getProperty("publish.kept")),
+                                () -> Assertions.assertEquals("22",System.getProperty("publish.changed")),
+                                () -> Assertions.assertEquals("1",System.getProperty("publish.added")),
+                                () -> Assertions.assertNull(System.getProperty("publish.removed")),
+                                () -> Assertions.assertEquals("foreign",System.getProperty("publish.foreign")));
+        System.clearProperty("publish.foreign");
+    }
+
+    @Test
+    public void testAddListener() throws IOException{
+        Path file=Paths.get("target/tests/config-listener.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "db.url=jdbc:a\ndb.pool.size=10\nfeature.x=on\n".getBytes(StandardCharsets.UTF_8));
+        final List<ConfigDiff> all=new ArrayList<>();
+        final List<ConfigDiff> pool=new ArrayList<>();
+        final ConfigListener failing=diff -> {throw new IllegalStateException("expected failure");};
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-listener.properties")
+                                            .withListenerExecutor(Runnable::run);
+        Assertions.assertAll(() -> Assertions.assertSame(instance,instance.addListener("",failing)),
+                                () -> Assertions.assertSame(instance,instance.addListener("",all::add)),
+                                () -> Assertions.assertSame(instance,instance.addListener("db.pool",pool::add)));
+        instance.reload();
+        Files.write(file, "db.url=jdbc:b\ndb.pool.size=10\nfeature.x=on\n".getBytes(StandardCharsets.UTF_8));
+        instance.reload();
+        instance.reload();
+        Files.write(file, "db.url=jdbc:b\ndb.pool.size=20\n".getBytes(StandardCharsets.UTF_8));
+        instance.reload();
+        Assertions.assertAll(() -> Assertions.assertEquals(3,all.size()),
+                                () -> Assertions.assertEquals(3,all.get(0).stream(ConfigDiff.Type.ADDED).count()),
+                                () -> Assertions.assertEquals(Collections.singletonList(new ConfigDiff.Change(ConfigDiff.Type.CHANGED,"db.url","jdbc:a","jdbc:b")),all.get(1).getChanges()),
+                                () -> Assertions.assertEquals(Arrays.asList(new ConfigDiff.Change(ConfigDiff.Type.CHANGED,"db.pool.size","10","20"),
+                                                                            new ConfigDiff.Change(ConfigDiff.Type.REMOVED,"feature.x","on",null)),all.get(2).getChanges()),
+                                () -> Assertions.assertEquals(1,all.get(1).getFromVersion()),
+                                () -> Assertions.assertEquals(2,all.get(1).getToVersion()),
+                                () -> Assertions.assertEquals(2,pool.size()),
+                                () -> Assertions.assertEquals(Collections.singletonList(new ConfigDiff.Change(ConfigDiff.Type.ADDED,"db.pool.size",null,"10")),pool.get(0).getChanges()),
+                                () -> Assertions.assertEquals(Collections.singletonList(new ConfigDiff.Change(ConfigDiff.Type.CHANGED,"db.pool.size","10","20")),pool.get(1).getChanges()),
+                                () -> Assertions.assertEquals(4,pool.get(1).getToVersion()));
+        Assertions.assertAll(() -> Assertions.assertTrue(instance.removeListener(failing)),
+                                () -> Assertions.assertFalse(instance.removeListener(failing)),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> instance.addListener(null,all::add)),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> instance.addListener("",null)),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> instance.withListenerExecutor(null)));
+    }
+    @Test
+    public void testAddListener_async() throws Exception{
+        Path file=Paths.get("target/tests/config-listener-async.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "async.key=1\n".getBytes(StandardCharsets.UTF_8));
+        final BlockingQueue<String> received=new LinkedBlockingQueue<>();
+        final Thread reloader=Thread.currentThread();
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-listener-async.properties")
+                                            .addListener("async", diff -> {
+                                                if(Thread.currentThread()!=reloader)
+                                                    diff.stream().forEach(change -> received.add(change.getKey()+'='+change.getNewValue()));
+                                            });
+        for(int ic1=2;ic1<=20;ic1++){
+            instance.reload();
+            Files.write(file, ("async.key="+ic1+"\n").getBytes(StandardCharsets.UTF_8));
+        }
+        instance.reload();
+        for(int ic1=1;ic1<=20;ic1++){
+            Assertions.assertEquals("async.key="+ic1,received.poll(10,TimeUnit.SECONDS));
+        }
+    }
+    @Test
+    public void testAddListener_afterFailedNotification() throws IOException{
+        Path file=Paths.get("target/tests/config-listener-failed.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "failed.key=1\n".getBytes(StandardCharsets.UTF_8));
+        final List<String> received=new ArrayList<>();
+        final AtomicInteger executions=new AtomicInteger();
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-listener-failed.properties")
+                                            .withListenerExecutor(task -> {
+                                                switch(executions.incrementAndGet()){
+                                                    case 1: throw new RejectedExecutionException("expected rejection");
+                                                    case 2: throw new AssertionError("expected error");
+                                                    default: task.run();
+                                                }
+                                            })
+                                            .addListener("failed", diff -> diff.stream().forEach(change -> received.add(change.getNewValue())));
+        for(int ic1=2;ic1<=4;ic1++){
+            instance.reload();
+            Files.write(file, ("failed.key="+ic1+"\n").getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertAll(() -> Assertions.assertEquals(3,executions.get()),
+                                () -> Assertions.assertEquals(Collections.singletonList("3"),received));
+    }
+    @Test
+    public void testMetrics_ignoredByDefault() {
+        ConfigManager instance=new ConfigManager() {
+                                    @Override
+                                    public Stream<Config> read(final URI _location) {
+                                        return Stream.empty();
+                                    }
+                                    @Override
+                                    public void write(final URI _location, final Stream<Config> _config) {
+                                    }
+                                    @Override
+                                    public Stream<Config> stream() {
+                                        return Stream.empty();
+                                    }
+                                    @Override
+                                    public void load() {
+                                    }
+                                };
+        Assertions.assertSame(instance,instance.withMetrics(new InMemoryConfigMetrics()));
+    }
+
+    @Test
+    public void testReload_interpolated() throws IOException{
+        Path base=Paths.get("target/tests/config-interpolated-base.properties");
+        Path override=Paths.get("target/tests/config-interpolated-override.properties");
+        Files.createDirectories(base.getParent());
+        Files.write(base, "app.name=demo\ndb.url=jdbc://${env:CONFIG_MANAGER_NOT_DEFINED:localhost}/${app.name}\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(override, "app.name=prod\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-interpolated-base.properties","file://target/tests/config-interpolated-override.properties");
+        ConfigSnapshot first=instance.reload();
+        Files.write(override, "app.name=next\n".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshot second=instance.reload();
+        Files.write(override, "db.url=${db.url}\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("db.url","jdbc://localhost/prod")),first.get("db.url")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.url","jdbc://localhost/next")),second.get("db.url")),
+                                () -> Assertions.assertThrows(UnresolvableConfigValue.class, () -> instance.reload()),
+                                () -> Assertions.assertSame(second,instance.snapshot()),
+                                () -> Assertions.assertThrows(UnresolvableConfigValue.class, () -> instance.update()));
+        Files.write(override, "db.url=${db.url:none}\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThrows(UnresolvableConfigValue.class, () -> instance.update());
+        Files.write(override, "db.url=fixed\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(Optional.of(Config.of("db.url","fixed")),instance.update().get("db.url"));
+    }
+
+    @Test
+    public void testStream_environment() throws IOException{
+        Path file=Paths.get("target/tests/config-environment.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "path=overridden\nkept=1\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-environment.properties","env://PATH");
+        ConfigSnapshot snapshot=instance.reload();
+        Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("path",System.getenv("PATH"))),snapshot.get("path")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("kept","1")),snapshot.get("kept")),
+                                () -> Assertions.assertEquals(2,snapshot.size()),
+                                () -> Assertions.assertSame(snapshot,instance.update()));
+    }
+
+    @Test
+    public void testStream_systemProperties() throws IOException{
+        Path file=Paths.get("target/tests/config-system.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "system.layer.key=file\nsystem.layer.kept=1\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-system.properties","system://system.layer");
+        System.setProperty("system.layer.key", "jvm");
+        try{
+            ConfigSnapshot first=instance.reload();
+            Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("system.layer.key","jvm")),first.get("system.layer.key")),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("system.layer.kept","1")),first.get("system.layer.kept")),
+                                    () -> Assertions.assertSame(first,instance.update()));
+            System.setProperty("system.layer.key", "changed");
+            ConfigSnapshot second=instance.update();
+            Assertions.assertAll(() -> Assertions.assertEquals(2,second.getVersion()),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("system.layer.key","changed")),second.get("system.layer.key")));
+        }finally{
+            System.clearProperty("system.layer.key");
+        }
+    }
+
+    @Test
+    public void testLoad_systemProperties() throws IOException{
+        Path file=Paths.get("target/tests/config-system-load.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "system.loaded.key=file\nsystem.loaded.external=file\n".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://target/tests/config-system-load.properties","system://system.loaded");
+        System.setProperty("system.loaded.external", "jvm");
+        try{
+            instance.load();
+            final ConfigSnapshot first=instance.snapshot();
+            Assertions.assertAll(() -> Assertions.assertEquals("file",System.getProperty("system.loaded.key")),
+                                    () -> Assertions.assertEquals("jvm",System.getProperty("system.loaded.external")),
+                                    () -> Assertions.assertSame(first,instance.update()));
+            Files.write(file, "system.loaded.key=changed\nsystem.loaded.external=changed\n".getBytes(StandardCharsets.UTF_8));
+            instance.load();
+            Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("system.loaded.key","changed")),instance.snapshot().get("system.loaded.key")),
+                                    () -> Assertions.assertEquals("changed",System.getProperty("system.loaded.key")),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("system.loaded.external","jvm")),instance.snapshot().get("system.loaded.external")),
+                                    () -> Assertions.assertEquals("jvm",System.getProperty("system.loaded.external")));
+            Files.write(file, "".getBytes(StandardCharsets.UTF_8));
+            instance.load();
+            Assertions.assertAll(() -> Assertions.assertNull(System.getProperty("system.loaded.key")),
+                                    () -> Assertions.assertEquals("jvm",System.getProperty("system.loaded.external")));
+        }finally{
+            System.clearProperty("system.loaded.key");
+            System.clearProperty("system.loaded.external");
+        }
+    }
+
+    @Test
+    public void testUpdate_http() throws IOException{
+        final AtomicInteger bodies=new AtomicInteger();
+        final HttpServer server=HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/app.properties", exchange -> {
+            if("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))){
+                exchange.sendResponseHeaders(304, -1);
+            }else{
+                final byte[] body="remote.key=1\n".getBytes(StandardCharsets.UTF_8);
+                bodies.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        try{
+            final List<URI> reads=new ArrayList<>();
+            ConfigManagerImpl instance = new ConfigManagerImpl("http://localhost:"+server.getAddress().getPort()+"/app.properties"){
+                                                @Override
+                                                protected List<Config> readAll(final ResolvedLocation _location) {
+                                                    reads.add(_location.getUri());
+                                                    return super.readAll(_location);
+                                                }
+                                            };
+            ConfigSnapshot first=instance.update();
+            Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("remote.key","1")),first.get("remote.key")),
+                                    () -> Assertions.assertSame(first,instance.update()),
+                                    () -> Assertions.assertEquals(1,reads.size()),
+                                    () -> Assertions.assertTrue(bodies.get()<=1));
+        }finally{
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testStream_archive() throws IOException{
+        Path zip=Paths.get("target/tests/config-archive.zip");
+        Files.createDirectories(zip.getParent());
+        try(ZipOutputStream output=new ZipOutputStream(Files.newOutputStream(zip))){
+            output.putNextEntry(new ZipEntry("prod/app.properties"));
+            output.write("archive.key=properties\narchive.kept=1\n".getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+            output.putNextEntry(new ZipEntry("prod/override.yml"));
+            output.write("archive:\n  key: yaml\n".getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+        ConfigManagerImpl instance = new ConfigManagerImpl("zip://target/tests/config-archive.zip!/prod/app.properties","jar://target/tests/config-archive.zip!/prod/override.yml","zip://target/tests/config-archive.zip!/prod/missing.yml");
+        ConfigSnapshot snapshot=instance.reload();
+        try(ArchiveFiles.Archive first=ArchiveFiles.get().open(zip).get();
+                ArchiveFiles.Archive second=ArchiveFiles.get().open(zip).get()){
+            Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("archive.key","yaml")),snapshot.get("archive.key")),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("archive.kept","1")),snapshot.get("archive.kept")),
+                                    () -> Assertions.assertEquals(2,snapshot.size()),
+                                    () -> Assertions.assertSame(snapshot,instance.update()),
+                                    () -> Assertions.assertSame(first.getZip(),second.getZip()));
+        }
+    }
+    @Test
+    public void testClose_archive() throws IOException{
+        Path zip=Paths.get("target/tests/config-archive-close.zip");
+        Files.createDirectories(zip.getParent());
+        try(ZipOutputStream output=new ZipOutputStream(Files.newOutputStream(zip))){
+            output.putNextEntry(new ZipEntry("app.properties"));
+            output.write("archive.key=1\n".getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+        final ConfigManagerImpl instance = new ConfigManagerImpl("zip://target/tests/config-archive-close.zip!/app.properties")
+                                                    .withWatch(Duration.ofMillis(50));
+        final ZipFile first;
+        try(ConfigManagerImpl manager=instance){
+            manager.reload();
+            try(ArchiveFiles.Archive archive=ArchiveFiles.get().open(zip).get()){
+                first=archive.getZip();
+            }
+        }
+        Assertions.assertAll(() -> Assertions.assertFalse(instance.isWatching()),
+                                () -> Assertions.assertThrows(IllegalStateException.class, first::entries),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("archive.key","1")),instance.reload().get("archive.key")));
+        instance.close();
+    }
+    @Test
+    public void testStream_glob() throws IOException{
+        Path folder=this.temporal.resolve("glob");
+        Files.createDirectories(folder.resolve("sub"));
+        Files.write(folder.resolve("20-override.yml"), "glob:\n  key: override\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("10-base.properties"), "glob.key=base\nglob.kept=1\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("30-last.yml"), "glob:\n  key: last\n  yaml: 3\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("sub/40-nested.yml"), "glob:\n  nested: 1\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("ignored.txt"), "not a config".getBytes(StandardCharsets.UTF_8));
+        ConfigManagerImpl explicit = new ConfigManagerImpl("file://"+folder+"/10-base.properties","file://"+folder+"/20-override.yml","file://"+folder+"/30-last.yml");
+        ConfigManagerImpl instance = new ConfigManagerImpl("file://"+folder+"/*.%7Bproperties,yml%7D");
+        ConfigSnapshot snapshot=instance.reload();
+        Assertions.assertAll(() -> Assertions.assertEquals(explicit.reload().stream().collect(Collectors.toList()),snapshot.stream().collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("glob.key","last")),snapshot.get("glob.key")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("glob.kept","1")),snapshot.get("glob.kept")),
+                                () -> Assertions.assertEquals(3,snapshot.size()),
+                                () -> Assertions.assertSame(snapshot,instance.update()));
+        Files.write(folder.resolve("25-added.properties"), "glob.added=1\n".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshot updated=instance.update();
+        Assertions.assertAll(() -> Assertions.assertNotSame(snapshot,updated),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("glob.added","1")),updated.get("glob.added")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("glob.nested","1")),new ConfigManagerImpl("file://"+folder+"/**.yml").reload().get("glob.nested")),
+                                () -> Assertions.assertEquals(0,new ConfigManagerImpl("file://"+folder+"/*.json").reload().size()));
+    }
+    @Test
+    public void testStream_classpathAll() throws IOException{
+        final Path base=this.temporal.resolve("classpath-all");
+        final Path first=base.resolve("a");
+        final Path second=base.resolve("b");
+        Files.createDirectories(first.resolve("conf"));
+        Files.createDirectories(second.resolve("conf"));
+        Files.write(first.resolve("conf/defaults.yml"), "plugin:\n  a: 1\n  key: a\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(second.resolve("conf/defaults.yml"), "plugin:\n  b: 1\n  key: b\n".getBytes(StandardCharsets.UTF_8));
+        final ClassLoader current=Thread.currentThread().getContextClassLoader();
+        try(URLClassLoader plugins=new URLClassLoader(new URL[]{second.toUri().toURL(),first.toUri().toURL()}, null)){
+            Thread.currentThread().setContextClassLoader(plugins);
+            ConfigManagerImpl instance = new ConfigManagerImpl("classpath-all://conf/defaults.yml");
+            ConfigSnapshot snapshot=instance.reload();
+            Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("plugin.a","1")),snapshot.get("plugin.a")),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("plugin.b","1")),snapshot.get("plugin.b")),
+                                    () -> Assertions.assertEquals(Optional.of(Config.of("plugin.key","b")),snapshot.get("plugin.key")),
+                                    () -> Assertions.assertEquals(Optional.empty(),new ConfigManagerImpl("classpath://conf/defaults.yml").reload().get("plugin.a")),
+                                    () -> Assertions.assertSame(snapshot,instance.update()),
+                                    () -> Assertions.assertEquals(0,new ConfigManagerImpl("classpath-all://conf/missing.yml").reload().size()));
+        }finally{
+            Thread.currentThread().setContextClassLoader(current);
+        }
+    }
+    @Test
+    public void testMetrics() throws IOException{
+        Path folder=this.temporal.resolve("metrics");
+        Files.createDirectories(folder);
+        Files.write(folder.resolve("base.properties"), "metrics.a=1\nmetrics.b=1\nmetrics.c=1\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("override.yml"), "metrics:\n  b: 2\n  d: 2\n".getBytes(StandardCharsets.UTF_8));
+        URI base=URI.create("file://"+folder+"/base.properties");
+        URI override=URI.create("file://"+folder+"/override.yml");
+        URI missing=URI.create("file://"+folder+"/missing.yml");
+        InMemoryConfigMetrics metrics=new InMemoryConfigMetrics();
+        ConfigManagerImpl instance=new ConfigManagerImpl(StandardCharsets.UTF_8, base, override, missing)
+                                            .withMetrics(metrics);
+        ConfigSnapshot snapshot=instance.reload();
+        Assertions.assertAll(() -> Assertions.assertEquals(4, snapshot.size()),
+                                () -> Assertions.assertEquals(3, metrics.getReads().size()),
+                                () -> Assertions.assertEquals(3, metrics.getLastRead(base).get().getEntries()),
+                                () -> Assertions.assertEquals(Files.size(folder.resolve("base.properties")), metrics.getLastRead(base).get().getBytes()),
+                                () -> Assertions.assertTrue(metrics.getLastRead(base).get().getParseNanos()>=0),
+                                () -> Assertions.assertTrue(metrics.getLastRead(base).get().getOpenNanos()>=0),
+                                () -> Assertions.assertEquals(2, metrics.getLastRead(override).get().getEntries()),
+                                () -> Assertions.assertEquals(Files.size(folder.resolve("override.yml")), metrics.getLastRead(override).get().getBytes()),
+                                () -> Assertions.assertEquals(0, metrics.getLastRead(missing).get().getEntries()),
+                                () -> Assertions.assertEquals(0, metrics.getLastRead(missing).get().getBytes()),
+                                () -> Assertions.assertEquals(Optional.of(1), metrics.getOverridden(base)),
+                                () -> Assertions.assertEquals(Optional.of(0), metrics.getOverridden(override)),
+                                () -> Assertions.assertEquals(Optional.of(0), metrics.getOverridden(missing)),
+                                () -> Assertions.assertEquals(Collections.emptyList(), metrics.getFailures(base)));
+        metrics.clear();
+        Assertions.assertSame(snapshot, instance.update());
+        Assertions.assertAll(() -> Assertions.assertEquals(0, metrics.getReads().size()),
+                                () -> Assertions.assertEquals(Optional.empty(), metrics.getOverridden(base)));
+        instance.withMetrics(ConfigMetrics.NOOP);
+        instance.reload();
+        Assertions.assertEquals(0, metrics.getReads().size());
+    }
+    @Test
+    public void testMetrics_failure() {
+        URI location=URI.create("file://src/test/resources/test.unsupported");
+        InMemoryConfigMetrics metrics=new InMemoryConfigMetrics();
+        ConfigManagerImpl instance=new ConfigManagerImpl(location)
+                                            .withMetrics(metrics);
+        UnsupportedConfigLocationFormat failure=Assertions.assertThrows(UnsupportedConfigLocationFormat.class, () -> instance.reload());
+        Assertions.assertAll(() -> Assertions.assertEquals(Collections.singletonList(failure), metrics.getFailures(location)),
+                                () -> Assertions.assertEquals(0, metrics.getReads().size()));
+    }
+    @Test
+    public void testMetrics_failingMetrics() {
+        ConfigManagerImpl instance=new ConfigManagerImpl("classpath://test.properties")
+                                            .withMetrics(new ConfigMetrics() {
+                                                                @Override
+                                                                public void onRead(final LocationMetrics _metrics) {
+                                                                    throw new IllegalStateException("failing metrics");
+                                                                }
+                                                            });
+        Assertions.assertTrue(instance.reload().size()>0);
+    }
+    @Test
+    public void testMetrics_null() {
+        Assertions.assertThrows(NullPointerException.class, () -> new ConfigManagerImpl("classpath://test.properties").withMetrics(null));
+    }
 }
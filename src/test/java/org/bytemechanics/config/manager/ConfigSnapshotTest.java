@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigSnapshotTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigSnapshotTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigSnapshotTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    @Test
+    public void testEmpty() {
+        Assertions.assertAll(() -> Assertions.assertEquals(0, ConfigSnapshot.EMPTY.getVersion()),
+                                () -> Assertions.assertEquals(0, ConfigSnapshot.EMPTY.size()),
+                                () -> Assertions.assertEquals(0, ConfigSnapshot.EMPTY.stream().count()),
+                                () -> Assertions.assertEquals(Optional.empty(), ConfigSnapshot.EMPTY.get("a")));
+    }
+    @Test
+    public void testConstructor_null() {
+        Assertions.assertThrows(NullPointerException.class, () -> new ConfigSnapshot(1, null));
+    }
+    @Test
+    public void testNext() {
+        final ConfigIndex index=ConfigIndex.of(Stream.of(Config.of("db.url", "jdbc:test"),Config.of("db.pool.size", "10")));
+        final ConfigSnapshot first=ConfigSnapshot.EMPTY.next(index);
+        final ConfigSnapshot second=first.next(ConfigIndex.of(Stream.empty()));
+        Assertions.assertAll(() -> Assertions.assertEquals(1, first.getVersion()),
+                                () -> Assertions.assertEquals(2, second.getVersion()),
+                                () -> Assertions.assertSame(index, first.getIndex()),
+                                () -> Assertions.assertEquals(2, first.size()),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.url", "jdbc:test")), first.get("db.url")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.pool.size", "10")), first.subtree("db.pool").get("size")),
+                                () -> Assertions.assertEquals(2, first.stream().count()),
+                                () -> Assertions.assertEquals(0, second.size()),
+                                () -> Assertions.assertEquals("ConfigSnapshot{version=1, size=2}", first.toString()));
+    }
+}
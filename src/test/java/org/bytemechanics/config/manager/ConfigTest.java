@@ -18,9 +18,11 @@ package org.bytemechanics.config.manager;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
+import org.bytemechanics.config.manager.exceptions.MalformedConfigValue;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -132,4 +134,74 @@ public class ConfigTest {
     public void testCompareTo(final Config _config1,final Config _config2, int _expected) {
         Assertions.assertEquals(_expected,_config1.compareTo(_config2));
     }
+
+    static Stream<Arguments> typedDataPack() {
+        return Stream.of(
+                Arguments.of("42", 42, 42l, 42l),
+                Arguments.of("-1", -1, -1l, -1l),
+                Arguments.of("3000000000", null, 3000000000l, 3000000000l),
+                Arguments.of("2k", null, null, 2048l)
+        );
+    }
+    @ParameterizedTest(name = "Typed numeric values of {0} should be int={1}, long={2} and bytes={3}")
+    @MethodSource("typedDataPack")
+    public void testGetNumbers(final String _value,final Integer _int,final Long _long,final Long _bytes) {
+        Config instance = Config.of("key",_value);
+        for(int ic1=0;ic1<2;ic1++){
+            if(_int!=null){
+                Assertions.assertEquals(_int.intValue(), instance.getInt());
+            }else{
+                Assertions.assertThrows(MalformedConfigValue.class, () -> instance.getInt());
+            }
+            if(_long!=null){
+                Assertions.assertEquals(_long.longValue(), instance.getLong());
+            }else{
+                Assertions.assertThrows(MalformedConfigValue.class, () -> instance.getLong());
+            }
+            Assertions.assertEquals(_bytes.longValue(), instance.getBytes());
+        }
+    }
+    @Test
+    public void testGetBoolean() {
+        Config instance = Config.of("key","Yes");
+        Assertions.assertAll(() -> Assertions.assertTrue(instance.getBoolean())
+                            ,() -> Assertions.assertTrue(instance.getBoolean())
+                            ,() -> Assertions.assertFalse(Config.of("key","off").getBoolean()));
+    }
+    @Test
+    public void testGetDuration() {
+        Config instance = Config.of("key","1500ms");
+        Duration first=instance.getDuration();
+        Assertions.assertAll(() -> Assertions.assertEquals(Duration.ofMillis(1500),first)
+                            ,() -> Assertions.assertSame(first,instance.getDuration()));
+    }
+
+    static Stream<Arguments> malformedDataPack() {
+        return Stream.of(
+                Arguments.of("int", "12a", int.class),
+                Arguments.of("int", "2147483648", int.class),
+                Arguments.of("long", null, long.class),
+                Arguments.of("boolean", "nope", boolean.class),
+                Arguments.of("duration", "3 fortnights", Duration.class),
+                Arguments.of("bytes", "1x", long.class)
+        );
+    }
+    @ParameterizedTest(name = "Get {0} of {1} should raise MalformedConfigValue for {2}")
+    @MethodSource("malformedDataPack")
+    public void testGet_malformed(final String _type,final String _value,final Class<?> _expectedType) {
+        Config instance = Config.of("typed.key",_value);
+        MalformedConfigValue exception=Assertions.assertThrows(MalformedConfigValue.class, () -> {
+            switch(_type){
+                case "int": instance.getInt(); break;
+                case "long": instance.getLong(); break;
+                case "boolean": instance.getBoolean(); break;
+                case "duration": instance.getDuration(); break;
+                default: instance.getBytes(); break;
+            }
+        });
+        Assertions.assertAll(() -> Assertions.assertEquals("typed.key",exception.getKey())
+                            ,() -> Assertions.assertEquals(_value,exception.getValue())
+                            ,() -> Assertions.assertEquals(_expectedType,exception.getType())
+                            ,() -> Assertions.assertNotNull(exception.getCause()));
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class InMemoryConfigMetricsTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> InMemoryConfigMetricsTest >>>> setupSpec");
+        try ( InputStream inputStream = InMemoryConfigMetricsTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static final URI LOCATION_A=URI.create("file://config/a.yml");
+    private static final URI LOCATION_B=URI.create("file://config/b.yml");
+
+    @Test
+    public void testOnRead() {
+        final InMemoryConfigMetrics instance=new InMemoryConfigMetrics();
+        final LocationMetrics firstA=new LocationMetrics(LOCATION_A, 1, 10, 1, 1);
+        final LocationMetrics readB=new LocationMetrics(LOCATION_B, 2, 20, 2, 2);
+        final LocationMetrics secondA=new LocationMetrics(LOCATION_A, 3, 30, 3, 3);
+        instance.onRead(firstA);
+        instance.onRead(readB);
+        instance.onRead(secondA);
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(firstA, readB, secondA), instance.getReads()),
+                                () -> Assertions.assertEquals(Optional.of(secondA), instance.getLastRead(LOCATION_A)),
+                                () -> Assertions.assertEquals(Optional.of(readB), instance.getLastRead(LOCATION_B)),
+                                () -> Assertions.assertEquals(Optional.empty(), instance.getLastRead(URI.create("file://config/c.yml"))),
+                                () -> Assertions.assertThrows(UnsupportedOperationException.class, () -> instance.getReads().clear()));
+    }
+    @Test
+    public void testOnMerge() {
+        final InMemoryConfigMetrics instance=new InMemoryConfigMetrics();
+        instance.onMerge(LOCATION_A, 3);
+        instance.onMerge(LOCATION_A, 5);
+        Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(5), instance.getOverridden(LOCATION_A)),
+                                () -> Assertions.assertEquals(Optional.empty(), instance.getOverridden(LOCATION_B)));
+    }
+    @Test
+    public void testOnFailure() {
+        final InMemoryConfigMetrics instance=new InMemoryConfigMetrics();
+        final RuntimeException first=new IllegalStateException("first");
+        final RuntimeException second=new IllegalStateException("second");
+        instance.onFailure(LOCATION_A, first);
+        instance.onFailure(LOCATION_A, second);
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(first, second), instance.getFailures(LOCATION_A)),
+                                () -> Assertions.assertEquals(Collections.emptyList(), instance.getFailures(LOCATION_B)));
+    }
+    @Test
+    public void testClear() {
+        final InMemoryConfigMetrics instance=new InMemoryConfigMetrics();
+        instance.onRead(new LocationMetrics(LOCATION_A, 1, 10, 1, 1));
+        instance.onMerge(LOCATION_A, 1);
+        instance.onFailure(LOCATION_A, new IllegalStateException("failure"));
+        instance.clear();
+        Assertions.assertAll(() -> Assertions.assertEquals(Collections.emptyList(), instance.getReads()),
+                                () -> Assertions.assertEquals(Optional.empty(), instance.getOverridden(LOCATION_A)),
+                                () -> Assertions.assertEquals(Collections.emptyList(), instance.getFailures(LOCATION_A)));
+    }
+    @Test
+    public void testNoop() {
+        Assertions.assertAll(() -> Assertions.assertDoesNotThrow(() -> ConfigMetrics.NOOP.onRead(new LocationMetrics(LOCATION_A, 1, 10, 1, 1))),
+                                () -> Assertions.assertDoesNotThrow(() -> ConfigMetrics.NOOP.onMerge(LOCATION_A, 1)),
+                                () -> Assertions.assertDoesNotThrow(() -> ConfigMetrics.NOOP.onFailure(LOCATION_A, new IllegalStateException("failure"))),
+                                () -> Assertions.assertEquals("ConfigMetrics.NOOP", ConfigMetrics.NOOP.toString()));
+    }
+}
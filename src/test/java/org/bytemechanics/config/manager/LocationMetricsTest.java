@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class LocationMetricsTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> LocationMetricsTest >>>> setupSpec");
+        try ( InputStream inputStream = LocationMetricsTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    @Test
+    public void testGetters() {
+        final LocationMetrics instance=new LocationMetrics(URI.create("file://config/app.yml"), 2_000, 512, 5_000, 12);
+        Assertions.assertAll(() -> Assertions.assertEquals(URI.create("file://config/app.yml"), instance.getLocation()),
+                                () -> Assertions.assertEquals(2_000, instance.getOpenNanos()),
+                                () -> Assertions.assertEquals(512, instance.getBytes()),
+                                () -> Assertions.assertEquals(5_000, instance.getParseNanos()),
+                                () -> Assertions.assertEquals(12, instance.getEntries()),
+                                () -> Assertions.assertEquals("LocationMetrics{location=file://config/app.yml, open=2us, bytes=512, parse=5us, entries=12}", instance.toString()));
+    }
+    @Test
+    public void testEquals() {
+        final LocationMetrics instance=new LocationMetrics(URI.create("file://config/app.yml"), 2_000, 512, 5_000, 12);
+        Assertions.assertAll(() -> Assertions.assertEquals(instance, new LocationMetrics(URI.create("file://config/app.yml"), 2_000, 512, 5_000, 12)),
+                                () -> Assertions.assertEquals(instance.hashCode(), new LocationMetrics(URI.create("file://config/app.yml"), 2_000, 512, 5_000, 12).hashCode()),
+                                () -> Assertions.assertNotEquals(instance, new LocationMetrics(URI.create("file://config/other.yml"), 2_000, 512, 5_000, 12)),
+                                () -> Assertions.assertNotEquals(instance, new LocationMetrics(URI.create("file://config/app.yml"), 2_000, 512, 5_000, 13)),
+                                () -> Assertions.assertNotEquals(instance, null));
+    }
+    @Test
+    public void testConstructor_null() {
+        Assertions.assertThrows(NullPointerException.class, () -> new LocationMetrics(null, 0, 0, 0, 0));
+    }
+}
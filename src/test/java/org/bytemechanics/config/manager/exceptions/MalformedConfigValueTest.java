@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.exceptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.internal.commons.string.SimpleFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class MalformedConfigValueTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> MalformedConfigValueTest >>>> setupSpec");
+        try ( InputStream inputStream = MalformedConfigValueTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> dataPack() {
+        return Stream.of(
+                Arguments.of("server.port", "port", int.class, new NumberFormatException("first")),
+                Arguments.of("server.timeout", "soon", Duration.class, null),
+                Arguments.of(null, null, null, null)
+        );
+    }
+
+    @ParameterizedTest(name = "When constructor is called with key={0}, value={1}, type={2} and cause={3} then they must be recorded")
+    @MethodSource("dataPack")
+    public void testConstructor(final String _key,final String _value,final Class<?> _type,final Throwable _exception) {
+        MalformedConfigValue instance = new MalformedConfigValue(_key,_value,_type,_exception);
+        Assertions.assertAll(() -> Assertions.assertEquals(SimpleFormat.format(MalformedConfigValue.MESSAGE, _key, _value, (_type==null)? null : _type.getSimpleName()),instance.getMessage())
+                            ,() -> Assertions.assertEquals(_key,instance.getKey())
+                            ,() -> Assertions.assertEquals(_value,instance.getValue())
+                            ,() -> Assertions.assertEquals(_type,instance.getType())
+                            ,() -> Assertions.assertEquals(_exception,instance.getCause()));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.exceptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.internal.commons.string.SimpleFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class UnresolvableConfigValueTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> UnresolvableConfigValueTest >>>> setupSpec");
+        try ( InputStream inputStream = UnresolvableConfigValueTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> dataPack() {
+        return Stream.of(
+                Arguments.of("db.url", "${db.host}", "missing reference ${db.host}"),
+                Arguments.of("a", "${b}", "circular reference a -> b -> a"),
+                Arguments.of(null, null, null)
+        );
+    }
+
+    @ParameterizedTest(name = "When constructor is called with key={0}, value={1} and reason={2} then they must be recorded")
+    @MethodSource("dataPack")
+    public void testConstructor(final String _key,final String _value,final String _reason) {
+        UnresolvableConfigValue instance = new UnresolvableConfigValue(_key,_value,_reason);
+        Assertions.assertAll(() -> Assertions.assertEquals(SimpleFormat.format(UnresolvableConfigValue.MESSAGE, _key, _value, _reason),instance.getMessage())
+                            ,() -> Assertions.assertEquals(_key,instance.getKey())
+                            ,() -> Assertions.assertEquals(_value,instance.getValue()));
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.bytemechanics.config.manager.exceptions.UnreadableConfigLocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ArchiveFilesTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ArchiveFilesTest >>>> setupSpec");
+        try ( InputStream inputStream = ArchiveFilesTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    @TempDir
+    Path temporal;
+
+    private Path zip(final String _name,final String... _entries) throws IOException{
+        final Path reply=this.temporal.resolve(_name+".zip");
+        write(reply,_entries);
+        return reply;
+    }
+    private static void write(final Path _zip,final String... _entries) throws IOException{
+        Files.createDirectories(_zip.getParent());
+        try(ZipOutputStream output=new ZipOutputStream(Files.newOutputStream(_zip))){
+            for(int ic1=0;ic1<_entries.length;ic1+=2){
+                output.putNextEntry(new ZipEntry(_entries[ic1]));
+                output.write(_entries[ic1+1].getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+        }
+    }
+    private static String read(final Optional<InputStream> _input) throws IOException{
+        try(InputStream input=_input.get()){
+            final byte[] buffer=new byte[1024];
+            final int read=input.read(buffer);
+            return new String(buffer, 0, Math.max(read, 0), StandardCharsets.UTF_8);
+        }
+    }
+
+    static Stream<Arguments> pathDataPack() {
+        return Stream.of(
+                Arguments.of("target/conf.zip!/prod/app.yml", "target/conf.zip", "prod/app.yml"),
+                Arguments.of("/opt/app/conf.jar!/app.properties", "/opt/app/conf.jar", "app.properties"),
+                Arguments.of("conf.zip!/", "conf.zip", "")
+        );
+    }
+
+    @ParameterizedTest(name = "When path {0} is split then archive {1} and entry {2} are returned")
+    @MethodSource("pathDataPack")
+    public void testArchiveAndEntry(final String _path,final String _archive,final String _entry) {
+        Assertions.assertAll(() -> Assertions.assertEquals(Paths.get(_archive), ArchiveFiles.archive(_path)),
+                                () -> Assertions.assertEquals(_entry, ArchiveFiles.entry(_path)));
+    }
+    @Test
+    public void testArchiveAndEntry_withoutSeparator() {
+        Assertions.assertAll(() -> Assertions.assertThrows(UnreadableConfigLocation.class, () -> ArchiveFiles.archive("target/conf.zip")),
+                                () -> Assertions.assertThrows(UnreadableConfigLocation.class, () -> ArchiveFiles.entry("target/conf.zip")));
+    }
+    @Test
+    public void testOpenInputStream_shared() throws IOException {
+        final Path zip=zip("shared", "prod/app.properties", "a=1\n", "prod/db.yml", "db:\n  url: jdbc\n");
+        final ArchiveFiles instance=new ArchiveFiles();
+        try(ArchiveFiles.Archive first=instance.open(zip).get();
+                ArchiveFiles.Archive second=instance.open(zip).get();
+                ArchiveFiles.Archive absolute=instance.open(zip.toAbsolutePath()).get()){
+            Assertions.assertAll(() -> Assertions.assertEquals("a=1\n", read(instance.openInputStream(zip+"!/prod/app.properties"))),
+                                    () -> Assertions.assertEquals("db:\n  url: jdbc\n", read(instance.openInputStream(zip+"!/prod/db.yml"))),
+                                    () -> Assertions.assertEquals(instance.fingerprint(zip+"!/prod/app.properties"), instance.fingerprint(zip+"!/prod/app.properties")),
+                                    () -> Assertions.assertNotEquals(instance.fingerprint(zip+"!/prod/app.properties"), instance.fingerprint(zip+"!/prod/db.yml")),
+                                    () -> Assertions.assertSame(first.getZip(), second.getZip()),
+                                    () -> Assertions.assertSame(first.getZip(), absolute.getZip()),
+                                    () -> Assertions.assertEquals(1, instance.size()));
+        }finally{
+            instance.close();
+        }
+        Assertions.assertEquals(0, instance.size());
+    }
+    @Test
+    public void testOpenInputStream_changed() throws IOException {
+        final Path zip=zip("changed", "app.properties", "a=1\n", "other.properties", "o=1\n");
+        final ArchiveFiles instance=new ArchiveFiles();
+        try(ArchiveFiles.Archive first=instance.open(zip).get()){
+            final LocationFingerprint fingerprint=instance.fingerprint(zip+"!/app.properties");
+            final FileTime modified=Files.getLastModifiedTime(zip);
+            write(zip, "app.properties", "a=22\n", "other.properties", "o=1\n");
+            Files.setLastModifiedTime(zip, FileTime.fromMillis(modified.toMillis()+10_000));
+            Assertions.assertAll(() -> Assertions.assertEquals("a=22\n", read(instance.openInputStream(zip+"!/app.properties"))),
+                                    () -> Assertions.assertNotSame(first.getZip(), instance.open(zip).get().getZip()),
+                                    () -> Assertions.assertNotEquals(fingerprint, instance.fingerprint(zip+"!/app.properties")),
+                                    () -> Assertions.assertEquals(1, instance.size()));
+        }finally{
+            instance.close();
+        }
+    }
+    @Test
+    public void testOpenInputStream_changedWhileReading() throws IOException {
+        final Path zip=zip("reading", "app.properties", "a=1\n");
+        final ArchiveFiles instance=new ArchiveFiles();
+        try{
+            final ZipFile first;
+            try(ArchiveFiles.Archive archive=instance.open(zip).get()){
+                first=archive.getZip();
+            }
+            final InputStream reading=instance.openInputStream(zip+"!/app.properties").get();
+            final FileTime modified=Files.getLastModifiedTime(zip);
+            final Path replacement=zip("reading-replacement", "app.properties", "a=22\n");
+            Files.setLastModifiedTime(replacement, FileTime.fromMillis(modified.toMillis()+10_000));
+            Files.move(replacement, zip, StandardCopyOption.REPLACE_EXISTING);
+            Assertions.assertAll(() -> Assertions.assertEquals("a=22\n", read(instance.openInputStream(zip+"!/app.properties"))),
+                                    () -> Assertions.assertNotNull(first.entries()),
+                                    () -> Assertions.assertEquals("a=1\n", read(Optional.of(reading))),
+                                    () -> Assertions.assertThrows(IllegalStateException.class, first::entries),
+                                    () -> Assertions.assertEquals(1, instance.size()));
+        }finally{
+            instance.close();
+        }
+    }
+    @Test
+    public void testOpenInputStream_missing() throws IOException {
+        final Path zip=zip("missing", "app.properties", "a=1\n");
+        final ArchiveFiles instance=new ArchiveFiles();
+        try{
+            Assertions.assertAll(() -> Assertions.assertFalse(instance.openInputStream(zip+"!/missing.properties").isPresent()),
+                                    () -> Assertions.assertEquals(LocationFingerprint.MISSING, instance.fingerprint(zip+"!/missing.properties")),
+                                    () -> Assertions.assertFalse(instance.openInputStream("target/tests/not-existent.zip!/app.properties").isPresent()),
+                                    () -> Assertions.assertEquals(LocationFingerprint.MISSING, instance.fingerprint("target/tests/not-existent.zip!/app.properties")),
+                                    () -> Assertions.assertEquals(1, instance.size()));
+            Files.delete(zip);
+            Assertions.assertAll(() -> Assertions.assertFalse(instance.openInputStream(zip+"!/app.properties").isPresent()),
+                                    () -> Assertions.assertEquals(0, instance.size()));
+        }finally{
+            instance.close();
+        }
+    }
+    @Test
+    public void testOpen_concurrent() throws Exception {
+        final Path zip=zip("concurrent", "app.properties", "a=1\n");
+        final ArchiveFiles instance=new ArchiveFiles();
+        final ExecutorService executor=Executors.newFixedThreadPool(8);
+        try{
+            final CountDownLatch start=new CountDownLatch(1);
+            final List<Future<ArchiveFiles.Archive>> opened=new ArrayList<>();
+            for(int ic1=0;ic1<16;ic1++){
+                opened.add(executor.submit(() -> {
+                    start.await();
+                    return instance.open(zip).get();
+                }));
+            }
+            start.countDown();
+            final List<ArchiveFiles.Archive> archives=new ArrayList<>();
+            for(Future<ArchiveFiles.Archive> archive:opened){
+                archives.add(archive.get(10, TimeUnit.SECONDS));
+            }
+            Assertions.assertAll(() -> Assertions.assertEquals(1, archives.stream().map(ArchiveFiles.Archive::getZip).distinct().count()),
+                                    () -> Assertions.assertEquals(1, instance.size()));
+            archives.forEach(ArchiveFiles.Archive::close);
+            Assertions.assertNotNull(archives.get(0).getZip().entries());
+        }finally{
+            executor.shutdownNow();
+            instance.close();
+        }
+    }
+    @Test
+    public void testClose_archive() throws IOException {
+        final Path zip=zip("close", "app.properties", "a=1\n");
+        final ArchiveFiles instance=new ArchiveFiles();
+        try{
+            final InputStream reading=instance.openInputStream(zip+"!/app.properties").get();
+            final ZipFile first;
+            try(ArchiveFiles.Archive archive=instance.open(zip).get()){
+                first=archive.getZip();
+            }
+            instance.close(zip.toAbsolutePath());
+            Assertions.assertAll(() -> Assertions.assertEquals(0, instance.size()),
+                                    () -> Assertions.assertEquals("a=1\n", read(Optional.of(reading))),
+                                    () -> Assertions.assertThrows(IllegalStateException.class, first::entries));
+            try(ArchiveFiles.Archive archive=instance.open(zip).get()){
+                Assertions.assertAll(() -> Assertions.assertNotSame(first, archive.getZip()),
+                                        () -> Assertions.assertEquals(1, instance.size()));
+            }
+        }finally{
+            instance.close();
+        }
+    }
+    @Test
+    public void testOpen_notAnArchive() throws IOException {
+        final Path file=this.temporal.resolve("not-zip.zip");
+        Files.write(file, "not a zip".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThrows(UncheckedIOException.class, () -> new ArchiveFiles().open(file));
+    }
+    @Test
+    public void testGet() {
+        Assertions.assertSame(ArchiveFiles.get(), ArchiveFiles.get());
+    }
+}
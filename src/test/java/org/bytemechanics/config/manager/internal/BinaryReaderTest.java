@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class BinaryReaderTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> BinaryReaderTest >>>> setupSpec");
+        try ( InputStream inputStream = BinaryReaderTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static final List<Config> CONFIGS=Stream.of(Config.of("b.key","value b"),
+                                                        Config.of("a.key","value \u00e9\u20ac \ud83d\ude00"),
+                                                        Config.of("c.null",null),
+                                                        Config.of("c.empty",""),
+                                                        Config.of("\u00f1.key","unicode key"))
+                                                        .collect(Collectors.toList());
+
+    private static byte[] write(final Stream<Config> _config) throws IOException{
+        final ByteArrayOutputStream output=new ByteArrayOutputStream();
+        new BinaryWriter(output).write(_config);
+        return output.toByteArray();
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        BinaryReader instance=new BinaryReader(ByteBuffer.wrap(write(CONFIGS.stream())));
+        List<Config> expected=CONFIGS.stream()
+                                        .sorted()
+                                        .collect(Collectors.toList());
+        Assertions.assertAll(() -> Assertions.assertEquals(CONFIGS.size(),instance.size()),
+                                () -> Assertions.assertEquals(expected,instance.stream().collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testStream_empty() throws IOException {
+        BinaryReader instance=new BinaryReader(ByteBuffer.wrap(write(Stream.empty())));
+        Assertions.assertAll(() -> Assertions.assertEquals(0,instance.size()),
+                                () -> Assertions.assertEquals(0,instance.stream().count()),
+                                () -> Assertions.assertEquals(Optional.empty(),instance.get("any")));
+    }
+
+    @Test
+    public void testStream_mapped() throws IOException {
+        Path path=Paths.get("target/tests/binary-reader.cfgbin");
+        Files.createDirectories(path.getParent());
+        Files.write(path, write(CONFIGS.stream()));
+        BinaryReader instance=new BinaryReader(MappedFileReader.map(path));
+        Assertions.assertEquals(CONFIGS.stream().sorted().collect(Collectors.toList()),instance.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testStream_duplicatedKeys() throws IOException {
+        BinaryReader instance=new BinaryReader(ByteBuffer.wrap(write(Stream.of(Config.of("key","first"),Config.of("other","value"),Config.of("key","second")))));
+        Assertions.assertEquals(Stream.of(Config.of("key","second"),Config.of("other","value")).collect(Collectors.toList())
+                                ,instance.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testGet() throws IOException {
+        List<Config> configs=IntStream.range(0, 1000)
+                                        .mapToObj(index -> Config.of("key."+index,"value "+index))
+                                        .collect(Collectors.toList());
+        BinaryReader instance=new BinaryReader(ByteBuffer.wrap(write(configs.stream())));
+        configs.forEach(config -> Assertions.assertEquals(Optional.of(config),instance.get(config.getKey())));
+        Assertions.assertAll(() -> Assertions.assertEquals(Optional.empty(),instance.get("key.")),
+                                () -> Assertions.assertEquals(Optional.empty(),instance.get("key.1000")),
+                                () -> Assertions.assertEquals(Optional.empty(),instance.get("a")),
+                                () -> Assertions.assertEquals(Optional.empty(),instance.get("z")));
+    }
+
+    static Stream<Arguments> corruptedDataPack() throws IOException {
+        final byte[] valid=write(CONFIGS.stream());
+        final byte[] badMagic=valid.clone();
+        badMagic[0]++;
+        final byte[] badVersion=valid.clone();
+        badVersion[7]++;
+        final byte[] badChecksum=valid.clone();
+        badChecksum[valid.length-1]++;
+        final byte[] badLength=valid.clone();
+        badLength[11]++;
+        return Stream.of(
+                Arguments.of("empty buffer",new byte[0]),
+                Arguments.of("truncated header",Arrays.copyOf(valid, 10)),
+                Arguments.of("truncated content",Arrays.copyOf(valid, valid.length-1)),
+                Arguments.of("unknown magic",badMagic),
+                Arguments.of("unsupported version",badVersion),
+                Arguments.of("wrong entries",badLength),
+                Arguments.of("checksum mismatch",badChecksum)
+        );
+    }
+
+    @ParameterizedTest(name = "When read a binary snapshot with {0} should raise UncheckedIOException")
+    @MethodSource("corruptedDataPack")
+    public void testConstructor_corrupted(final String _description,final byte[] _content) {
+        Assertions.assertThrows(UncheckedIOException.class,() -> new BinaryReader(ByteBuffer.wrap(_content)));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class BinaryWriterTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> BinaryWriterTest >>>> setupSpec");
+        try ( InputStream inputStream = BinaryWriterTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static String readString(final DataInputStream _input) throws IOException{
+        final int length=_input.readInt();
+        if(length==BinaryWriter.NULL_LENGTH)
+            return null;
+        final byte[] bytes=new byte[length];
+        _input.readFully(bytes);
+        return new String(bytes,StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testWrite_layout() throws IOException {
+        final ByteArrayOutputStream output=new ByteArrayOutputStream();
+        new BinaryWriter(output).write(Stream.of(Config.of("b","2"),Config.of("a",null),Config.of("b","3")));
+        try(DataInputStream input=new DataInputStream(new ByteArrayInputStream(output.toByteArray()))){
+            Assertions.assertEquals(BinaryWriter.MAGIC,input.readInt());
+            Assertions.assertEquals(BinaryWriter.VERSION,input.readInt());
+            Assertions.assertEquals(2,input.readInt());
+            Assertions.assertEquals(output.size()-BinaryWriter.HEADER_LENGTH-2*4,input.readInt());
+            input.readLong();
+            Assertions.assertEquals(0,input.readInt());
+            Assertions.assertEquals(9,input.readInt());
+            Assertions.assertEquals("a",readString(input));
+            Assertions.assertNull(readString(input));
+            Assertions.assertEquals("b",readString(input));
+            Assertions.assertEquals("3",readString(input));
+            Assertions.assertEquals(-1,input.read());
+        }
+    }
+}
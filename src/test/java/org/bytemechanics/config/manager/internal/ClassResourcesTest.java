@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author afarre
+ */
+public class ClassResourcesTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ClassResourcesTest >>>> setupSpec");
+        try ( InputStream inputStream = ClassResourcesTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    /**
+     * Class loader with a folder and a jar, both with the given resource, that counts the getResources calls
+     */
+    static final class CountingClassLoader extends URLClassLoader{
+
+        int scans=0;
+
+        CountingClassLoader(final URL... _urls){
+            super(_urls, null);
+        }
+        @Override
+        public Enumeration<URL> getResources(final String _name) throws IOException {
+            this.scans++;
+            return super.getResources(_name);
+        }
+    }
+
+    @TempDir
+    Path temporal;
+
+    CountingClassLoader classLoader(final String _name,final String _resource,final String _folderContent,final String _jarContent) throws IOException{
+        final Path base=this.temporal.resolve(_name);
+        final Path folder=base.resolve("b-folder");
+        Files.createDirectories(folder.resolve(_resource).getParent());
+        Files.write(folder.resolve(_resource), _folderContent.getBytes(StandardCharsets.UTF_8));
+        final Path jar=base.resolve("a-plugin.jar");
+        try(ZipOutputStream output=new ZipOutputStream(Files.newOutputStream(jar))){
+            output.putNextEntry(new ZipEntry(_resource));
+            output.write(_jarContent.getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+        return new CountingClassLoader(folder.toUri().toURL(), jar.toUri().toURL());
+    }
+
+    @Test
+    public void testResources() throws IOException {
+        try(CountingClassLoader classLoader=classLoader("all", "conf/defaults.yml", "a: folder\n", "a: jar\n")){
+            final ClassResources instance=new ClassResources();
+            final List<URL> resources=instance.resources(classLoader, "conf/defaults.yml");
+            Assertions.assertAll(() -> Assertions.assertEquals(2, resources.size()),
+                                    () -> Assertions.assertTrue(resources.get(0).toExternalForm().startsWith("file:"), resources.get(0).toExternalForm()),
+                                    () -> Assertions.assertTrue(resources.get(1).toExternalForm().startsWith("jar:"), resources.get(1).toExternalForm()),
+                                    () -> Assertions.assertEquals(Collections.emptyList(), instance.resources(classLoader, "conf/missing.yml")),
+                                    () -> Assertions.assertThrows(UnsupportedOperationException.class, () -> resources.add(resources.get(0))));
+        }
+    }
+    @Test
+    public void testResources_cached() throws IOException {
+        try(CountingClassLoader classLoader=classLoader("cached", "defaults.yml", "a: folder\n", "a: jar\n")){
+            final ClassResources instance=new ClassResources();
+            final List<URL> first=instance.resources(classLoader, "defaults.yml");
+            Assertions.assertAll(() -> Assertions.assertSame(first, instance.resources(classLoader, "defaults.yml")),
+                                    () -> Assertions.assertEquals(1, classLoader.scans),
+                                    () -> Assertions.assertEquals(1, instance.size()));
+            instance.clear();
+            Assertions.assertAll(() -> Assertions.assertEquals(0, instance.size()),
+                                    () -> Assertions.assertEquals(first, instance.resources(classLoader, "defaults.yml")),
+                                    () -> Assertions.assertEquals(2, classLoader.scans));
+        }
+    }
+    @Test
+    public void testResources_failure() {
+        final ClassLoader failing=new ClassLoader(null) {
+                                            @Override
+                                            public Enumeration<URL> getResources(final String _name) throws IOException {
+                                                throw new IOException("failing");
+                                            }
+                                        };
+        Assertions.assertThrows(UncheckedIOException.class, () -> new ClassResources().resources(failing, "defaults.yml"));
+    }
+    @Test
+    public void testFingerprint() throws IOException {
+        try(CountingClassLoader classLoader=classLoader("fingerprint", "defaults.yml", "a: folder\n", "a: jar\n");
+                CountingClassLoader other=classLoader("fingerprint-other", "defaults.yml", "a: other\n", "a: jar\n")){
+            final ClassResources instance=new ClassResources();
+            Assertions.assertAll(() -> Assertions.assertEquals(instance.fingerprint(classLoader, "defaults.yml"), instance.fingerprint(classLoader, "defaults.yml")),
+                                    () -> Assertions.assertNotEquals(instance.fingerprint(classLoader, "defaults.yml"), instance.fingerprint(other, "defaults.yml")),
+                                    () -> Assertions.assertSame(LocationFingerprint.MISSING, instance.fingerprint(classLoader, "missing.yml")));
+        }
+    }
+}
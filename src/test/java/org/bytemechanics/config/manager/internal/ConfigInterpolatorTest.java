@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.ConfigIndex;
+import org.bytemechanics.config.manager.exceptions.UnresolvableConfigValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigInterpolatorTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigInterpolatorTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigInterpolatorTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static ConfigIndex index(final Config... _configs){
+        return ConfigIndex.of(Stream.of(_configs).map(ConfigTemplate::compile));
+    }
+
+    @Test
+    public void testInterpolate() {
+        final ConfigIndex merged=index(Config.of("db.host", "${env:DB_HOST:localhost}"),
+                                        Config.of("db.port", "5432"),
+                                        Config.of("db.url", "jdbc://${db.host}:${db.port}/${db.name}"),
+                                        Config.of("db.name", "${app.name}-db"),
+                                        Config.of("app.name", "demo"),
+                                        Config.of("app.title", "${app.name} (${db.url})"),
+                                        Config.of("app.null", null));
+        final ConfigIndex reply=ConfigInterpolator.interpolate(merged, Collections.singletonMap("DB_HOST", "db.local")::get);
+        Assertions.assertAll(() -> Assertions.assertEquals(7, reply.size()),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.host", "db.local")), reply.get("db.host")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.url", "jdbc://db.local:5432/demo-db")), reply.get("db.url")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.name", "demo-db")), reply.get("db.name")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("app.title", "demo (jdbc://db.local:5432/demo-db)")), reply.get("app.title")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("app.null", null)), reply.get("app.null")),
+                                () -> Assertions.assertFalse(reply.stream().anyMatch(config -> config instanceof ConfigTemplate)));
+    }
+    @Test
+    public void testInterpolate_sameKeyTwice() {
+        final ConfigIndex merged=index(Config.of("a", "${b}${b}${b}"),
+                                        Config.of("b", "${c}"),
+                                        Config.of("c", "x"));
+        Assertions.assertEquals(Optional.of(Config.of("a", "xxx")), ConfigInterpolator.interpolate(merged, name -> null).get("a"));
+    }
+    @Test
+    public void testInterpolate_nestedAndEscaped() {
+        final ConfigIndex merged=index(Config.of("log.pattern", "%d $${LOG_PATTERN}"),
+                                        Config.of("db.url", "${db.custom:jdbc://${db.host:${env:DB_HOST:localhost}}/db}"),
+                                        Config.of("db.host", "${db.alias:db.local}"));
+        final ConfigIndex reply=ConfigInterpolator.interpolate(merged, name -> null);
+        Assertions.assertAll(() -> Assertions.assertEquals(Optional.of(Config.of("log.pattern", "%d ${LOG_PATTERN}")), reply.get("log.pattern")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.url", "jdbc://db.local/db")), reply.get("db.url")),
+                                () -> Assertions.assertEquals(Optional.of(Config.of("db.host", "db.local")), reply.get("db.host")));
+    }
+    @Test
+    public void testInterpolate_circular() {
+        final ConfigIndex merged=index(Config.of("a", "${b}"),
+                                        Config.of("b", "${c}"),
+                                        Config.of("c", "x${a}"));
+        final UnresolvableConfigValue exception=Assertions.assertThrows(UnresolvableConfigValue.class, () -> ConfigInterpolator.interpolate(merged, name -> null));
+        Assertions.assertTrue(exception.getMessage().endsWith("circular reference a -> b -> c -> a"), exception.getMessage());
+    }
+    @Test
+    public void testInterpolate_self() {
+        final ConfigIndex merged=index(Config.of("a", "${a:default}"));
+        Assertions.assertThrows(UnresolvableConfigValue.class, () -> ConfigInterpolator.interpolate(merged, name -> null));
+    }
+    @Test
+    public void testInterpolate_missing() {
+        final ConfigIndex merged=index(Config.of("a", "${b}"));
+        Assertions.assertThrows(UnresolvableConfigValue.class, () -> ConfigInterpolator.interpolate(merged, name -> null));
+    }
+}
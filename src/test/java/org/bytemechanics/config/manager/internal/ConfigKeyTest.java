@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigKeyTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigKeyTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigKeyTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static ConfigKey key(final String _key){
+        return new ConfigKey(Config.of(_key, "value"));
+    }
+    private static List<String> segments(final ConfigKey _key){
+        return IntStream.range(0, _key.size())
+                            .mapToObj(segment -> (_key.isIndex(segment))? "#"+_key.segment(segment) : _key.segment(segment))
+                            .collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> segmentsDataPack() {
+        return Stream.of(
+                Arguments.of("data", "[data]"),
+                Arguments.of("data.person.name", "[data, person, name]"),
+                Arguments.of("data.person[1].name", "[data, person, #1, name]"),
+                Arguments.of("data.matrix[1][12]", "[data, matrix, #1, #12]"),
+                Arguments.of("data.person[*].length", "[data, person, [*], length]"),
+                Arguments.of("data.person[a].name", "[data, person, [a], name]"),
+                Arguments.of("[3].name", "[#3, name]"),
+                Arguments.of("data..name.", "[data, name]"),
+                Arguments.of("", "[]")
+        );
+    }
+    @ParameterizedTest(name = "Key {0} should be split in {1}")
+    @MethodSource("segmentsDataPack")
+    public void testSegments(final String _key,final String _expected) {
+        Assertions.assertEquals(_expected, segments(key(_key)).toString());
+    }
+
+    static Stream<Arguments> compareDataPack() {
+        return Stream.of(
+                Arguments.of("a", "a", 0),
+                Arguments.of("a", "a.b", -1),
+                Arguments.of("a.b", "a", 1),
+                Arguments.of("a.b", "a.c", -1),
+                Arguments.of("a.b.z", "a.c", -1),
+                Arguments.of("a.b", "a-b", -1),
+                Arguments.of("a[2]", "a[10]", -1),
+                Arguments.of("a[10].x", "a[2].y", 1),
+                Arguments.of("a[0]", "a.b", -1),
+                Arguments.of("a.b", "a[0]", 1),
+                Arguments.of("a[0]", "a[00]", -1),
+                Arguments.of("a[01]", "a[1]", 1),
+                Arguments.of("a[01].x", "a[01].x", 0),
+                Arguments.of("a[01].x", "a[1].a", 1)
+        );
+    }
+    @ParameterizedTest(name = "Key {0} compared with {1} should be {2}")
+    @MethodSource("compareDataPack")
+    public void testCompareTo(final String _key,final String _other,final int _expected) {
+        Assertions.assertEquals(_expected, Integer.signum(key(_key).compareTo(key(_other))));
+        Assertions.assertEquals(-_expected, Integer.signum(key(_other).compareTo(key(_key))));
+    }
+
+    static Stream<Arguments> commonSegmentsDataPack() {
+        return Stream.of(
+                Arguments.of("a.b.c", "a.b.d", 2),
+                Arguments.of("a.b.c", "a.b", 2),
+                Arguments.of("a[1].c", "a[1].d", 2),
+                Arguments.of("a[1].c", "a[2].c", 1),
+                Arguments.of("a[01].c", "a[1].c", 1),
+                Arguments.of("a.b", "c.b", 0),
+                Arguments.of("a.b", null, 0)
+        );
+    }
+    @ParameterizedTest(name = "Key {0} and {1} should share {2} segments")
+    @MethodSource("commonSegmentsDataPack")
+    public void testCommonSegments(final String _key,final String _other,final int _expected) {
+        Assertions.assertEquals(_expected, key(_key).commonSegments((_other==null)? null : key(_other)));
+    }
+
+    @Test
+    public void testGetConfig() {
+        final Config config=Config.of("a.b", "c");
+        final ConfigKey key=new ConfigKey(config);
+        Assertions.assertSame(config, key.getConfig());
+        Assertions.assertEquals("a.b", key.getKey());
+        Assertions.assertEquals("c", key.getValue());
+    }
+}
@@ -16,17 +16,23 @@
 package org.bytemechanics.config.manager.internal;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.logging.LogManager;
@@ -100,7 +106,7 @@ public class ConfigParserFactoryTest {
     
     @Test
     public void testValidFormats() {
-        String expResult = "[.properties, .yaml, .yml]";
+        String expResult = "[.properties, .yaml, .yml, .cfgbin]";
         String result = ConfigParserFactory.validFormats();
         Assertions.assertEquals(expResult, result);
     }
@@ -127,6 +133,25 @@ public class ConfigParserFactoryTest {
             Assertions.assertEquals(expected,result);
         }
     }
+    @Test
+    public void testRead_binaryFromReader() throws URISyntaxException {
+        URI location = new URI("file://target/tests/config-out.cfgbin");
+        Assertions.assertThrows(UnsupportedOperationException.class,() -> ConfigParserFactory.read(new StringReader(""),location));
+    }
+    @Test
+    public void testRead_inputStream() throws IOException {
+        final ByteArrayOutputStream binary=new ByteArrayOutputStream();
+        new BinaryWriter(binary).write(Stream.of(Config.of("a.b","1"),Config.of("a.c","2")));
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(Config.of("a.b","1"),Config.of("a.c","2")),ConfigParserFactory.YAML.read(new ByteArrayInputStream("a:\n  b: 1\n  c: 2\n".getBytes(StandardCharsets.UTF_8)),StandardCharsets.UTF_8).sorted().collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(Arrays.asList(Config.of("a.b","1")),ConfigParserFactory.PROPERTIES.read(new ByteArrayInputStream("a.b=1\n".getBytes(StandardCharsets.UTF_8)),StandardCharsets.UTF_8).collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(Arrays.asList(Config.of("a.b","1"),Config.of("a.c","2")),ConfigParserFactory.BINARY.read(new ByteArrayInputStream(binary.toByteArray()),StandardCharsets.UTF_8).sorted().collect(Collectors.toList())));
+    }
+    @Test
+    public void testWrite_binaryToWriter() throws URISyntaxException {
+        URI location = new URI("file://target/tests/config-out.cfgbin");
+        Assertions.assertThrows(UnsupportedOperationException.class,() -> ConfigParserFactory.write(new StringWriter(),location,Stream.empty()));
+    }
+
     static Stream<Arguments> inputWrongDataPack() {
         return Stream.of(
                 Arguments.of("http://target/tests/config-out.properties",null,NullPointerException.class),
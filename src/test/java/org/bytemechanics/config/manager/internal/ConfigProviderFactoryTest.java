@@ -28,11 +28,15 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
 import org.bytemechanics.config.manager.exceptions.UnreadableConfigLocation;
 import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationScheme;
 import org.bytemechanics.config.manager.exceptions.UnwritableConfigLocation;
@@ -73,6 +77,8 @@ public class ConfigProviderFactoryTest {
                 Arguments.of("file://src/test/resources/test.properties",ConfigProviderFactory.FILE,Charset.forName("UTF-8"),Paths.get("src/test/resources/test.properties")),
                 Arguments.of("file://src/test/resources/test.yaml",ConfigProviderFactory.FILE,Charset.forName("ISO-8859-1"),Paths.get("src/test/resources/test.yaml")),
                 Arguments.of("file://src/test/resources/test.yml",ConfigProviderFactory.FILE,Charset.forName("UTF-8"),Paths.get("src/test/resources/test.yml")),
+                Arguments.of("file://src/test/resources/test.properties?mapped=true",ConfigProviderFactory.FILE,Charset.forName("UTF-8"),Paths.get("src/test/resources/test.properties")),
+                Arguments.of("file://src/test/resources/test.yaml?mapped",ConfigProviderFactory.FILE,Charset.forName("ISO-8859-1"),Paths.get("src/test/resources/test.yaml")),
                 Arguments.of("classpath://org/bytemechanics/config/manager/internal/test.properties",ConfigProviderFactory.CLASSPATH,Charset.forName("UTF-8"),Paths.get("src/test/resources/test.properties")),
                 Arguments.of("classpath://org/bytemechanics/config/manager/internal/test.yaml",ConfigProviderFactory.CLASSPATH,Charset.forName("ISO-8859-1"),Paths.get("src/test/resources/test.yaml")),
                 Arguments.of("classpath://org/bytemechanics/config/manager/internal/test.yml",ConfigProviderFactory.CLASSPATH,Charset.forName("UTF-8"),Paths.get("src/test/resources/test.yml")),
@@ -95,13 +101,48 @@ public class ConfigProviderFactoryTest {
     }
     @Test
     public void testValueOf_notSupported() throws URISyntaxException {
-        URI location = new URI("http://my/uri");
+        URI location = new URI("ftp://my/uri");
+        Assertions.assertThrows(UnsupportedConfigLocationScheme.class,() ->  ConfigProviderFactory.valueOf(location));
+    }
+    static Stream<Arguments> ignoreCaseDataPack() {
+        return Stream.of(
+                Arguments.of("FILE://src/test/resources/test.properties",ConfigProviderFactory.FILE),
+                Arguments.of("File://src/test/resources/test.properties",ConfigProviderFactory.FILE),
+                Arguments.of("ClassPath://test.yml",ConfigProviderFactory.CLASSPATH),
+                Arguments.of("ClassPath-All://test.yml",ConfigProviderFactory.CLASSPATH_ALL),
+                Arguments.of("classpath-all://test.yml",ConfigProviderFactory.CLASSPATH_ALL),
+                Arguments.of("ENV://myapp",ConfigProviderFactory.ENV),
+                Arguments.of("System://myapp",ConfigProviderFactory.SYSTEM),
+                Arguments.of("Zip://target/conf.zip!/app.yml",ConfigProviderFactory.ZIP),
+                Arguments.of("JAR://target/conf.jar!/app.yml",ConfigProviderFactory.JAR)
+        );
+    }
+    @ParameterizedTest(name = "When try to get ConfigProvider of {0} should return {1} ignoring scheme case")
+    @MethodSource("ignoreCaseDataPack")
+    public void testValueOf_ignoreCase(final String _uri,final ConfigProviderFactory _configProvider) throws URISyntaxException {
+        Assertions.assertSame(_configProvider, ConfigProviderFactory.valueOf(new URI(_uri)));
+    }
+    @Test
+    public void testValueOf_withoutScheme() throws URISyntaxException {
+        URI location = new URI("src/test/resources/test.properties");
         Assertions.assertThrows(UnsupportedConfigLocationScheme.class,() ->  ConfigProviderFactory.valueOf(location));
     }
     
+    @Test
+    public void testGetScheme_locale() {
+        final Locale locale=Locale.getDefault();
+        Locale.setDefault(new Locale("tr","TR"));
+        try{
+            Assertions.assertAll(() -> Assertions.assertEquals("classpath", ConfigProviderFactory.CLASSPATH.getScheme()),
+                                    () -> Assertions.assertEquals("classpath-all", ConfigProviderFactory.CLASSPATH_ALL.getScheme()),
+                                    () -> Assertions.assertEquals("file", ConfigProviderFactory.FILE.getScheme()));
+        }finally{
+            Locale.setDefault(locale);
+        }
+    }
     @Test
     public void testValidSchemes() {
-        String expResult = "[classpath, file]";
+        String expResult = "[classpath, classpath-all, file, env, http, https, zip, jar, system]";
         String result = ConfigProviderFactory.validSchemes();
         Assertions.assertEquals(expResult, result);
     }
@@ -120,8 +161,39 @@ public class ConfigProviderFactoryTest {
         }
         Assertions.assertEquals(expResult,stringResult);
     }
+    static Stream<Arguments> mappedDataPack() {
+        return Stream.of(
+                Arguments.of("file://src/test/resources/test.properties",null,false),
+                Arguments.of("file://src/test/resources/test.properties","false",false),
+                Arguments.of("file://src/test/resources/test.properties","true",true),
+                Arguments.of("file://src/test/resources/test.properties?mapped",null,true),
+                Arguments.of("file://src/test/resources/test.properties?mapped=true","false",true),
+                Arguments.of("file://src/test/resources/test.properties?mapped=false","true",false)
+        );
+    }
+    @ParameterizedTest(name = "When location is {0} and mapped system property is {1} isMapped should return {2}")
+    @MethodSource("mappedDataPack")
+    public void testIsMapped(final String _uri,final String _property,final boolean _expected) throws URISyntaxException {
+        URI _location = new URI(_uri);
+        String previous=System.getProperty(ConfigProviderFactory.MAPPED_PROPERTY);
+        try{
+            if(_property!=null){
+                System.setProperty(ConfigProviderFactory.MAPPED_PROPERTY,_property);
+            }else{
+                System.clearProperty(ConfigProviderFactory.MAPPED_PROPERTY);
+            }
+            Assertions.assertEquals(_expected,ConfigProviderFactory.isMapped(_location));
+        }finally{
+            if(previous!=null){
+                System.setProperty(ConfigProviderFactory.MAPPED_PROPERTY,previous);
+            }else{
+                System.clearProperty(ConfigProviderFactory.MAPPED_PROPERTY);
+            }
+        }
+    }
+    
     @ParameterizedTest(name = "When openInput to {0} using charset UTF-8 should return an empty stream")
-    @ValueSource(strings = {"classpath://test2.properties","classpath://org/test.yaml","classpath://my/test.yml","file://nothing.yaml"})
+    @ValueSource(strings = {"classpath://test2.properties","classpath://org/test.yaml","classpath://my/test.yml","file://nothing.yaml","file://nothing.yaml?mapped=true"})
     public void testOpenInputStream_notFound(final String _uri) throws URISyntaxException, IOException {
         URI _location = new URI(_uri);
         Assertions.assertFalse(ConfigProviderFactory.openInputStream(_location, Charset.forName("UTF-8"))
@@ -129,8 +201,9 @@ public class ConfigProviderFactoryTest {
     }
     static Stream<Arguments> inputWrongDataPack() {
         return Stream.of(
-                Arguments.of("http://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
-                Arguments.of("file://target",UnreadableConfigLocation.class)
+                Arguments.of("ftp://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
+                Arguments.of("file://target",UnreadableConfigLocation.class),
+                Arguments.of("file://target?mapped=true",UnreadableConfigLocation.class)
         );
     }
     @ParameterizedTest(name = "When openInput to {0} using charset UTF-8 should raise {1}")
@@ -169,7 +242,10 @@ public class ConfigProviderFactoryTest {
     static Stream<Arguments> outputWrongDataPack() {
         return Stream.of(
                 Arguments.of("classpath://target/tests/config-out.properties",UnsupportedOperationException.class),
-                Arguments.of("http://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
+                Arguments.of("env://myapp",UnsupportedOperationException.class),
+                Arguments.of("system://myapp",UnsupportedOperationException.class),
+                Arguments.of("zip://target/tests/conf.zip!/app.properties",UnsupportedOperationException.class),
+                Arguments.of("ftp://target/tests/config-out.properties",UnsupportedConfigLocationScheme.class),
                 Arguments.of("file://target",UnwritableConfigLocation.class)
         );
     }
@@ -181,4 +257,33 @@ public class ConfigProviderFactoryTest {
         URI _location = new URI(_uri);
         Assertions.assertThrows(_exception,() -> ConfigProviderFactory.openOutputStream(_location, Charset.forName("UTF-8")));
     }
+
+    @Test
+    public void testRead_env() throws URISyntaxException {
+        final ResolvedLocation all=new ResolvedLocation(new URI("env:///"), Charset.forName("UTF-8"));
+        final ResolvedLocation path=new ResolvedLocation(new URI("env://PATH"), Charset.forName("UTF-8"));
+        Assertions.assertAll(() -> Assertions.assertSame(ConfigProviderFactory.ENV, all.getProvider()),
+                                () -> Assertions.assertEquals(System.getenv().size(), all.read().count()),
+                                () -> Assertions.assertEquals(Collections.singletonList(Config.of("path", System.getenv("PATH"))), path.read().collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(all.fingerprint(), path.fingerprint()),
+                                () -> Assertions.assertFalse(ConfigProviderFactory.ENV.openInputStream(new URI("env://PATH")).isPresent()));
+    }
+    @Test
+    public void testRead_system() throws URISyntaxException {
+        final ResolvedLocation location=new ResolvedLocation(new URI("system://provider.test"), Charset.forName("UTF-8"));
+        System.setProperty("provider.test.key", "1");
+        try{
+            final LocationFingerprint fingerprint=location.fingerprint();
+            final List<Config> first=location.read().collect(Collectors.toList());
+            System.setProperty("provider.test.key", "2");
+            Assertions.assertAll(() -> Assertions.assertSame(ConfigProviderFactory.SYSTEM, location.getProvider()),
+                                    () -> Assertions.assertEquals(Collections.singletonList(Config.of("provider.test.key", "1")), first),
+                                    () -> Assertions.assertEquals(Collections.singletonList(Config.of("provider.test.key", "2")), location.read().collect(Collectors.toList())),
+                                    () -> Assertions.assertNotEquals(fingerprint, location.fingerprint()),
+                                    () -> Assertions.assertEquals(location.fingerprint(), location.fingerprint()),
+                                    () -> Assertions.assertFalse(ConfigProviderFactory.SYSTEM.openInputStream(new URI("system://provider.test")).isPresent()));
+        }finally{
+            System.clearProperty("provider.test.key");
+        }
+    }
 }
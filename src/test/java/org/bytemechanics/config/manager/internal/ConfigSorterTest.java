@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigSorterTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigSorterTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigSorterTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static long runFiles() throws IOException{
+        try(Stream<Path> files=Files.list(Paths.get(System.getProperty("java.io.tmpdir")))){
+            return files.filter(file -> file.getFileName().toString().startsWith("config-sort-"))
+                        .count();
+        }
+    }
+    private static List<Config> sort(final ConfigSorter _sorter,final Stream<Config> _config){
+        try(Stream<ConfigKey> sorted=_sorter.sort(_config)){
+            return sorted.map(ConfigKey::getConfig)
+                            .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testConstructor() {
+        Assertions.assertEquals(Integer.getInteger(ConfigSorter.CHUNK_PROPERTY, ConfigSorter.DEFAULT_CHUNK).intValue(), new ConfigSorter().getChunkSize());
+        Assertions.assertEquals(3, new ConfigSorter(3).getChunkSize());
+    }
+    @Test
+    public void testConstructor_notPositive() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConfigSorter(0));
+    }
+
+    static Stream<Arguments> chunkDataPack() {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(2),
+                Arguments.of(7),
+                Arguments.of(1000)
+        );
+    }
+    @ParameterizedTest(name = "Sort with chunk size {0} should sort by segments keeping the last repeated key")
+    @MethodSource("chunkDataPack")
+    public void testSort(final int _chunkSize) throws IOException {
+        final long before=runFiles();
+        final List<Config> result=sort(new ConfigSorter(_chunkSize),Stream.of(
+                                                                        Config.of("b", "1"),
+                                                                        Config.of("a.list[10]", "2"),
+                                                                        Config.of("a.list[2]", "3"),
+                                                                        Config.of("b", "4"),
+                                                                        Config.of("a.name", null),
+                                                                        Config.of("a", "5"),
+                                                                        Config.of("a.list[2]", "6")));
+        Assertions.assertEquals(Stream.of(
+                                        Config.of("a", "5"),
+                                        Config.of("a.list[2]", "6"),
+                                        Config.of("a.list[10]", "2"),
+                                        Config.of("a.name", null),
+                                        Config.of("b", "4"))
+                                    .collect(Collectors.toList()), result);
+        Assertions.assertEquals(before, runFiles());
+    }
+    @ParameterizedTest(name = "Sort with chunk size {0} should keep indexes written with leading zeros as different keys")
+    @MethodSource("chunkDataPack")
+    public void testSort_leadingZeros(final int _chunkSize) {
+        final List<Config> result=sort(new ConfigSorter(_chunkSize),Stream.of(
+                                                                        Config.of("a[01]", "1"),
+                                                                        Config.of("a[1]", "2"),
+                                                                        Config.of("a[001]", "3")));
+        Assertions.assertEquals(Stream.of(
+                                        Config.of("a[1]", "2"),
+                                        Config.of("a[01]", "1"),
+                                        Config.of("a[001]", "3"))
+                                    .collect(Collectors.toList()), result);
+    }
+    @Test
+    public void testSort_empty() {
+        Assertions.assertEquals(0, sort(new ConfigSorter(1),Stream.empty()).size());
+    }
+    @Test
+    public void testSort_spilled() throws IOException {
+        final long before=runFiles();
+        final List<String> expected=IntStream.range(0, 10_000)
+                                                .mapToObj(index -> "key.list["+index+"]")
+                                                .collect(Collectors.toList());
+        try(Stream<ConfigKey> sorted=new ConfigSorter(1_000).sort(IntStream.range(0, 10_000)
+                                                                            .map(index -> (index*7919)%10_000)
+                                                                            .mapToObj(index -> Config.of("key.list["+index+"]", String.valueOf(index))))){
+            Assertions.assertEquals(before+10, runFiles());
+            Assertions.assertEquals(expected, sorted.map(ConfigKey::getKey)
+                                                        .collect(Collectors.toList()));
+        }
+        Assertions.assertEquals(before, runFiles());
+    }
+}
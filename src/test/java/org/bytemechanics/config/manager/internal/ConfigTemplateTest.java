@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.exceptions.UnresolvableConfigValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigTemplateTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigTemplateTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigTemplateTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> literalDataPack() {
+        return Stream.of(
+                Arguments.of(Config.of("plain", "value")),
+                Arguments.of(Config.of("empty", "")),
+                Arguments.of(Config.of("null", null)),
+                Arguments.of(Config.of("dollar", "cost $5 {x}")),
+                Arguments.of(Config.of("unclosed", "${never.closed"))
+        );
+    }
+
+    @ParameterizedTest(name = "When {0} is compiled then the same instance is returned")
+    @MethodSource("literalDataPack")
+    public void testCompile_literal(final Config _config) {
+        Assertions.assertSame(_config, ConfigTemplate.compile(_config));
+    }
+
+    static Stream<Arguments> templateDataPack() {
+        return Stream.of(
+                Arguments.of("${db.host}", "localhost"),
+                Arguments.of("jdbc://${db.host}:${db.port}/db", "jdbc://localhost:5432/db"),
+                Arguments.of("${db.missing:fallback}", "fallback"),
+                Arguments.of("${db.missing:}", ""),
+                Arguments.of("${db.host:fallback}", "localhost"),
+                Arguments.of("${env:HOME}/app", "/home/test/app"),
+                Arguments.of("${env:MISSING:/tmp}/app", "/tmp/app"),
+                Arguments.of("${env:MISSING:a:b}", "a:b"),
+                Arguments.of("x${db.host}y${never.closed", "xlocalhosty${never.closed"),
+                Arguments.of("%d $${LOG_PATTERN}", "%d ${LOG_PATTERN}"),
+                Arguments.of("$${db.host}=${db.host}", "${db.host}=localhost"),
+                Arguments.of("${db.missing:${db.host}}", "localhost"),
+                Arguments.of("${db.missing:${env:MISSING:${db.port}}}/db", "5432/db"),
+                Arguments.of("${db.host:${db.missing}}", "localhost"),
+                Arguments.of("${db.missing:$${db.host}}", "${db.host}"),
+                Arguments.of("${db.missing:{a}}", "{a}")
+        );
+    }
+
+    @ParameterizedTest(name = "When {0} is resolved then {1} is returned")
+    @MethodSource("templateDataPack")
+    public void testResolve(final String _value,final String _expected) {
+        final Map<String,String> keys=new HashMap<>();
+        keys.put("db.host", "localhost");
+        keys.put("db.port", "5432");
+        final Map<String,String> environment=Collections.singletonMap("HOME", "/home/test");
+        final Config template=ConfigTemplate.compile(Config.of("key", _value));
+        Assertions.assertAll(() -> Assertions.assertTrue(template instanceof ConfigTemplate),
+                                () -> Assertions.assertSame(template, ConfigTemplate.compile(template)),
+                                () -> Assertions.assertEquals(_value, template.getValue()),
+                                () -> Assertions.assertEquals(_expected, ((ConfigTemplate)template).resolve(keys::get, environment::get)));
+    }
+
+    @Test
+    public void testResolve_missing() {
+        final ConfigTemplate template=(ConfigTemplate)ConfigTemplate.compile(Config.of("db.url", "jdbc://${db.host}/${env:DB}"));
+        final UnresolvableConfigValue key=Assertions.assertThrows(UnresolvableConfigValue.class, () -> template.resolve(name -> null, name -> "x"));
+        final UnresolvableConfigValue environment=Assertions.assertThrows(UnresolvableConfigValue.class, () -> template.resolve(name -> "x", name -> null));
+        Assertions.assertAll(() -> Assertions.assertEquals("db.url", key.getKey()),
+                                () -> Assertions.assertEquals("jdbc://${db.host}/${env:DB}", key.getValue()),
+                                () -> Assertions.assertTrue(key.getMessage().endsWith("missing reference ${db.host}")),
+                                () -> Assertions.assertTrue(environment.getMessage().endsWith("missing reference ${env:DB}")));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ConfigValuesTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ConfigValuesTest >>>> setupSpec");
+        try ( InputStream inputStream = ConfigValuesTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> longDataPack() {
+        return Stream.of(
+                Arguments.of("0", 0l),
+                Arguments.of(" 42 ", 42l),
+                Arguments.of("-42", -42l),
+                Arguments.of("+7", 7l),
+                Arguments.of("9223372036854775807", Long.MAX_VALUE)
+        );
+    }
+    @ParameterizedTest(name = "Parse long {0} should return {1}")
+    @MethodSource("longDataPack")
+    public void testParseLong(final String _value,final long _expected) {
+        Assertions.assertEquals(_expected, ConfigValues.parseLong(_value));
+    }
+
+    static Stream<Arguments> booleanDataPack() {
+        return Stream.of(
+                Arguments.of("true", true),
+                Arguments.of("TRUE", true),
+                Arguments.of("yes", true),
+                Arguments.of(" On ", true),
+                Arguments.of("false", false),
+                Arguments.of("No", false),
+                Arguments.of("off", false)
+        );
+    }
+    @ParameterizedTest(name = "Parse boolean {0} should return {1}")
+    @MethodSource("booleanDataPack")
+    public void testParseBoolean(final String _value,final boolean _expected) {
+        Assertions.assertEquals(_expected, ConfigValues.parseBoolean(_value));
+    }
+
+    static Stream<Arguments> durationDataPack() {
+        return Stream.of(
+                Arguments.of("PT30S", Duration.ofSeconds(30)),
+                Arguments.of("pt1m", Duration.ofMinutes(1)),
+                Arguments.of("-PT1H", Duration.ofHours(-1)),
+                Arguments.of("250", Duration.ofMillis(250)),
+                Arguments.of("250ms", Duration.ofMillis(250)),
+                Arguments.of("10 ns", Duration.ofNanos(10)),
+                Arguments.of("10us", Duration.ofNanos(10_000)),
+                Arguments.of("30s", Duration.ofSeconds(30)),
+                Arguments.of("5M", Duration.ofMinutes(5)),
+                Arguments.of("2h", Duration.ofHours(2)),
+                Arguments.of("-1d", Duration.ofDays(-1))
+        );
+    }
+    @ParameterizedTest(name = "Parse duration {0} should return {1}")
+    @MethodSource("durationDataPack")
+    public void testParseDuration(final String _value,final Duration _expected) {
+        Assertions.assertEquals(_expected, ConfigValues.parseDuration(_value));
+    }
+
+    static Stream<Arguments> bytesDataPack() {
+        return Stream.of(
+                Arguments.of("100", 100l),
+                Arguments.of("100b", 100l),
+                Arguments.of("1k", 1024l),
+                Arguments.of("1KB", 1024l),
+                Arguments.of("512 KiB", 512l*1024),
+                Arguments.of("2m", 2l*1024*1024),
+                Arguments.of("3G", 3l*1024*1024*1024),
+                Arguments.of("1tb", 1024l*1024*1024*1024)
+        );
+    }
+    @ParameterizedTest(name = "Parse bytes {0} should return {1}")
+    @MethodSource("bytesDataPack")
+    public void testParseBytes(final String _value,final long _expected) {
+        Assertions.assertEquals(_expected, ConfigValues.parseBytes(_value));
+    }
+
+    static Stream<Arguments> malformedDataPack() {
+        return Stream.of(
+                Arguments.of("long", null),
+                Arguments.of("long", ""),
+                Arguments.of("long", "1.5"),
+                Arguments.of("long", "9223372036854775808"),
+                Arguments.of("boolean", "maybe"),
+                Arguments.of("boolean", "1"),
+                Arguments.of("duration", "ms"),
+                Arguments.of("duration", "10 weeks"),
+                Arguments.of("duration", "PT"),
+                Arguments.of("duration", "9223372036854775807d"),
+                Arguments.of("bytes", "1x"),
+                Arguments.of("bytes", "k"),
+                Arguments.of("bytes", "9223372036854775807k")
+        );
+    }
+    @ParameterizedTest(name = "Parse {0} {1} should fail")
+    @MethodSource("malformedDataPack")
+    public void testParse_malformed(final String _type,final String _value) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            switch(_type){
+                case "long": ConfigValues.parseLong(_value); break;
+                case "boolean": ConfigValues.parseBoolean(_value); break;
+                case "duration": ConfigValues.parseDuration(_value); break;
+                default: ConfigValues.parseBytes(_value); break;
+            }
+        });
+    }
+}
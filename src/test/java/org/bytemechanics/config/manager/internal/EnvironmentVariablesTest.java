@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class EnvironmentVariablesTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> EnvironmentVariablesTest >>>> setupSpec");
+        try ( InputStream inputStream = EnvironmentVariablesTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> keyDataPack() {
+        return Stream.of(
+                Arguments.of("MYAPP_DB_POOL_SIZE", "myapp.db.pool.size"),
+                Arguments.of("PATH", "path"),
+                Arguments.of("MYAPP_MAX__SIZE", "myapp.max_size"),
+                Arguments.of("MYAPP__", "myapp_"),
+                Arguments.of("_HIDDEN", ".hidden"),
+                Arguments.of("already.dotted", "already.dotted"),
+                Arguments.of("", "")
+        );
+    }
+
+    @ParameterizedTest(name = "When variable {0} is mapped then key {1} is returned")
+    @MethodSource("keyDataPack")
+    public void testToKey(final String _name,final String _expected) {
+        Assertions.assertEquals(_expected, EnvironmentVariables.toKey(_name));
+    }
+
+    static Stream<Arguments> prefixDataPack() {
+        return Stream.of(
+                Arguments.of(null, Arrays.asList("myapp", "myapp.db.pool.size", "myapp.db.url", "myapp2.x", "other")),
+                Arguments.of("", Arrays.asList("myapp", "myapp.db.pool.size", "myapp.db.url", "myapp2.x", "other")),
+                Arguments.of("myapp", Arrays.asList("myapp", "myapp.db.pool.size", "myapp.db.url")),
+                Arguments.of("MYAPP", Arrays.asList("myapp", "myapp.db.pool.size", "myapp.db.url")),
+                Arguments.of("MYAPP_DB_POOL", Arrays.asList("myapp.db.pool.size")),
+                Arguments.of("myapp.db.url", Arrays.asList("myapp.db.url")),
+                Arguments.of("zzz", Arrays.asList()),
+                Arguments.of("aaa", Arrays.asList())
+        );
+    }
+
+    @ParameterizedTest(name = "When variables are streamed with prefix {0} then keys {1} are returned")
+    @MethodSource("prefixDataPack")
+    public void testStream(final String _prefix,final List<String> _expected) {
+        final Map<String,String> variables=new HashMap<>();
+        variables.put("OTHER", "o");
+        variables.put("MYAPP_DB_URL", "jdbc:test");
+        variables.put("MYAPP2_X", "x");
+        variables.put("MYAPP_DB_POOL_SIZE", "10");
+        variables.put("MYAPP", "root");
+        final EnvironmentVariables instance=new EnvironmentVariables(variables);
+        Assertions.assertAll(() -> Assertions.assertEquals(_expected, instance.stream(_prefix).map(Config::getKey).collect(Collectors.toList())),
+                                () -> Assertions.assertEquals(5, instance.size()));
+    }
+
+    @Test
+    public void testStream_values() {
+        final EnvironmentVariables instance=new EnvironmentVariables(Collections.singletonMap("MYAPP_DB_URL", "jdbc:test"));
+        Assertions.assertEquals(Arrays.asList(Config.of("myapp.db.url", "jdbc:test")), instance.stream("myapp").collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testGet() {
+        Assertions.assertAll(() -> Assertions.assertSame(EnvironmentVariables.get(), EnvironmentVariables.get()),
+                                () -> Assertions.assertEquals(System.getenv().size(), EnvironmentVariables.get().size()),
+                                () -> Assertions.assertEquals(EnvironmentVariables.get().getFingerprint(), new EnvironmentVariables(System.getenv()).getFingerprint()),
+                                () -> Assertions.assertNotEquals(EnvironmentVariables.get().getFingerprint(), new EnvironmentVariables(Collections.singletonMap("A", "B")).getFingerprint()));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class FileGlobTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> FileGlobTest >>>> setupSpec");
+        try ( InputStream inputStream = FileGlobTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    @TempDir
+    Path temporal;
+
+    private Path folder(final String _name,final String... _files) throws IOException{
+        final Path reply=this.temporal.resolve(_name);
+        for(String file:_files){
+            final Path path=reply.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.write(path, file.getBytes(StandardCharsets.UTF_8));
+        }
+        return reply;
+    }
+    private static List<String> names(final Path _folder,final List<Path> _files){
+        return _files.stream()
+                        .map(_folder::relativize)
+                        .map(path -> path.toString().replace('\\', '/'))
+                        .collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> isGlobDataPack() {
+        return Stream.of(
+                Arguments.of("/etc/app/conf.d/*.yml", true),
+                Arguments.of("conf.d/app-?.yml", true),
+                Arguments.of("conf.d/{base,prod}.yml", true),
+                Arguments.of("conf.d/[ab].yml", true),
+                Arguments.of("/etc/app/conf.d/app.yml", false),
+                Arguments.of("", false),
+                Arguments.of(null, false)
+        );
+    }
+
+    @ParameterizedTest(name = "When path {0} is checked then is glob should be {1}")
+    @MethodSource("isGlobDataPack")
+    public void testIsGlob(final String _path,final boolean _expected) {
+        Assertions.assertEquals(_expected, FileGlob.isGlob(_path));
+    }
+
+    static Stream<Arguments> baseDataPack() {
+        return Stream.of(
+                Arguments.of("/etc/app/conf.d/*.yml", "/etc/app/conf.d"),
+                Arguments.of("conf.d/**/*.yml", "conf.d"),
+                Arguments.of("conf.d/*/app.yml", "conf.d"),
+                Arguments.of("/*.yml", "/"),
+                Arguments.of("*.yml", ".")
+        );
+    }
+
+    @ParameterizedTest(name = "When glob {0} is compiled then its base should be {1}")
+    @MethodSource("baseDataPack")
+    public void testGetBase(final String _glob,final String _base) {
+        Assertions.assertEquals(Paths.get(_base), new FileGlob(_glob).getBase());
+    }
+    @Test
+    public void testConstructor_notGlob() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FileGlob("conf.d/app.yml"));
+    }
+
+    static Stream<Arguments> expandDataPack() {
+        return Stream.of(
+                Arguments.of("*.yml", Arrays.asList("10-db.yml", "20-app.yml", "a.yml", "b.yml")),
+                Arguments.of("?.yml", Arrays.asList("a.yml", "b.yml")),
+                Arguments.of("{b,a}.yml", Arrays.asList("a.yml", "b.yml")),
+                Arguments.of("*.{yml,properties}", Arrays.asList("10-db.yml", "20-app.yml", "a.yml", "b.yml", "c.properties")),
+                Arguments.of("*/*.yml", Arrays.asList("sub/a.yml", "sub/z.yml")),
+                Arguments.of("**.yml", Arrays.asList("10-db.yml", "20-app.yml", "a.yml", "b.yml", "sub/a.yml", "sub/deep/m.yml", "sub/z.yml")),
+                Arguments.of("*.json", Collections.emptyList())
+        );
+    }
+
+    @ParameterizedTest(name = "When pattern {0} is expanded then {1} should be returned in order")
+    @MethodSource("expandDataPack")
+    public void testExpand(final String _pattern,final List<String> _expected) throws IOException {
+        final Path folder=folder("expand", "b.yml", "a.yml", "20-app.yml", "10-db.yml", "c.properties", "sub/z.yml", "sub/a.yml", "sub/deep/m.yml");
+        Files.createDirectories(folder.resolve("folder.yml"));
+        Assertions.assertEquals(_expected, names(folder, new FileGlob(folder+"/"+_pattern).expand()));
+    }
+    @Test
+    public void testExpand_missingBase() {
+        Assertions.assertEquals(Collections.emptyList(), new FileGlob("target/tests/glob-not-existent-folder/*.yml").expand());
+    }
+
+    @Test
+    public void testFingerprint() throws IOException {
+        final Path folder=folder("fingerprint", "a.yml", "b.yml");
+        final FileGlob glob=new FileGlob(folder+"/*.yml");
+        final LocationFingerprint first=glob.fingerprint();
+        Assertions.assertEquals(first, glob.fingerprint());
+        Assertions.assertEquals(first, new FileGlob(folder+"/*.yml").fingerprint());
+        Files.write(folder.resolve("c.yml"), "c: 1\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNotEquals(first, glob.fingerprint());
+    }
+    @Test
+    public void testFingerprint_missing() {
+        Assertions.assertSame(LocationFingerprint.MISSING, new FileGlob("target/tests/glob-not-existent-folder/*.yml").fingerprint());
+    }
+    @Test
+    public void testMatches_expandedOnce() throws IOException {
+        final Path folder=folder("once", "a.yml");
+        final FileGlob glob=new FileGlob(folder+"/*.yml");
+        final FileGlob other=new FileGlob(folder+"/*.yml");
+        glob.fingerprint();
+        other.fingerprint();
+        Files.write(folder.resolve("b.yml"), "b: 1\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList("a.yml"), names(folder, glob.matches())),
+                                () -> Assertions.assertEquals(Arrays.asList("a.yml", "b.yml"), names(folder, glob.matches())),
+                                () -> Assertions.assertEquals(Arrays.asList("a.yml"), names(folder, other.matches())),
+                                () -> Assertions.assertEquals(Arrays.asList("a.yml", "b.yml"), names(folder, new FileGlob(folder+"/*.yml").matches())));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author afarre
+ */
+public class HttpCacheTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> HttpCacheTest >>>> setupSpec");
+        try ( InputStream inputStream = HttpCacheTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private HttpServer server;
+    private volatile String content;
+    private volatile String etag;
+    private AtomicInteger requests;
+    private AtomicInteger notModified;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.content="a=1\n";
+        this.etag="\"1\"";
+        this.requests=new AtomicInteger();
+        this.notModified=new AtomicInteger();
+        this.server=HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/config/app.properties", exchange -> {
+            this.requests.incrementAndGet();
+            final String currentEtag=this.etag;
+            if(currentEtag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))){
+                this.notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            }else{
+                final byte[] body=this.content.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", currentEtag);
+                exchange.sendResponseHeaders(200, body.length);
+                try(OutputStream output=exchange.getResponseBody()){
+                    output.write(body);
+                }
+            }
+            exchange.close();
+        });
+        this.server.createContext("/config/missing.properties", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        this.server.createContext("/config/failing.properties", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        this.server.start();
+    }
+    @AfterEach
+    void stopServer() {
+        if(this.server!=null)
+            this.server.stop(0);
+    }
+
+    private URI uri(final String _path){
+        return URI.create("http://localhost:"+this.server.getAddress().getPort()+_path);
+    }
+    @TempDir
+    Path temporal;
+
+    private Path folder(final String _name){
+        return this.temporal.resolve(_name);
+    }
+    private static String read(final Optional<InputStream> _input) throws IOException{
+        try(InputStream input=_input.get()){
+            final byte[] buffer=new byte[1024];
+            final int read=input.read(buffer);
+            return new String(buffer, 0, Math.max(read, 0), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testFingerprint_notModified() throws IOException {
+        final HttpCache instance=new HttpCache(folder("not-modified"), 2000);
+        final URI location=uri("/config/app.properties");
+        final LocationFingerprint first=instance.fingerprint(location);
+        final String firstContent=read(instance.open(location));
+        final LocationFingerprint second=instance.fingerprint(location);
+        Assertions.assertAll(() -> Assertions.assertEquals("a=1\n", firstContent),
+                                () -> Assertions.assertEquals(first, second),
+                                () -> Assertions.assertEquals(2, this.requests.get()),
+                                () -> Assertions.assertEquals(1, this.notModified.get()));
+    }
+    @Test
+    public void testFingerprint_modified() throws IOException {
+        final HttpCache instance=new HttpCache(folder("modified"), 2000);
+        final URI location=uri("/config/app.properties");
+        final LocationFingerprint first=instance.fingerprint(location);
+        this.content="a=2\n";
+        this.etag="\"2\"";
+        final LocationFingerprint second=instance.fingerprint(location);
+        Assertions.assertAll(() -> Assertions.assertNotEquals(first, second),
+                                () -> Assertions.assertEquals("a=2\n", read(instance.open(location))),
+                                () -> Assertions.assertEquals(2, this.requests.get()),
+                                () -> Assertions.assertEquals(0, this.notModified.get()),
+                                () -> Assertions.assertEquals("a=2\n", read(instance.open(location))),
+                                () -> Assertions.assertEquals(3, this.requests.get()),
+                                () -> Assertions.assertEquals(1, this.notModified.get()));
+    }
+    @Test
+    public void testOpen_restartConditional() throws IOException {
+        final Path folder=folder("restart");
+        final URI location=uri("/config/app.properties");
+        final LocationFingerprint first=new HttpCache(folder, 2000).fingerprint(location);
+        final HttpCache restarted=new HttpCache(folder, 2000);
+        Assertions.assertAll(() -> Assertions.assertEquals(first, restarted.fingerprint(location)),
+                                () -> Assertions.assertEquals(1, this.notModified.get()),
+                                () -> Assertions.assertEquals("a=1\n", read(restarted.open(location))));
+    }
+    @Test
+    public void testOpen_lastKnownGood() throws IOException {
+        final Path folder=folder("last-known-good");
+        final URI location=uri("/config/app.properties");
+        final LocationFingerprint first=new HttpCache(folder, 2000).fingerprint(location);
+        this.server.stop(0);
+        this.server=null;
+        final HttpCache restarted=new HttpCache(folder, 500);
+        Assertions.assertAll(() -> Assertions.assertEquals(first, restarted.fingerprint(location)),
+                                () -> Assertions.assertEquals("a=1\n", read(restarted.open(location))),
+                                () -> Assertions.assertThrows(UncheckedIOException.class, () -> new HttpCache(folder("empty"), 500).open(location)));
+    }
+    @Test
+    public void testStore_ownerOnlyEntry() throws IOException {
+        final Path folder=folder("owner-only");
+        final URI location=uri("/config/app.properties");
+        new HttpCache(folder, 2000).fingerprint(location);
+        this.content="a=2\n";
+        this.etag="\"2\"";
+        new HttpCache(folder, 2000).fingerprint(location);
+        final List<Path> files;
+        try(Stream<Path> stored=Files.list(folder)){
+            files=stored.collect(Collectors.toList());
+        }
+        Assertions.assertAll(() -> Assertions.assertEquals(1, files.size()),
+                                () -> Assertions.assertTrue(files.get(0).toString().endsWith(".entry")),
+                                () -> Assertions.assertEquals("a=2\n", read(new HttpCache(folder, 2000).open(location))));
+        if(folder.getFileSystem().supportedFileAttributeViews().contains("posix")){
+            Assertions.assertAll(() -> Assertions.assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(folder)),
+                                    () -> Assertions.assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(files.get(0))));
+        }
+    }
+    @Test
+    public void testOpen_failingServer() throws IOException {
+        final HttpCache instance=new HttpCache(folder("failing"), 2000);
+        Assertions.assertThrows(UncheckedIOException.class, () -> instance.fingerprint(uri("/config/failing.properties")));
+    }
+    @Test
+    public void testOpen_missing() {
+        final HttpCache instance=new HttpCache(folder("missing"), 2000);
+        final URI location=uri("/config/missing.properties");
+        Assertions.assertAll(() -> Assertions.assertEquals(LocationFingerprint.MISSING, instance.fingerprint(location)),
+                                () -> Assertions.assertFalse(instance.open(location).isPresent()));
+    }
+    @Test
+    public void testGet() {
+        Assertions.assertAll(() -> Assertions.assertSame(HttpCache.get(), HttpCache.get()),
+                                () -> Assertions.assertEquals(HttpCache.DEFAULT_TIMEOUT, HttpCache.get().getTimeout()),
+                                () -> Assertions.assertNotNull(HttpCache.get().getFolder()));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class InputStreamsTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> InputStreamsTest >>>> setupSpec");
+        try ( InputStream inputStream = InputStreamsTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    @Test
+    public void testReadAll() throws IOException {
+        final byte[] content=new byte[20000];
+        Arrays.fill(content, (byte)'a');
+        final ByteArrayInputStream input=new ByteArrayInputStream(content);
+        Assertions.assertAll(() -> Assertions.assertArrayEquals(content, InputStreams.readAll(input)),
+                                () -> Assertions.assertEquals(-1, input.read()));
+    }
+    @Test
+    public void testReadAll_empty() throws IOException {
+        Assertions.assertArrayEquals(new byte[0], InputStreams.readAll(new ByteArrayInputStream(new byte[0])));
+    }
+    @Test
+    public void testReadAll_notClosed() throws IOException {
+        final boolean[] closed={false};
+        final InputStream input=new ByteArrayInputStream("a=1".getBytes(StandardCharsets.UTF_8)){
+                                        @Override
+                                        public void close() throws IOException {
+                                            closed[0]=true;
+                                        }
+                                    };
+        Assertions.assertAll(() -> Assertions.assertEquals("a=1", new String(InputStreams.readAll(input), StandardCharsets.UTF_8)),
+                                () -> Assertions.assertFalse(closed[0]));
+    }
+    @Test
+    public void testReadAll_failure() {
+        final InputStream failing=new InputStream() {
+                                        @Override
+                                        public int read() throws IOException {
+                                            throw new IOException("failing");
+                                        }
+                                    };
+        Assertions.assertThrows(IOException.class, () -> InputStreams.readAll(failing));
+    }
+}
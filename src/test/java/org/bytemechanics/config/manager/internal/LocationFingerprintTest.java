@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author afarre
+ */
+public class LocationFingerprintTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> LocationFingerprintTest >>>> setupSpec");
+        try ( InputStream inputStream = LocationFingerprintTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    @TempDir
+    Path temporal;
+
+    private Path file(final String _name,final String _content) throws IOException{
+        final Path reply=this.temporal.resolve(_name+".properties");
+        Files.createDirectories(reply.getParent());
+        Files.write(reply, _content.getBytes(StandardCharsets.UTF_8));
+        return reply;
+    }
+    private static InputStream content(final String _content){
+        return new ByteArrayInputStream(_content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testOfFile_unchanged() throws IOException{
+        final Path file=file("unchanged", "a=1\n");
+        final LocationFingerprint first=LocationFingerprint.ofFile(file);
+        Assertions.assertAll(() -> Assertions.assertEquals(first,LocationFingerprint.ofFile(file)),
+                                () -> Assertions.assertEquals(first.hashCode(),LocationFingerprint.ofFile(file).hashCode()),
+                                () -> Assertions.assertNotEquals(LocationFingerprint.MISSING,first));
+    }
+    @Test
+    public void testOfFile_modified() throws IOException{
+        final Path file=file("modified", "a=1\n");
+        final LocationFingerprint first=LocationFingerprint.ofFile(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis()+10_000));
+        Assertions.assertNotEquals(first,LocationFingerprint.ofFile(file));
+    }
+    @Test
+    public void testOfFile_resized() throws IOException{
+        final Path file=file("resized", "a=1\n");
+        final FileTime modified=Files.getLastModifiedTime(file);
+        final LocationFingerprint first=LocationFingerprint.ofFile(file);
+        Files.write(file, "a=12\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        Assertions.assertNotEquals(first,LocationFingerprint.ofFile(file));
+    }
+    @Test
+    public void testOfFile_missing() {
+        Assertions.assertSame(LocationFingerprint.MISSING,LocationFingerprint.ofFile(Paths.get("target/tests/fingerprint-not-existent.properties")));
+    }
+    @Test
+    public void testOfFiles() throws IOException{
+        final Path fileA=file("files-a", "a=1\n");
+        final Path fileB=file("files-b", "b=1\n");
+        final LocationFingerprint first=LocationFingerprint.ofFiles(Arrays.asList(fileA,fileB));
+        Assertions.assertAll(() -> Assertions.assertEquals(first,LocationFingerprint.ofFiles(Arrays.asList(fileA,fileB))),
+                                () -> Assertions.assertNotEquals(first,LocationFingerprint.ofFiles(Arrays.asList(fileB,fileA))),
+                                () -> Assertions.assertNotEquals(first,LocationFingerprint.ofFiles(Arrays.asList(fileA))),
+                                () -> Assertions.assertSame(LocationFingerprint.MISSING,LocationFingerprint.ofFiles(Collections.emptyList())));
+        Files.write(fileB, "b=22\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNotEquals(first,LocationFingerprint.ofFiles(Arrays.asList(fileA,fileB)));
+    }
+    @Test
+    public void testOfContent() {
+        Assertions.assertAll(() -> Assertions.assertEquals(LocationFingerprint.ofContent(content("a=1\n")),LocationFingerprint.ofContent(content("a=1\n"))),
+                                () -> Assertions.assertEquals(LocationFingerprint.ofContent(content("a=1\n")).hashCode(),LocationFingerprint.ofContent(content("a=1\n")).hashCode()),
+                                () -> Assertions.assertNotEquals(LocationFingerprint.ofContent(content("a=1\n")),LocationFingerprint.ofContent(content("a=2\n"))),
+                                () -> Assertions.assertNotEquals(LocationFingerprint.MISSING,LocationFingerprint.ofContent(content(""))));
+    }
+    @Test
+    public void testOfContent_failure() {
+        final InputStream failing=new InputStream() {
+                                        @Override
+                                        public int read() throws IOException {
+                                            throw new IOException("expected");
+                                        }
+                                    };
+        Assertions.assertThrows(UncheckedIOException.class, () -> LocationFingerprint.ofContent(failing));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author afarre
+ */
+public class LocationWatcherTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> LocationWatcherTest >>>> setupSpec");
+        try ( InputStream inputStream = LocationWatcherTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static final Duration DEBOUNCE=Duration.ofMillis(200);
+
+    @TempDir
+    Path temporal;
+
+    private Path folder(final String _name) throws IOException{
+        final Path reply=this.temporal.resolve(_name);
+        Files.createDirectories(reply);
+        return reply;
+    }
+    private static void write(final Path _file,final String _content) throws IOException{
+        Files.write(_file, _content.getBytes(StandardCharsets.UTF_8));
+    }
+    private static ResolvedLocation location(final Path _file){
+        return new ResolvedLocation(URI.create("file://"+_file.toString().replace('\\', '/')), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSize() throws IOException {
+        final Path folder=folder("size");
+        try(LocationWatcher watcher=new LocationWatcher(Arrays.asList(location(folder.resolve("a.properties"))
+                                                                        ,location(folder.resolve("b.yml"))
+                                                                        ,location(Paths.get("target/tests/not-existent-folder/c.yml"))
+                                                                        ,new ResolvedLocation(URI.create("classpath://integral-test.yml"), StandardCharsets.UTF_8)
+                                                                        ,new ResolvedLocation(URI.create("ftp://server/config.yml"), StandardCharsets.UTF_8))
+                                                        , DEBOUNCE, changed -> {})){
+            Assertions.assertEquals(2, watcher.size());
+        }
+    }
+    @Test
+    public void testConstructor_nulls() {
+        Assertions.assertAll(() -> Assertions.assertThrows(NullPointerException.class, () -> new LocationWatcher(Collections.emptyList(), null, changed -> {})),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> new LocationWatcher(Collections.emptyList(), DEBOUNCE, null)));
+    }
+
+    @Test
+    public void testWatch_coalesced() throws IOException, InterruptedException {
+        final Path folder=folder("burst");
+        final Path fileA=folder.resolve("a.properties");
+        final Path fileB=folder.resolve("b.properties");
+        write(fileA, "a=0\n");
+        write(fileB, "b=0\n");
+        final BlockingQueue<Set<ResolvedLocation>> notifications=new LinkedBlockingQueue<>();
+        try(LocationWatcher watcher=new LocationWatcher(Arrays.asList(location(fileA),location(fileB)), DEBOUNCE, notifications::add)){
+            for(int ic1=1;ic1<=5;ic1++){
+                write(fileA, "a="+ic1+"\n"+String.join("", Collections.nCopies(ic1, "#")));
+                Thread.sleep(20);
+            }
+            final Set<ResolvedLocation> changed=notifications.poll(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(Collections.singleton(location(fileA)), changed);
+            Assertions.assertNull(notifications.poll(DEBOUNCE.toMillis()*3, TimeUnit.MILLISECONDS));
+        }
+    }
+    @Test
+    public void testWatch_unrelated() throws IOException, InterruptedException {
+        final Path folder=folder("unrelated");
+        final Path fileA=folder.resolve("a.properties");
+        write(fileA, "a=0\n");
+        final BlockingQueue<Set<ResolvedLocation>> notifications=new LinkedBlockingQueue<>();
+        try(LocationWatcher watcher=new LocationWatcher(Collections.singletonList(location(fileA)), DEBOUNCE, notifications::add)){
+            write(folder.resolve("a.properties.swp"), "temporary");
+            Files.delete(folder.resolve("a.properties.swp"));
+            Assertions.assertNull(notifications.poll(DEBOUNCE.toMillis()*4, TimeUnit.MILLISECONDS));
+        }
+    }
+    @Test
+    public void testWatch_createdAndRenamed() throws IOException, InterruptedException {
+        final Path folder=folder("rename");
+        final Path fileA=folder.resolve("a.properties");
+        final BlockingQueue<Set<ResolvedLocation>> notifications=new LinkedBlockingQueue<>();
+        try(LocationWatcher watcher=new LocationWatcher(Collections.singletonList(location(fileA)), DEBOUNCE, notifications::add)){
+            final Path temporary=folder.resolve("a.properties.tmp");
+            write(temporary, "a=1\n");
+            Files.move(temporary, fileA, StandardCopyOption.ATOMIC_MOVE);
+            Assertions.assertEquals(Collections.singleton(location(fileA)), notifications.poll(10, TimeUnit.SECONDS));
+        }
+    }
+    @Test
+    public void testWatch_symlinkSwap() throws IOException, InterruptedException {
+        final Path folder=folder("symlink");
+        final Path first=Files.createDirectories(folder.resolve("..2024_01"));
+        final Path second=Files.createDirectories(folder.resolve("..2024_02"));
+        write(first.resolve("app.yml"), "a: 1\n");
+        write(second.resolve("app.yml"), "a: 2\n");
+        Files.createSymbolicLink(folder.resolve("..data"), first.getFileName());
+        final Path file=folder.resolve("app.yml");
+        Files.createSymbolicLink(file, Paths.get("..data/app.yml"));
+        final BlockingQueue<Set<ResolvedLocation>> notifications=new LinkedBlockingQueue<>();
+        try(LocationWatcher watcher=new LocationWatcher(Collections.singletonList(location(file)), DEBOUNCE, notifications::add)){
+            Files.createSymbolicLink(folder.resolve("..data_tmp"), second.getFileName());
+            Files.move(folder.resolve("..data_tmp"), folder.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+            Assertions.assertEquals(Collections.singleton(location(file)), notifications.poll(10, TimeUnit.SECONDS));
+        }
+    }
+    @Test
+    public void testWatch_glob() throws IOException, InterruptedException {
+        final Path folder=folder("glob");
+        write(folder.resolve("a.yml"), "a: 0\n");
+        final ResolvedLocation glob=location(folder.resolve("*.yml"));
+        final BlockingQueue<Set<ResolvedLocation>> notifications=new LinkedBlockingQueue<>();
+        try(LocationWatcher watcher=new LocationWatcher(Collections.singletonList(glob), DEBOUNCE, notifications::add)){
+            Assertions.assertEquals(1, watcher.size());
+            write(folder.resolve("b.properties"), "b=0\n");
+            Assertions.assertNull(notifications.poll(DEBOUNCE.toMillis()*4, TimeUnit.MILLISECONDS));
+            write(folder.resolve("b.yml"), "b: 0\n");
+            Assertions.assertEquals(Collections.singleton(glob), notifications.poll(10, TimeUnit.SECONDS));
+        }
+    }
+    @Test
+    public void testClose() throws IOException, InterruptedException {
+        final Path folder=folder("close");
+        final Path fileA=folder.resolve("a.properties");
+        write(fileA, "a=0\n");
+        final BlockingQueue<Set<ResolvedLocation>> notifications=new LinkedBlockingQueue<>();
+        final LocationWatcher watcher=new LocationWatcher(Collections.singletonList(location(fileA)), DEBOUNCE, notifications::add);
+        watcher.close();
+        write(fileA, "a=changed\n");
+        Assertions.assertNull(notifications.poll(DEBOUNCE.toMillis()*3, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class MappedFileReaderTest {
+
+    private static final String CONTENT=Stream.generate(() -> "key.\u00e9\u00df\u20ac=value \u00c0\u00ff \ud83d\ude00 plain ascii\n")
+                                                .limit(2000)
+                                                .collect(Collectors.joining());
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> MappedFileReaderTest >>>> setupSpec");
+        try ( InputStream inputStream = MappedFileReaderTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static String readAll(final Reader _reader,final int _bufferSize) throws IOException{
+        final StringBuilder builder=new StringBuilder();
+        final char[] buffer=new char[_bufferSize];
+        int read;
+        while((read=_reader.read(buffer))>=0){
+            builder.append(buffer,0,read);
+        }
+        return builder.toString();
+    }
+
+    static Stream<Arguments> dataPack() {
+        return Stream.of(
+                Arguments.of(Charset.forName("UTF-8"),"UTF-8",1),
+                Arguments.of(Charset.forName("UTF-8"),"UTF-8",3),
+                Arguments.of(Charset.forName("UTF-8"),"UTF-8",8192),
+                Arguments.of(Charset.forName("UTF-16"),"UTF-16",1),
+                Arguments.of(Charset.forName("UTF-16"),"UTF-16",8192),
+                Arguments.of(Charset.forName("ISO-8859-1"),"ISO-8859-1",1),
+                Arguments.of(Charset.forName("ISO-8859-1"),"ISO-8859-1",8192),
+                Arguments.of(Charset.forName("ISO-8859-1"),"UTF-8",8192),
+                Arguments.of(Charset.forName("US-ASCII"),"UTF-8",7),
+                Arguments.of(Charset.forName("UTF-8"),"ISO-8859-1",8192)
+        );
+    }
+
+    @ParameterizedTest(name = "When read a file written as {1} using charset {0} and buffers of {2} chars should read the same as InputStreamReader")
+    @MethodSource("dataPack")
+    public void testRead(final Charset _charset,final String _writeCharset,final int _bufferSize) throws IOException {
+        Path path=Paths.get("target/tests/mapped-"+_writeCharset+".properties");
+        Files.createDirectories(path.getParent());
+        Files.write(path, CONTENT.getBytes(_writeCharset));
+        String expected;
+        try(Reader reader=new InputStreamReader(Files.newInputStream(path),_charset)){
+            expected=readAll(reader,_bufferSize);
+        }
+        try(Reader reader=new MappedFileReader(path,_charset)){
+            Assertions.assertEquals(expected,readAll(reader,_bufferSize));
+        }
+    }
+
+    @Test
+    public void testRead_empty() throws IOException {
+        Path path=Paths.get("target/tests/mapped-empty.properties");
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[0]);
+        try(Reader reader=new MappedFileReader(path,Charset.forName("UTF-8"))){
+            Assertions.assertEquals(-1,reader.read());
+        }
+    }
+
+    @Test
+    public void testRead_closed() throws IOException {
+        Path path=Paths.get("target/tests/mapped-closed.properties");
+        Files.createDirectories(path.getParent());
+        Files.write(path, CONTENT.getBytes("UTF-8"));
+        Reader reader=new MappedFileReader(path,Charset.forName("UTF-8"));
+        reader.close();
+        Assertions.assertThrows(IOException.class,() -> reader.read());
+    }
+
+    @Test
+    public void testMap_threshold() throws IOException {
+        Path small=Paths.get("target/tests/mapped-small.properties");
+        Path big=Paths.get("target/tests/mapped-big.properties");
+        Files.createDirectories(small.getParent());
+        Files.write(small, CONTENT.getBytes("UTF-8"));
+        Files.write(big, new byte[MappedFileReader.MAPPED_THRESHOLD]);
+        final ByteBuffer heap=MappedFileReader.map(small);
+        final ByteBuffer mapped=MappedFileReader.map(big);
+        Assertions.assertAll(() -> Assertions.assertFalse(heap instanceof MappedByteBuffer),
+                                () -> Assertions.assertEquals(Files.size(small), heap.remaining()),
+                                () -> Assertions.assertTrue(mapped instanceof MappedByteBuffer),
+                                () -> Assertions.assertEquals(Files.size(big), mapped.remaining()));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ *
+ * @author afarre
+ */
+public class PopulatedPropertiesTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> PopulatedPropertiesTest >>>> setupSpec");
+        try ( InputStream inputStream = PopulatedPropertiesTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static List<Config> configs(final Properties _properties){
+        return SystemProperties.snapshot(_properties, "app");
+    }
+
+    @Test
+    public void testUnpopulated_empty() {
+        final List<Config> configs=Arrays.asList(Config.of("app.a", "1"));
+        Assertions.assertSame(configs, new PopulatedProperties().unpopulated(configs));
+    }
+    @Test
+    public void testPopulate() {
+        final Properties properties=new Properties();
+        properties.put("app.external", "jvm");
+        properties.put("app.other", "jvm");
+        final PopulatedProperties instance=new PopulatedProperties();
+        instance.populate(properties, "app.external", "file");
+        instance.populate(properties, "app.new", "file");
+        Assertions.assertAll(() -> Assertions.assertEquals("file", properties.get("app.external")),
+                                () -> Assertions.assertEquals("file", properties.get("app.new")),
+                                () -> Assertions.assertEquals(Arrays.asList(Config.of("app.external", "jvm"), Config.of("app.other", "jvm")), instance.unpopulated(configs(properties))));
+        properties.put("app.new", "foreign");
+        Assertions.assertEquals(Arrays.asList(Config.of("app.external", "jvm"), Config.of("app.new", "foreign"), Config.of("app.other", "jvm")), instance.unpopulated(configs(properties)));
+        instance.populate(properties, "app.external", null);
+        instance.populate(properties, "app.new", null);
+        Assertions.assertAll(() -> Assertions.assertEquals("jvm", properties.get("app.external")),
+                                () -> Assertions.assertEquals("foreign", properties.get("app.new")),
+                                () -> Assertions.assertEquals(configs(properties), instance.unpopulated(configs(properties))));
+    }
+    @Test
+    public void testPopulate_removedWithoutOriginal() {
+        final Properties properties=new Properties();
+        final PopulatedProperties instance=new PopulatedProperties();
+        instance.populate(properties, "app.key", "1");
+        Assertions.assertEquals(Collections.emptyList(), instance.unpopulated(configs(properties)));
+        instance.populate(properties, "app.key", null);
+        Assertions.assertTrue(properties.isEmpty());
+    }
+}
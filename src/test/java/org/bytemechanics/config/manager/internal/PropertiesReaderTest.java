@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class PropertiesReaderTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> PropertiesReaderTest >>>> setupSpec");
+        try ( InputStream inputStream = PropertiesReaderTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static List<Config> loadWithProperties(final Reader _reader) throws IOException{
+        Properties properties=new Properties();
+        properties.load(_reader);
+        return properties.entrySet()
+                            .stream()
+                                .map(entry -> Config.of((String)entry.getKey(),(String)entry.getValue()))
+                                .sorted()
+                                .collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> syntaxDataPack() {
+        return Stream.of(
+                Arguments.of("equals separator","key=value"),
+                Arguments.of("colon separator","key:value"),
+                Arguments.of("whitespace separator","key value"),
+                Arguments.of("mixed whitespace and separator","key \t = \f value"),
+                Arguments.of("empty value","key="),
+                Arguments.of("key only","key"),
+                Arguments.of("leading whitespace","   \t key=value"),
+                Arguments.of("hash comment","# comment\nkey=value"),
+                Arguments.of("exclamation comment","! comment\nkey=value\n!other"),
+                Arguments.of("comment without end of line","key=value\n# comment"),
+                Arguments.of("blank lines","\n\n   \nkey=value\n\n"),
+                Arguments.of("unix continuation","key=first \\\n    second"),
+                Arguments.of("windows continuation","key=first \\\r\n    second\r\nother=value"),
+                Arguments.of("mac continuation","key=first \\\r    second\rother=value"),
+                Arguments.of("continuation at end of stream","key=value\\"),
+                Arguments.of("escaped backslash at end of line","key=value\\\\\nother=value"),
+                Arguments.of("escaped separators in key","my\\=key\\:with\\ spaces=value"),
+                Arguments.of("escaped characters","key=tab\\tnew\\nline\\rform\\fplain\\x"),
+                Arguments.of("unicode escapes","key\\u00e9=\\u0041\\u00DFvalue"),
+                Arguments.of("comment after continuation","key=value\\\n# not a comment"),
+                Arguments.of("duplicated keys","key=first\nkey=second"),
+                Arguments.of("long line",Stream.generate(() -> "0123456789").limit(500).collect(Collectors.joining("","key=","")))
+        );
+    }
+
+    @ParameterizedTest(name = "When read {0} should return the same content as java.util.Properties")
+    @MethodSource("syntaxDataPack")
+    public void testStream(final String _description,final String _content) throws IOException {
+        List<Config> expected=loadWithProperties(new StringReader(_content));
+        List<Config> actual=new PropertiesReader(new StringReader(_content))
+                                    .stream()
+                                        .collect(Collectors.toMap(Config::getKey,config -> config,(configA,configB) -> configB))
+                                            .values()
+                                                .stream()
+                                                    .sorted()
+                                                    .collect(Collectors.toList());
+        Assertions.assertEquals(expected,actual);
+    }
+
+    @Test
+    public void testStream_file() throws IOException {
+        List<Config> expected;
+        try(Reader reader=Files.newBufferedReader(Paths.get("src/test/resources/test.properties"),Charset.forName("UTF-8"))){
+            expected=loadWithProperties(reader);
+        }
+        try(Reader reader=Files.newBufferedReader(Paths.get("src/test/resources/test.properties"),Charset.forName("UTF-8"))){
+            List<Config> actual=new PropertiesReader(reader)
+                                        .stream()
+                                            .sorted()
+                                            .collect(Collectors.toList());
+            Assertions.assertEquals(expected,actual);
+        }
+    }
+
+    @Test
+    public void testStream_duplicatedKeysInOrder() {
+        List<Config> actual=new PropertiesReader(new StringReader("key=first\nother=value\nkey=second"))
+                                    .stream()
+                                        .collect(Collectors.toList());
+        Assertions.assertEquals(Stream.of(Config.of("key","first"),Config.of("other","value"),Config.of("key","second"))
+                                        .collect(Collectors.toList())
+                                ,actual);
+    }
+
+    @Test
+    public void testStream_lazy() {
+        Assertions.assertEquals(Config.of("key","value"),new PropertiesReader(new StringReader("key=value\nother=\\u00zz"))
+                                                                .stream()
+                                                                    .findFirst()
+                                                                        .orElse(null));
+    }
+
+    @Test
+    public void testStream_malformedUnicode() {
+        PropertiesReader instance=new PropertiesReader(new StringReader("key=\\u00zz"));
+        Assertions.assertThrows(IllegalArgumentException.class,() -> instance.stream().count());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class PropertiesWriterTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> PropertiesWriterTest >>>> setupSpec");
+        try ( InputStream inputStream = PropertiesWriterTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static String write(final Stream<Config> _config,final boolean _sorted,final boolean _escapeUnicode){
+        final StringWriter writer=new StringWriter();
+        new PropertiesWriter(writer,_sorted,_escapeUnicode).write(_config);
+        return writer.toString();
+    }
+    private static List<String> storeWithProperties(final Config _config,final boolean _escapeUnicode) throws IOException{
+        final Properties properties=new Properties();
+        properties.setProperty(_config.getKey(), _config.getValue());
+        final String reply;
+        if(_escapeUnicode){
+            final ByteArrayOutputStream output=new ByteArrayOutputStream();
+            properties.store(output, null);
+            reply=new String(output.toByteArray(),StandardCharsets.ISO_8859_1);
+        }else{
+            final StringWriter writer=new StringWriter();
+            properties.store(writer, null);
+            reply=writer.toString();
+        }
+        return Stream.of(reply.split("\\r?\\n"))
+                        .filter(line -> !line.startsWith("#"))
+                        .collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> escapeDataPack() {
+        return Stream.of(
+                Arguments.of("plain","key","value"),
+                Arguments.of("spaces","my key with spaces","  value with spaces  "),
+                Arguments.of("separators","a=b:c","x=y:z"),
+                Arguments.of("comment markers","#key!","!value#"),
+                Arguments.of("control characters","tab\tkey","new\nline\rreturn\fform"),
+                Arguments.of("backslashes","back\\slash","c:\\path\\"),
+                Arguments.of("unicode","cl\u00e9","valu\u00e9 \u20ac \ud83d\ude00"),
+                Arguments.of("empty value","key",""),
+                Arguments.of("empty key","","value")
+        );
+    }
+
+    @ParameterizedTest(name = "When write {0} should write the same line as java.util.Properties")
+    @MethodSource("escapeDataPack")
+    public void testWrite_sameAsProperties(final String _description,final String _key,final String _value) throws IOException {
+        final Config config=Config.of(_key, _value);
+        Assertions.assertAll(() -> Assertions.assertEquals(storeWithProperties(config,false),Arrays.asList(write(Stream.of(config),false,false).split("\n"))),
+                                () -> Assertions.assertEquals(storeWithProperties(config,true),Arrays.asList(write(Stream.of(config),false,true).split("\n"))));
+    }
+
+    @ParameterizedTest(name = "When write {0} should read the same entry")
+    @MethodSource("escapeDataPack")
+    public void testWrite_roundTrip(final String _description,final String _key,final String _value) throws IOException {
+        final Config config=Config.of(_key, _value);
+        Assertions.assertEquals(config,new PropertiesReader(new StringReader(write(Stream.of(config),false,false)))
+                                                .stream()
+                                                    .findFirst()
+                                                        .orElse(null));
+    }
+
+    @Test
+    public void testWrite_arrivalOrder() {
+        Assertions.assertEquals("b=1\na=2\nb=3\n",write(Stream.of(Config.of("b","1"),Config.of("a","2"),Config.of("b","3")),false,false));
+    }
+
+    @Test
+    public void testWrite_sorted() {
+        Assertions.assertEquals("a=2\nb=3\nc=\n",write(Stream.of(Config.of("b","1"),Config.of("c",null),Config.of("a","2"),Config.of("b","3")),true,false));
+    }
+
+    @Test
+    public void testWrite_deterministic() {
+        final List<Config> configs=IntStream.range(0, 1000)
+                                                .mapToObj(index -> Config.of("key."+(index*7919%1000),"value "+index))
+                                                .collect(Collectors.toList());
+        final String expected=write(configs.stream(),true,false);
+        Assertions.assertAll(() -> Assertions.assertEquals(expected,write(configs.stream().parallel(),true,false)),
+                                () -> Assertions.assertEquals(expected,write(configs.stream().sorted((a,b) -> b.compareTo(a)),true,false)));
+    }
+
+    @Test
+    public void testWrite_streaming() {
+        final long[] written=new long[1];
+        final Writer counter=new Writer(){
+                                    @Override
+                                    public void write(final char[] _buffer,final int _offset,final int _length) {
+                                        written[0]+=_length;
+                                    }
+                                    @Override
+                                    public void flush() {}
+                                    @Override
+                                    public void close() {}
+                                };
+        new PropertiesWriter(counter).write(IntStream.range(0, 1000000)
+                                                        .mapToObj(index -> Config.of("key."+index,"value")));
+        Assertions.assertTrue(written[0]>10000000);
+    }
+}
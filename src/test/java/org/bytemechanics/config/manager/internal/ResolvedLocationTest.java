@@ -0,0 +1,211 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationFormat;
+import org.bytemechanics.config.manager.exceptions.UnsupportedConfigLocationScheme;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class ResolvedLocationTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> ResolvedLocationTest >>>> setupSpec");
+        try ( InputStream inputStream = ResolvedLocationTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> dataPack() {
+        return Stream.of(
+                Arguments.of("file://src/test/resources/test.properties",ConfigProviderFactory.FILE,ConfigParserFactory.PROPERTIES,"src/test/resources/test.properties",false,Paths.get("src/test/resources/test-parsed-properties.properties")),
+                Arguments.of("file://src/test/resources/test.yaml?mapped=true",ConfigProviderFactory.FILE,ConfigParserFactory.YAML,"src/test/resources/test.yaml",true,Paths.get("src/test/resources/test-parsed-yaml.properties")),
+                Arguments.of("classpath://test.yml",ConfigProviderFactory.CLASSPATH,ConfigParserFactory.YAML,"test.yml",false,Paths.get("src/test/resources/test-parsed-yaml.properties")),
+                Arguments.of("classpath://org/bytemechanics/config/manager/internal/test.properties",ConfigProviderFactory.CLASSPATH,ConfigParserFactory.PROPERTIES,"org/bytemechanics/config/manager/internal/test.properties",false,Paths.get("src/test/resources/test-parsed-properties.properties"))
+        );
+    }
+
+    @ParameterizedTest(name = "When resolve {0} should bind provider {1}, parser {2}, path {3} and mapped {4}")
+    @MethodSource("dataPack")
+    public void testConstructor(final String _uri,final ConfigProvider _provider,final ConfigParser _parser,final String _path,final boolean _mapped) throws URISyntaxException {
+        URI uri=new URI(_uri);
+        ResolvedLocation instance=new ResolvedLocation(uri,StandardCharsets.UTF_8);
+        Assertions.assertAll(() -> Assertions.assertSame(uri,instance.getUri()),
+                                () -> Assertions.assertEquals(StandardCharsets.UTF_8,instance.getCharset()),
+                                () -> Assertions.assertSame(_provider,instance.getProvider()),
+                                () -> Assertions.assertSame(_parser,instance.getParser()),
+                                () -> Assertions.assertEquals(_path,instance.getPath()),
+                                () -> Assertions.assertEquals(_mapped,instance.isMapped()));
+    }
+
+    @ParameterizedTest(name = "When read {0} should load {5}")
+    @MethodSource("dataPack")
+    public void testRead(final String _uri,final ConfigProvider _provider,final ConfigParser _parser,final String _path,final boolean _mapped,final Path _expected) throws URISyntaxException, IOException {
+        Properties properties=new Properties();
+        try(Reader reader=Files.newBufferedReader(_expected,Charset.forName("UTF-8"))){
+            properties.load(reader);
+        }
+        List<Config> expected=properties.entrySet()
+                                            .stream()
+                                                .map(entry -> Config.of((String)entry.getKey(),(String)entry.getValue()))
+                                                .sorted()
+                                                .collect(Collectors.toList());
+        ResolvedLocation instance=new ResolvedLocation(new URI(_uri),StandardCharsets.UTF_8);
+        for(int ic1=0;ic1<2;ic1++){
+            try(Stream<Config> stream=instance.read()){
+                Assertions.assertEquals(expected,stream.sorted().collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    public void testRead_notExistent() throws URISyntaxException {
+        ResolvedLocation instance=new ResolvedLocation(new URI("file://target/tests/not-existent.yml"),StandardCharsets.UTF_8);
+        Assertions.assertEquals(0,instance.read().count());
+    }
+
+    @Test
+    public void testConstructor_nulls() throws URISyntaxException {
+        URI uri=new URI("file://src/test/resources/test.properties");
+        Assertions.assertAll(() -> Assertions.assertThrows(NullPointerException.class,() -> new ResolvedLocation(null,StandardCharsets.UTF_8)),
+                                () -> Assertions.assertThrows(NullPointerException.class,() -> new ResolvedLocation(uri,null)));
+    }
+
+    static Stream<Arguments> unsupportedDataPack() {
+        return Stream.of(
+                Arguments.of("ftp://target/tests/config.properties",UnsupportedConfigLocationScheme.class),
+                Arguments.of("ftp://target/tests/config.propertis",UnsupportedConfigLocationScheme.class),
+                Arguments.of("file://target/tests/config.propertis",UnsupportedConfigLocationFormat.class)
+        );
+    }
+    @ParameterizedTest(name = "When resolve {0} should not fail until used and then raise {1}")
+    @MethodSource("unsupportedDataPack")
+    @SuppressWarnings("unchecked")
+    public void testRead_unsupported(final String _uri,final Class _exception) throws URISyntaxException {
+        ResolvedLocation instance=new ResolvedLocation(new URI(_uri),StandardCharsets.UTF_8);
+        Assertions.assertAll(() -> Assertions.assertThrows(_exception,() -> instance.getParser()),
+                                () -> Assertions.assertThrows(_exception,() -> instance.read()));
+    }
+
+    @Test
+    public void testEquals() throws URISyntaxException {
+        ResolvedLocation instance=new ResolvedLocation(new URI("file://src/test/resources/test.properties"),StandardCharsets.UTF_8);
+        ResolvedLocation same=new ResolvedLocation(new URI("file://src/test/resources/test.properties"),StandardCharsets.UTF_8);
+        ResolvedLocation other=new ResolvedLocation(new URI("file://src/test/resources/test.properties"),StandardCharsets.ISO_8859_1);
+        Assertions.assertAll(() -> Assertions.assertEquals(instance,same),
+                                () -> Assertions.assertEquals(instance.hashCode(),same.hashCode()),
+                                () -> Assertions.assertNotEquals(instance,other),
+                                () -> Assertions.assertNotEquals(instance,null));
+    }
+    @Test
+    public void testCounting() throws IOException {
+        final ResolvedLocation location=new ResolvedLocation(URI.create("file://src/test/resources/test.properties"), StandardCharsets.UTF_8);
+        final ResolvedLocation classpath=new ResolvedLocation(URI.create("classpath://test.yaml"), StandardCharsets.UTF_8);
+        final LongAdder counter=new LongAdder();
+        final ResolvedLocation counting=location.counting(counter);
+        final List<Config> read;
+        try(Stream<Config> configs=counting.read()){
+            read=configs.collect(Collectors.toList());
+        }
+        final LongAdder classpathCounter=new LongAdder();
+        try(Stream<Config> configs=classpath.counting(classpathCounter).read()){
+            configs.forEach(config -> {});
+        }
+        Assertions.assertAll(() -> Assertions.assertEquals(location, counting),
+                                () -> Assertions.assertEquals(location.read().collect(Collectors.toList()), read),
+                                () -> Assertions.assertEquals(Files.size(Paths.get("src/test/resources/test.properties")), counter.sum()),
+                                () -> Assertions.assertEquals(Files.size(Paths.get("src/test/resources/test.yaml")), classpathCounter.sum()),
+                                () -> Assertions.assertThrows(NullPointerException.class, () -> location.counting(null)),
+                                () -> Assertions.assertThrows(UnsupportedConfigLocationScheme.class, () -> new ResolvedLocation(URI.create("ftp://server/app.yml"), StandardCharsets.UTF_8).counting(new LongAdder())));
+    }
+    private static long countRead(final String _location) {
+        final LongAdder counter=new LongAdder();
+        try(Stream<Config> configs=new ResolvedLocation(URI.create(_location), StandardCharsets.UTF_8).counting(counter).read()){
+            configs.forEach(config -> {});
+        }
+        return counter.sum();
+    }
+    @Test
+    public void testCounting_bytes() throws IOException {
+        final Path folder=Paths.get("target/tests/counting");
+        Files.createDirectories(folder);
+        final Path file=Files.write(folder.resolve("app.properties"), "name=caf\u00e9 \u20ac\n".getBytes(StandardCharsets.UTF_8));
+        final Path other=Files.write(folder.resolve("other.properties"), "other=\u00e9\u00e9\n".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("counting.name", "caf\u00e9");
+        try{
+            final long systemBytes;
+            try(Stream<Config> configs=new ResolvedLocation(URI.create("system://counting"), StandardCharsets.UTF_8).read()){
+                systemBytes=configs.mapToLong(config -> config.getKey().getBytes(StandardCharsets.UTF_8).length+config.getValue().getBytes(StandardCharsets.UTF_8).length).sum();
+            }
+            Assertions.assertAll(() -> Assertions.assertEquals(Files.size(file), countRead("file://target/tests/counting/app.properties")),
+                                    () -> Assertions.assertEquals(Files.size(file), countRead("file://target/tests/counting/app.properties?mapped")),
+                                    () -> Assertions.assertEquals(Files.size(file)+Files.size(other), countRead("file://target/tests/counting/*.properties")),
+                                    () -> Assertions.assertTrue(systemBytes>0),
+                                    () -> Assertions.assertEquals(systemBytes, countRead("system://counting")));
+        }finally{
+            System.clearProperty("counting.name");
+        }
+    }
+    @Test
+    public void testGetGlob() {
+        final ResolvedLocation glob=new ResolvedLocation(URI.create("file://target/tests/counting/*.properties"), StandardCharsets.UTF_8);
+        final ResolvedLocation file=new ResolvedLocation(URI.create("file://src/test/resources/test.properties"), StandardCharsets.UTF_8);
+        Assertions.assertAll(() -> Assertions.assertTrue(glob.isGlob()),
+                                () -> Assertions.assertFalse(file.isGlob()),
+                                () -> Assertions.assertSame(glob.getGlob(), glob.getGlob()),
+                                () -> Assertions.assertSame(glob.getGlob(), glob.counting(new LongAdder()).getGlob()),
+                                () -> Assertions.assertNotSame(glob.getGlob(), new ResolvedLocation(URI.create("file://target/tests/counting/*.properties"), StandardCharsets.UTF_8).getGlob()),
+                                () -> Assertions.assertThrows(IllegalArgumentException.class, file::getGlob));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class SuffixIndexTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> SuffixIndexTest >>>> setupSpec");
+        try ( InputStream inputStream = SuffixIndexTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static SuffixIndex<String> index(){
+        final Map<String,String> suffixes=new HashMap<>();
+        suffixes.put(".properties","PROPERTIES");
+        suffixes.put(".yaml","YAML");
+        suffixes.put(".yml","YAML");
+        suffixes.put(".local.yml","LOCAL");
+        return SuffixIndex.of(suffixes);
+    }
+
+    static Stream<Arguments> dataPack() {
+        return Stream.of(
+                Arguments.of(null,"config.properties","PROPERTIES"),
+                Arguments.of(null,"CONFIG.PROPERTIES","PROPERTIES"),
+                Arguments.of(null,"config.YaMl","YAML"),
+                Arguments.of(null,"config.yml","YAML"),
+                Arguments.of(null,"config.local.yml","LOCAL"),
+                Arguments.of(null,"config.Local.YML","LOCAL"),
+                Arguments.of(null,"local.yml","YAML"),
+                Arguments.of("config.prop","erties","PROPERTIES"),
+                Arguments.of("config.properties","",  "PROPERTIES"),
+                Arguments.of("config.local",".yml","LOCAL"),
+                Arguments.of("host","/path/config.yml","YAML"),
+                Arguments.of(null,"config.yaml.bak",null),
+                Arguments.of(null,"properties",null),
+                Arguments.of(null,"",null),
+                Arguments.of(null,null,null)
+        );
+    }
+
+    @ParameterizedTest(name = "When look up {0}+{1} should return {2}")
+    @MethodSource("dataPack")
+    public void testGet(final String _head,final String _tail,final String _expected) {
+        Assertions.assertEquals(_expected,index().get(_head,_tail));
+    }
+
+    @Test
+    public void testGet_single() {
+        Assertions.assertAll(() -> Assertions.assertEquals("YAML",index().get("a.yml")),
+                                () -> Assertions.assertNull(index().get("a.txt")));
+    }
+
+    @Test
+    public void testGet_empty() {
+        Assertions.assertNull(SuffixIndex.of(new HashMap<String,String>()).get("a.yml"));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class SystemPropertiesTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> SystemPropertiesTest >>>> setupSpec");
+        try ( InputStream inputStream = SystemPropertiesTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static Properties properties(){
+        final Properties reply=new Properties();
+        reply.setProperty("myapp", "root");
+        reply.setProperty("myapp.db.url", "jdbc:test");
+        reply.setProperty("myapp[0]", "first");
+        reply.setProperty("myapp2.x", "x");
+        reply.setProperty("other", "o");
+        reply.put("myapp.object", Integer.valueOf(1));
+        reply.put(Integer.valueOf(2), "non string key");
+        return reply;
+    }
+
+    static Stream<Arguments> prefixDataPack() {
+        return Stream.of(
+                Arguments.of(null, Arrays.asList("myapp", "myapp.db.url", "myapp2.x", "myapp[0]", "other")),
+                Arguments.of("", Arrays.asList("myapp", "myapp.db.url", "myapp2.x", "myapp[0]", "other")),
+                Arguments.of("myapp", Arrays.asList("myapp", "myapp.db.url", "myapp[0]")),
+                Arguments.of("myapp.db", Arrays.asList("myapp.db.url")),
+                Arguments.of("zzz", Arrays.asList())
+        );
+    }
+
+    @ParameterizedTest(name = "When properties are snapshotted with prefix {0} then keys {1} are returned")
+    @MethodSource("prefixDataPack")
+    public void testSnapshot(final String _prefix,final List<String> _expected) {
+        Assertions.assertEquals(_expected, SystemProperties.snapshot(properties(), _prefix).stream().map(Config::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSnapshot_isolated() {
+        final Properties properties=properties();
+        final List<Config> snapshot=SystemProperties.snapshot(properties, "myapp.db");
+        properties.setProperty("myapp.db.url", "changed");
+        properties.setProperty("myapp.db.user", "added");
+        Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList(Config.of("myapp.db.url", "jdbc:test")), snapshot),
+                                () -> Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.clear()),
+                                () -> Assertions.assertEquals(Arrays.asList(Config.of("myapp.db.url", "changed"), Config.of("myapp.db.user", "added")), SystemProperties.snapshot(properties, "myapp.db")));
+    }
+
+    @Test
+    public void testSnapshot_system() {
+        final List<Config> snapshot=SystemProperties.snapshot("java");
+        Assertions.assertAll(() -> Assertions.assertTrue(snapshot.contains(Config.of("java.version", System.getProperty("java.version")))),
+                                () -> Assertions.assertTrue(snapshot.stream().allMatch(config -> config.getKey().startsWith("java."))));
+    }
+}
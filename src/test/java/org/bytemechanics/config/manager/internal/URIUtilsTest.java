@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Optional;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -63,7 +64,10 @@ public class URIUtilsTest {
                 Arguments.of("classpath://org/bytemechanics/config/manager/internal/test.yml","org/bytemechanics/config/manager/internal/test.yml"),
                 Arguments.of("classpath://test.properties","test.properties"),
                 Arguments.of("http://test.yaml","test.yaml"),
-                Arguments.of("https://test.yml","test.yml")
+                Arguments.of("https://test.yml","test.yml"),
+                Arguments.of("file:///opt/app/test.yml","/opt/app/test.yml"),
+                Arguments.of("file://my_folder/test.yml","my_folder/test.yml"),
+                Arguments.of("zip://target/conf.zip!/prod/app.yml","target/conf.zip!/prod/app.yml")
         );
     }
     
@@ -75,4 +79,23 @@ public class URIUtilsTest {
         String result = URIUtils.getHostAndPath(_location);
         Assertions.assertEquals(_expectedHostAndPath, result);
     }
+
+    static Stream<Arguments> queryDataPack() {
+        return Stream.of(
+                Arguments.of("file://src/test/resources/test.properties","mapped",null),
+                Arguments.of("file://src/test/resources/test.properties?mapped=true","mapped","true"),
+                Arguments.of("file://src/test/resources/test.properties?mapped","mapped",""),
+                Arguments.of("file://src/test/resources/test.properties?other=1&mapped=false","mapped","false"),
+                Arguments.of("file://src/test/resources/test.properties?mappedx=true&x=1","mapped",null),
+                Arguments.of("file://src/test/resources/test.properties?name=a%20b&mapped=true","name","a b")
+        );
+    }
+
+    @ParameterizedTest(name = "When try to get retrieve query parameter {1} from {0} should return {2}")
+    @MethodSource("queryDataPack")
+    public void testGetQueryParameter(final String _uri,final String _name,final String _expected) throws URISyntaxException {
+        URI _location = new URI(_uri);
+        Optional<String> result = URIUtils.getQueryParameter(_location,_name);
+        Assertions.assertEquals(Optional.ofNullable(_expected), result);
+    }
 }
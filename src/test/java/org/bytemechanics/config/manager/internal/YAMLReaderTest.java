@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class YAMLReaderTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> YAMLReaderTest >>>> setupSpec");
+        try ( InputStream inputStream = YAMLReaderTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    static Stream<Arguments> syntaxDataPack() {
+        return Stream.of(
+                Arguments.of("plain keys","key: value\nother: other-value","key=value,other=other-value"),
+                Arguments.of("nested maps","a:\n  b:\n    c: 1\n  d: 2\ne: 3","a.b.c=1,a.d=2,e=3"),
+                Arguments.of("comments and blank lines","# comment\n\na:\n  # other\n  b: 1\n\n","a.b=1"),
+                Arguments.of("document markers","---\na: 1\n...","a=1"),
+                Arguments.of("values with colons","url: http://host:8080/path\ntime: 10:30","time=10:30,url=http://host:8080/path"),
+                Arguments.of("values with trailing spaces","a: value   \nb:   \n  c: 1","a=value,b.c=1"),
+                Arguments.of("empty nodes","a:\nb:\n  c:\nd: 1","a=,b.c=,d=1"),
+                Arguments.of("scalar list","list:\n  - one\n  - two","list[*].length=2,list[0]=one,list[1]=two"),
+                Arguments.of("list at parent indentation","list:\n- one\n- two\nother: 1","list[*].length=2,list[0]=one,list[1]=two,other=1"),
+                Arguments.of("list of maps","list:\n  - id: 1\n    name: first\n  - id: 2\n    name: second","list[*].length=2,list[0].id=1,list[0].name=first,list[1].id=2,list[1].name=second"),
+                Arguments.of("list of nested maps","list:\n  - id: 1\n    sub:\n      x: a\n  - id: 2","list[*].length=2,list[0].id=1,list[0].sub.x=a,list[1].id=2"),
+                Arguments.of("list item as block","list:\n  -\n    id: 1\n  -\n    id: 2","list[*].length=2,list[0].id=1,list[1].id=2"),
+                Arguments.of("nested lists","a:\n  - b:\n      - x\n      - y\n  - c: 1","a[*].length=2,a[0].b[*].length=2,a[0].b[0]=x,a[0].b[1]=y,a[1].c=1")
+        );
+    }
+
+    @ParameterizedTest(name = "When read {0} should return {2}")
+    @MethodSource("syntaxDataPack")
+    public void testStream(final String _description,final String _content,final String _expected) {
+        String actual=new YAMLReader(new StringReader(_content))
+                                    .stream()
+                                        .sorted()
+                                        .map(config -> config.getKey()+"="+config.getValue())
+                                        .collect(Collectors.joining(","));
+        Assertions.assertEquals(_expected,actual);
+    }
+
+    @Test
+    public void testStream_withoutListLength() {
+        String actual=new YAMLReader(new StringReader("list:\n  - one\n  - two"),false)
+                                    .stream()
+                                        .sorted()
+                                        .map(config -> config.getKey()+"="+config.getValue())
+                                        .collect(Collectors.joining(","));
+        Assertions.assertEquals("list[0]=one,list[1]=two",actual);
+    }
+
+    @Test
+    public void testStream_file() throws IOException {
+        Properties properties=new Properties();
+        try(Reader reader=Files.newBufferedReader(Paths.get("src/test/resources/test-parsed-yaml.properties"),Charset.forName("UTF-8"))){
+            properties.load(reader);
+        }
+        List<Config> expected=properties.entrySet()
+                                            .stream()
+                                                .map(entry -> Config.of((String)entry.getKey(),(String)entry.getValue()))
+                                                .sorted()
+                                                .collect(Collectors.toList());
+        try(Reader reader=Files.newBufferedReader(Paths.get("src/test/resources/test.yaml"),Charset.forName("UTF-8"))){
+            List<Config> actual=new YAMLReader(reader)
+                                        .stream()
+                                            .sorted()
+                                            .collect(Collectors.toList());
+            Assertions.assertEquals(expected,actual);
+        }
+    }
+
+    @Test
+    public void testStream_lazy() {
+        Assertions.assertEquals(Config.of("a.b","1"),new YAMLReader(new StringReader("a:\n  b: 1\nmalformed line"))
+                                                                .stream()
+                                                                    .findFirst()
+                                                                        .orElse(null));
+    }
+
+    @ParameterizedTest(name = "When read malformed content {0} should raise UncheckedIOException")
+    @ValueSource(strings = {"malformed line","a: 1\n  - item","a:\n  b: 1\n - c"})
+    public void testStream_malformed(final String _content) {
+        YAMLReader instance=new YAMLReader(new StringReader(_content));
+        Assertions.assertThrows(UncheckedIOException.class,() -> instance.stream().count());
+    }
+}
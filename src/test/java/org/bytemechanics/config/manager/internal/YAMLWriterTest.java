@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 Byte Mechanics.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bytemechanics.config.manager.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bytemechanics.config.manager.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author afarre
+ */
+public class YAMLWriterTest {
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        System.out.println(">>>>> YAMLWriterTest >>>> setupSpec");
+        try ( InputStream inputStream = YAMLWriterTest.class.getResourceAsStream("/logging.properties")) {
+            LogManager.getLogManager().readConfiguration(inputStream);
+        } catch (final IOException e) {
+            Logger.getAnonymousLogger().severe("Could not load default logging.properties file");
+            Logger.getAnonymousLogger().severe(e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void beforeEachTest(final TestInfo testInfo) {
+        System.out.println(">>>>> " + this.getClass().getSimpleName() + " >>>> " + testInfo.getTestMethod().map(Method::getName).orElse("Unkown") + "" + testInfo.getTags().toString() + " >>>> " + testInfo.getDisplayName());
+    }
+
+    private static String write(final Stream<Config> _config,final int _chunkSize){
+        final StringWriter writer=new StringWriter();
+        new YAMLWriter(writer,new ConfigSorter(_chunkSize)).write(_config);
+        return writer.toString();
+    }
+    private static List<Config> read(final String _yaml){
+        return new YAMLReader(new StringReader(_yaml),false).stream()
+                                                            .sorted()
+                                                            .collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> writeDataPack() {
+        return Stream.of(
+                Arguments.of(Stream.of(Config.of("a", "1")), "a: 1\n"),
+                Arguments.of(Stream.of(Config.of("a", ""),Config.of("b", null)), "a:\nb:\n"),
+                Arguments.of(Stream.of(Config.of("a.b.c", "1"),Config.of("a.b.d", "2"),Config.of("a.e", "3")), "a:\n  b:\n    c: 1\n    d: 2\n  e: 3\n"),
+                Arguments.of(Stream.of(Config.of("a.list[1]", "y"),Config.of("a.list[0]", "x"),Config.of("a.list[*].length", "2")), "a:\n  list:\n    - x\n    - y\n"),
+                Arguments.of(Stream.of(Config.of("p[0].name", "n0"),Config.of("p[0].age", "1"),Config.of("p[1].name", "n1")), "p:\n  - age: 1\n    name: n0\n  - name: n1\n"),
+                Arguments.of(Stream.of(Config.of("p[0].a.b", "1"),Config.of("p[0].a.c", "2")), "p:\n  - a:\n      b: 1\n      c: 2\n"),
+                Arguments.of(Stream.of(Config.of("m[0][0]", "1"),Config.of("m[0][1]", "2")), "m:\n  -\n    - 1\n    - 2\n"),
+                Arguments.of(Stream.of(Config.of("a", "1"),Config.of("a", "2")), "a: 2\n")
+        );
+    }
+    @ParameterizedTest(name = "Write {0} should produce {1}")
+    @MethodSource("writeDataPack")
+    public void testWrite(final Stream<Config> _config,final String _expected) {
+        Assertions.assertEquals(_expected, write(_config,1000));
+    }
+
+    static Stream<Arguments> roundTripDataPack() {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(3),
+                Arguments.of(1000)
+        );
+    }
+    @ParameterizedTest(name = "Write with chunk size {0} and read again should return the same configuration")
+    @MethodSource("roundTripDataPack")
+    public void testWrite_roundTrip(final int _chunkSize) {
+        final List<Config> expected=Stream.of(
+                                        Config.of("data.person[0].age", "34"),
+                                        Config.of("data.person[0].genre", "male"),
+                                        Config.of("data.person[0].name", "first-name"),
+                                        Config.of("data.person[1].age", "60"),
+                                        Config.of("data.person[1].name", "second-name"),
+                                        Config.of("data.tags[0]", "one"),
+                                        Config.of("data.tags[1]", "two"),
+                                        Config.of("other", "value: with colon"),
+                                        Config.of("server.port", "8080"))
+                                    .sorted()
+                                    .collect(Collectors.toList());
+        final List<Config> shuffled=expected.stream()
+                                            .sorted((configA,configB) -> Integer.compare(configA.getValue().hashCode(),configB.getValue().hashCode()))
+                                            .collect(Collectors.toList());
+        Assertions.assertEquals(expected, read(write(shuffled.stream(),_chunkSize)));
+    }
+    @Test
+    public void testWrite_deterministic() {
+        final String expected=write(Stream.of(Config.of("b.c", "1"),Config.of("a", "2"),Config.of("b.a[0]", "3")),1000);
+        Assertions.assertEquals(expected, write(Stream.of(Config.of("b.a[0]", "3"),Config.of("b.c", "1"),Config.of("a", "2")),1));
+    }
+}